@@ -0,0 +1,62 @@
+package com.example.portfolio.config;
+
+import com.example.portfolio.http.OutboundHttpClients;
+import com.example.portfolio.services.blockchain.BlockchainProvider;
+import com.example.portfolio.services.blockchain.EtherscanProvider;
+import com.example.portfolio.services.blockchain.ProviderSettings;
+import com.example.portfolio.services.blockchain.TokenMetadataCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers the Etherscan-compatible EVM chain providers.
+ * API URL and key can be overridden per chain with crypto.providers.&lt;chain&gt;.api-url / api-key;
+ * the key defaults to crypto.etherscan.api-key.
+ */
+@Configuration
+public class BlockchainProviderConfig {
+
+    private final Environment env;
+    private final OutboundHttpClients httpClients;
+    private final TokenMetadataCache tokenMetadataCache;
+
+    public BlockchainProviderConfig(Environment env, OutboundHttpClients httpClients,
+                                    TokenMetadataCache tokenMetadataCache) {
+        this.env = env;
+        this.httpClients = httpClients;
+        this.tokenMetadataCache = tokenMetadataCache;
+    }
+
+    @Bean
+    public BlockchainProvider ethereumProvider() {
+        return etherscanProvider("ethereum", "ETH", "https://api.etherscan.io/api");
+    }
+
+    @Bean
+    public BlockchainProvider polygonProvider() {
+        return etherscanProvider("polygon", "MATIC", "https://api.polygonscan.com/api");
+    }
+
+    @Bean
+    public BlockchainProvider arbitrumProvider() {
+        return etherscanProvider("arbitrum", "ETH", "https://api.arbiscan.io/api");
+    }
+
+    @Bean
+    public BlockchainProvider optimismProvider() {
+        return etherscanProvider("optimism", "ETH", "https://api-optimistic.etherscan.io/api");
+    }
+
+    private EtherscanProvider etherscanProvider(String chain, String nativeSymbol, String defaultApiUrl) {
+        String prefix = "crypto.providers." + chain + ".";
+        return new EtherscanProvider(
+                chain,
+                nativeSymbol,
+                env.getProperty(prefix + "api-url", defaultApiUrl),
+                env.getProperty(prefix + "api-key", env.getProperty("crypto.etherscan.api-key", "")),
+                tokenMetadataCache,
+                httpClients,
+                ProviderSettings.from(env, chain));
+    }
+}
@@ -1,18 +1,32 @@
 package com.example.portfolio.controllers.ApiController;
 
+import com.example.portfolio.dto.WalletBalanceResult;
 import com.example.portfolio.models.CryptoTransaction;
 import com.example.portfolio.models.CryptoWallet;
 import com.example.portfolio.models.User;
 import com.example.portfolio.security.CurrentUser;
 import com.example.portfolio.services.CryptoService;
+import com.example.portfolio.services.NetWorthService;
 import com.example.portfolio.services.UserService;
+import com.example.portfolio.services.WalletBalanceService;
+import com.example.portfolio.services.jobs.SyncJob;
+import com.example.portfolio.services.jobs.SyncJobService;
+import com.example.portfolio.services.pnl.CostBasisMethod;
+import com.example.portfolio.services.pnl.PnlEngine;
+import com.example.portfolio.services.pnl.PnlReport;
+import com.example.portfolio.services.prices.BarResolution;
+import com.example.portfolio.services.prices.OhlcBar;
+import com.example.portfolio.services.prices.PriceHistoryStore;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -24,11 +38,24 @@ import java.util.stream.Collectors;
 public class CryptoController {
 
     private final CryptoService cryptoService;
+    private final WalletBalanceService walletBalanceService;
+    private final SyncJobService syncJobService;
+    private final PriceHistoryStore priceHistoryStore;
+    private final NetWorthService netWorthService;
+    private final PnlEngine pnlEngine;
     private final CurrentUser currentUser;
     private final UserService userService;
 
-    public CryptoController(CryptoService cryptoService, CurrentUser currentUser, UserService userService) {
+    public CryptoController(CryptoService cryptoService, WalletBalanceService walletBalanceService,
+                            SyncJobService syncJobService, PriceHistoryStore priceHistoryStore,
+                            NetWorthService netWorthService, PnlEngine pnlEngine,
+                            CurrentUser currentUser, UserService userService) {
         this.cryptoService = cryptoService;
+        this.walletBalanceService = walletBalanceService;
+        this.syncJobService = syncJobService;
+        this.priceHistoryStore = priceHistoryStore;
+        this.netWorthService = netWorthService;
+        this.pnlEngine = pnlEngine;
         this.currentUser = currentUser;
         this.userService = userService;
     }
@@ -65,18 +92,14 @@ public class CryptoController {
 
         try {
             CryptoWallet wallet = cryptoService.addWallet(user, walletAddress, blockchain, walletName);
+            netWorthService.onWalletsChanged(user.getId());
 
             // Get current balance
             BigDecimal balance = cryptoService.getWalletBalance(wallet);
             BigDecimal balanceUsd = BigDecimal.ZERO;
 
             // Get USD value
-            String token = switch (blockchain.toLowerCase()) {
-                case "ethereum" -> "ETH";
-                case "bitcoin" -> "BTC";
-                case "polygon" -> "MATIC";
-                default -> "ETH";
-            };
+            String token = cryptoService.getNativeSymbol(blockchain);
             BigDecimal price = cryptoService.getTokenPrice(token);
             if (price.compareTo(BigDecimal.ZERO) > 0) {
                 balanceUsd = balance.multiply(price);
@@ -119,6 +142,14 @@ public class CryptoController {
         try {
             List<CryptoWallet> wallets = cryptoService.getWalletsForUser(user);
 
+            // Resolve all token prices up front in a single batched lookup
+            Map<String, BigDecimal> prices = cryptoService.getTokenPrices(
+                    wallets.stream().map(w -> cryptoService.getNativeSymbol(w.getBlockchain())).collect(Collectors.toSet()));
+
+            // Cached balances from the background sync; stale ones are fetched concurrently and
+            // failed lookups are reported per wallet
+            Map<Integer, WalletBalanceResult> balances = walletBalanceService.fetchBalances(wallets);
+
             // Enrich with balance data
             List<Map<String, Object>> walletsWithBalances = wallets.stream().map(wallet -> {
                 Map<String, Object> data = new HashMap<>();
@@ -129,21 +160,23 @@ public class CryptoController {
                 data.put("createdAt", wallet.getCreatedAt().toString());
 
                 // Get balance
-                BigDecimal balance = cryptoService.getWalletBalance(wallet);
+                WalletBalanceResult result = balances.get(wallet.getId());
+                BigDecimal balance = result.getBalance();
                 data.put("balance", balance.toString());
+                data.put("balanceStatus", result.getStatus());
+                if (result.getUpdatedAt() != null) {
+                    data.put("balanceUpdatedAt", result.getUpdatedAt().toString());
+                }
+                if (!result.isOk()) {
+                    data.put("balanceError", result.getError());
+                }
 
                 // Get token symbol
-                String token = switch (wallet.getBlockchain().toLowerCase()) {
-                    case "ethereum" -> "ETH";
-                    case "bitcoin" -> "BTC";
-                    case "polygon" -> "MATIC";
-                    case "solana" -> "SOL";
-                    default -> "ETH";
-                };
+                String token = cryptoService.getNativeSymbol(wallet.getBlockchain());
                 data.put("token", token);
 
                 // Get USD value
-                BigDecimal price = cryptoService.getTokenPrice(token);
+                BigDecimal price = prices.getOrDefault(token, BigDecimal.ZERO);
                 BigDecimal balanceUsd = balance.multiply(price);
                 data.put("balanceUsd", balanceUsd.toString());
 
@@ -198,6 +231,49 @@ public class CryptoController {
         }
     }
 
+    /**
+     * Get ERC-20 token balances of a wallet (derived from synced token transfers)
+     * GET /api/crypto/wallets/{id}/tokens
+     */
+    @GetMapping("/wallets/{id}/tokens")
+    public ResponseEntity<?> getWalletTokens(@PathVariable Integer id) {
+        String email = currentUser.email();
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
+        }
+
+        User user = userService.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        try {
+            CryptoWallet wallet = cryptoService.getWalletsForUser(user).stream()
+                    .filter(w -> w.getId().equals(id))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
+
+            List<Map<String, Object>> tokens = cryptoService.getTokenBalances(wallet).stream().map(token -> {
+                Map<String, Object> data = new HashMap<>();
+                data.put("contractAddress", token.contractAddress());
+                data.put("symbol", token.symbol());
+                if (token.contractAddress() != null) {
+                    data.put("contractAddress", token.contractAddress());
+                }
+                data.put("balance", token.balance().toPlainString());
+                data.put("priceUsd", token.priceUsd().toPlainString());
+                data.put("valueUsd", token.valueUsd().toPlainString());
+                return data;
+            }).collect(Collectors.toList());
+
+            return ResponseEntity.ok(Map.of("walletId", wallet.getId(), "tokens", tokens));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Error fetching wallet tokens: " + e.getMessage());
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch wallet tokens"));
+        }
+    }
+
     /**
      * Delete a wallet
      * DELETE /api/crypto/wallets/{id}
@@ -214,6 +290,7 @@ public class CryptoController {
 
         try {
             cryptoService.deleteWallet(id, user.getId());
+            netWorthService.onWalletsChanged(user.getId());
             return ResponseEntity.ok(Map.of("success", true));
 
         } catch (IllegalArgumentException e) {
@@ -229,8 +306,9 @@ public class CryptoController {
     // ---------------------------
 
     /**
-     * Sync transactions for a wallet from blockchain
+     * Start a background sync of a wallet's transactions
      * POST /api/crypto/wallets/{id}/sync
+     * Returns 202 with a job ID; poll GET /api/jobs/{jobId} for the result
      */
     @PostMapping("/wallets/{id}/sync")
     public ResponseEntity<?> syncWalletTransactions(@PathVariable Integer id) {
@@ -248,20 +326,24 @@ public class CryptoController {
                     .findFirst()
                     .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
 
-            List<CryptoTransaction> synced = cryptoService.syncTransactions(wallet);
+            SyncJob job = syncJobService.submit("crypto-wallet-sync", "crypto-wallet:" + wallet.getId(), user.getId(),
+                    progress -> {
+                        progress.report("Syncing " + wallet.getBlockchain() + " transactions");
+                        List<CryptoTransaction> synced = cryptoService.syncTransactions(wallet);
+                        return Map.of(
+                                "synced", synced.size(),
+                                "message", "Synced " + synced.size() + " new transactions"
+                        );
+                    });
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "synced", synced.size(),
-                    "message", "Synced " + synced.size() + " new transactions"
-            ));
+            return JobController.accepted(job);
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
-            System.err.println("Error syncing transactions: " + e.getMessage());
+            System.err.println("Error starting transaction sync: " + e.getMessage());
             e.printStackTrace();
-            return ResponseEntity.status(500).body(Map.of("error", "Failed to sync transactions"));
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to start transaction sync"));
         }
     }
 
@@ -308,4 +390,125 @@ public class CryptoController {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch transactions"));
         }
     }
+
+    // ---------------------------
+    // 3. Price History
+    // ---------------------------
+
+    /**
+     * Get OHLC price bars for a token
+     * GET /api/crypto/prices/{symbol}/history?resolution=1h&from=2025-01-01T00:00:00Z&to=...
+     * resolution is 1m, 1h or 1d (default 1h); the range defaults to the in-memory window
+     */
+    @GetMapping("/prices/{symbol}/history")
+    public ResponseEntity<?> getPriceHistory(@PathVariable String symbol,
+                                             @RequestParam(defaultValue = "1h") String resolution,
+                                             @RequestParam(required = false) String from,
+                                             @RequestParam(required = false) String to) {
+        Optional<BarResolution> barResolution = BarResolution.fromCode(resolution);
+        if (barResolution.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "resolution must be 1m, 1h or 1d"));
+        }
+
+        try {
+            long toMillis = to != null ? Instant.parse(to).toEpochMilli() : System.currentTimeMillis();
+            long fromMillis = from != null ? Instant.parse(from).toEpochMilli()
+                    : toMillis - (long) barResolution.get().getCapacity() * barResolution.get().getMillis();
+
+            List<OhlcBar> bars = priceHistoryStore.getBars(symbol, barResolution.get(), fromMillis, toMillis);
+
+            List<Map<String, Object>> formatted = bars.stream().map(bar -> {
+                Map<String, Object> data = new HashMap<>();
+                data.put("time", Instant.ofEpochMilli(bar.bucketStart()).toString());
+                data.put("open", bar.open());
+                data.put("high", bar.high());
+                data.put("low", bar.low());
+                data.put("close", bar.close());
+                return data;
+            }).collect(Collectors.toList());
+
+            return ResponseEntity.ok(Map.of(
+                    "symbol", symbol.toUpperCase(),
+                    "resolution", barResolution.get().getCode(),
+                    "bars", formatted
+            ));
+
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from/to must be ISO-8601 instants"));
+        } catch (Exception e) {
+            System.err.println("Error fetching price history: " + e.getMessage());
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch price history"));
+        }
+    }
+
+    // ---------------------------
+    // 4. Profit and Loss
+    // ---------------------------
+
+    /**
+     * Get cost basis and realized/unrealized PnL for a wallet, one entry per native coin and per
+     * token contract (tokens sharing a symbol are reported separately, with their contractAddress)
+     * GET /api/crypto/wallets/{id}/pnl?method=fifo
+     * method is fifo, lifo or average (default fifo); only transactions synced since the last call are processed
+     */
+    @GetMapping("/wallets/{id}/pnl")
+    public ResponseEntity<?> getWalletPnl(@PathVariable Integer id,
+                                          @RequestParam(defaultValue = "fifo") String method) {
+        String email = currentUser.email();
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
+        }
+
+        Optional<CostBasisMethod> costBasisMethod = CostBasisMethod.fromCode(method);
+        if (costBasisMethod.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "method must be fifo, lifo or average"));
+        }
+
+        User user = userService.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        try {
+            CryptoWallet wallet = cryptoService.getWalletsForUser(user).stream()
+                    .filter(w -> w.getId().equals(id))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
+
+            PnlReport report = pnlEngine.calculate(wallet, costBasisMethod.get());
+
+            List<Map<String, Object>> tokens = report.tokens().stream().map(token -> {
+                Map<String, Object> data = new HashMap<>();
+                data.put("symbol", token.symbol());
+                if (token.contractAddress() != null) {
+                    data.put("contractAddress", token.contractAddress());
+                }
+                data.put("quantity", token.quantity().toPlainString());
+                data.put("costBasis", token.costBasis().toPlainString());
+                data.put("currentPrice", token.currentPrice().toPlainString());
+                data.put("marketValue", token.marketValue().toPlainString());
+                data.put("realizedPnl", token.realizedPnl().toPlainString());
+                data.put("unrealizedPnl", token.unrealizedPnl().toPlainString());
+                data.put("feesUsd", token.feesUsd().toPlainString());
+                data.put("unpricedTransactions", token.unpricedTransactions());
+                return data;
+            }).collect(Collectors.toList());
+
+            return ResponseEntity.ok(Map.of(
+                    "walletId", wallet.getId(),
+                    "method", report.method().getCode(),
+                    "tokens", tokens,
+                    "newTransactions", report.newTransactions()
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            // Historical prices could not be fetched; nothing was checkpointed past them
+            System.err.println("Error calculating wallet PnL: " + e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("error", "Price history temporarily unavailable, try again later"));
+        } catch (Exception e) {
+            System.err.println("Error calculating wallet PnL: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to calculate PnL"));
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.portfolio.controllers.ApiController;
+
+import com.example.portfolio.models.User;
+import com.example.portfolio.security.CurrentUser;
+import com.example.portfolio.services.UserService;
+import com.example.portfolio.services.events.EventBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events stream of live updates for the current user:
+ * price ticks, wallet balance changes and sync job progress/completion.
+ */
+@RestController
+@RequestMapping("/api/stream")
+public class EventStreamController {
+
+    private final EventBroadcaster eventBroadcaster;
+    private final CurrentUser currentUser;
+    private final UserService userService;
+
+    public EventStreamController(EventBroadcaster eventBroadcaster, CurrentUser currentUser, UserService userService) {
+        this.eventBroadcaster = eventBroadcaster;
+        this.currentUser = currentUser;
+        this.userService = userService;
+    }
+
+    /**
+     * Subscribe to live updates
+     * GET /api/stream (text/event-stream)
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        String email = currentUser.email();
+        if (email == null) {
+            // Typed as SseEmitter so MVC treats this as a streaming response; no JSON error body
+            return ResponseEntity.status(401).build();
+        }
+
+        User user = userService.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no") // Disable nginx response buffering
+                .body(eventBroadcaster.subscribe(user.getId()));
+    }
+}
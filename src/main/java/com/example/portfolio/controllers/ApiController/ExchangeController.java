@@ -5,6 +5,8 @@ import com.example.portfolio.models.User;
 import com.example.portfolio.security.CurrentUser;
 import com.example.portfolio.services.CoinbaseService;
 import com.example.portfolio.services.UserService;
+import com.example.portfolio.services.jobs.SyncJob;
+import com.example.portfolio.services.jobs.SyncJobService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,7 +16,8 @@ import java.util.*;
 
 /**
  * REST API for cryptocurrency exchange OAuth integration
- * Handles OAuth flow for Coinbase and other exchanges
+ * Handles OAuth flow for Coinbase and other exchanges; account and transaction reads
+ * are served from the data stored by the background exchange sync
  */
 @RestController
 @RequestMapping("/api/exchange")
@@ -23,11 +26,14 @@ public class ExchangeController {
     private final CoinbaseService coinbaseService;
     private final CurrentUser currentUser;
     private final UserService userService;
+    private final SyncJobService syncJobService;
 
-    public ExchangeController(CoinbaseService coinbaseService, CurrentUser currentUser, UserService userService) {
+    public ExchangeController(CoinbaseService coinbaseService, CurrentUser currentUser, UserService userService,
+                              SyncJobService syncJobService) {
         this.coinbaseService = coinbaseService;
         this.currentUser = currentUser;
         this.userService = userService;
+        this.syncJobService = syncJobService;
     }
 
     // ---------------------------
@@ -78,7 +84,8 @@ public class ExchangeController {
             User user = userService.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            coinbaseService.exchangeCodeForToken(code, user);
+            ExchangeItem item = coinbaseService.exchangeCodeForToken(code, user);
+            submitSync(item.getId(), user); // Initial import; the dashboard reads the stored data
 
             // Clean up session
             session.removeAttribute("coinbase_oauth_state");
@@ -119,6 +126,9 @@ public class ExchangeController {
                 data.put("exchange", item.getExchange());
                 data.put("connectionName", item.getConnectionName());
                 data.put("createdAt", item.getCreatedAt().toString());
+                if (item.getLastSyncedAt() != null) {
+                    data.put("lastSyncedAt", item.getLastSyncedAt().toString());
+                }
                 return data;
             }).toList();
 
@@ -131,7 +141,45 @@ public class ExchangeController {
     }
 
     /**
-     * Get Coinbase accounts with balances
+     * Start a background sync of Coinbase accounts and new transactions
+     * POST /api/exchange/coinbase/sync
+     * Returns 202 with a job ID; poll GET /api/jobs/{jobId} for the result
+     */
+    @PostMapping("/coinbase/sync")
+    public ResponseEntity<?> syncCoinbase() {
+        String email = currentUser.email();
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
+        }
+
+        User user = userService.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Optional<Integer> itemId = coinbaseService.findConnectionId(user.getId());
+        if (itemId.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of("error", "Coinbase not connected"));
+        }
+
+        return JobController.accepted(submitSync(itemId.get(), user));
+    }
+
+    private SyncJob submitSync(Integer itemId, User user) {
+        return syncJobService.submit("coinbase-sync", "coinbase-sync:" + itemId, user.getId(),
+                progress -> {
+                    progress.report("Syncing Coinbase accounts and transactions");
+                    CoinbaseService.SyncResult result = coinbaseService.syncExchangeItem(itemId, user.getId());
+                    return Map.of(
+                            "accounts", result.accounts(),
+                            "transactions", result.transactions(),
+                            "failedAccounts", result.failedAccounts(),
+                            "message", result.skipped() ? "A sync is already running"
+                                    : "Synced " + result.transactions() + " transactions"
+                    );
+                });
+    }
+
+    /**
+     * Get Coinbase accounts with balances (as of the last sync)
      * GET /api/exchange/coinbase/accounts
      */
     @GetMapping("/coinbase/accounts")
@@ -145,15 +193,12 @@ public class ExchangeController {
             User user = userService.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Optional<ExchangeItem> item = coinbaseService.getExchangeItems(user).stream()
-                    .filter(i -> i.getExchange().equals("coinbase"))
-                    .findFirst();
-
-            if (item.isEmpty()) {
+            Optional<Integer> itemId = coinbaseService.findConnectionId(user.getId());
+            if (itemId.isEmpty()) {
                 return ResponseEntity.status(404).body(Map.of("error", "Coinbase not connected"));
             }
 
-            List<Map<String, Object>> accounts = coinbaseService.getAccounts(item.get());
+            List<Map<String, Object>> accounts = coinbaseService.getAccounts(itemId.get());
             return ResponseEntity.ok(accounts);
 
         } catch (Exception e) {
@@ -164,7 +209,7 @@ public class ExchangeController {
     }
 
     /**
-     * Get transactions for a Coinbase account
+     * Get stored transactions for a Coinbase account, newest first
      * GET /api/exchange/coinbase/accounts/{accountId}/transactions
      */
     @GetMapping("/coinbase/accounts/{accountId}/transactions")
@@ -178,17 +223,16 @@ public class ExchangeController {
             User user = userService.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Optional<ExchangeItem> item = coinbaseService.getExchangeItems(user).stream()
-                    .filter(i -> i.getExchange().equals("coinbase"))
-                    .findFirst();
-
-            if (item.isEmpty()) {
+            Optional<Integer> itemId = coinbaseService.findConnectionId(user.getId());
+            if (itemId.isEmpty()) {
                 return ResponseEntity.status(404).body(Map.of("error", "Coinbase not connected"));
             }
 
-            List<Map<String, Object>> transactions = coinbaseService.getTransactions(item.get(), accountId);
+            List<Map<String, Object>> transactions = coinbaseService.getTransactions(itemId.get(), accountId);
             return ResponseEntity.ok(transactions);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             System.err.println("Error fetching Coinbase transactions: " + e.getMessage());
             e.printStackTrace();
@@ -196,6 +240,57 @@ public class ExchangeController {
         }
     }
 
+    /**
+     * Get all Coinbase accounts and their transactions merged into one list, newest first
+     * GET /api/exchange/coinbase/portfolio?refresh=false&limit=500
+     * With refresh=true, new transactions of every account are fetched concurrently first;
+     * accounts that fail or time out are listed in failedAccounts and served from stored data.
+     * refreshed tells whether that sync ran; it is false with syncInProgress true when another
+     * sync of the connection was already running, so the stored data may be about to change.
+     */
+    @GetMapping("/coinbase/portfolio")
+    public ResponseEntity<?> getCoinbasePortfolio(@RequestParam(defaultValue = "false") boolean refresh,
+                                                  @RequestParam(defaultValue = "500") int limit) {
+        String email = currentUser.email();
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
+        }
+        if (limit < 1 || limit > 5000) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and 5000"));
+        }
+
+        try {
+            User user = userService.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Optional<Integer> itemId = coinbaseService.findConnectionId(user.getId());
+            if (itemId.isEmpty()) {
+                return ResponseEntity.status(404).body(Map.of("error", "Coinbase not connected"));
+            }
+
+            Map<String, String> failedAccounts = Map.of();
+            boolean syncInProgress = false;
+            if (refresh) {
+                CoinbaseService.SyncResult result = coinbaseService.syncExchangeItem(itemId.get(), user.getId());
+                failedAccounts = result.failedAccounts();
+                syncInProgress = result.skipped();
+            }
+
+            Map<String, Object> portfolio = coinbaseService.getPortfolio(itemId.get(), limit);
+            portfolio.put("failedAccounts", failedAccounts);
+            portfolio.put("refreshed", refresh && !syncInProgress);
+            portfolio.put("syncInProgress", syncInProgress);
+            return ResponseEntity.ok(portfolio);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Error fetching Coinbase portfolio: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch portfolio"));
+        }
+    }
+
     /**
      * Disconnect an exchange
      * DELETE /api/exchange/{id}
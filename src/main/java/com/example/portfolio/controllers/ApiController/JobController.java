@@ -0,0 +1,58 @@
+package com.example.portfolio.controllers.ApiController;
+
+import com.example.portfolio.models.User;
+import com.example.portfolio.security.CurrentUser;
+import com.example.portfolio.services.UserService;
+import com.example.portfolio.services.jobs.SyncJob;
+import com.example.portfolio.services.jobs.SyncJobService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST API for background sync jobs.
+ * Sync endpoints answer 202 with a job ID; clients poll here for progress and the result.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final SyncJobService syncJobService;
+    private final CurrentUser currentUser;
+    private final UserService userService;
+
+    public JobController(SyncJobService syncJobService, CurrentUser currentUser, UserService userService) {
+        this.syncJobService = syncJobService;
+        this.currentUser = currentUser;
+        this.userService = userService;
+    }
+
+    /**
+     * Get status, progress and (once finished) result of a sync job
+     * GET /api/jobs/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        String email = currentUser.email();
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
+        }
+
+        User user = userService.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return syncJobService.find(id, user.getId())
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(job.toMap()))
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "Job not found")));
+    }
+
+    /**
+     * 202 Accepted response for a newly submitted (or coalesced) job
+     */
+    static ResponseEntity<?> accepted(SyncJob job) {
+        Map<String, Object> body = job.toMap();
+        body.put("statusUrl", "/api/jobs/" + job.getId());
+        return ResponseEntity.accepted().body(body);
+    }
+}
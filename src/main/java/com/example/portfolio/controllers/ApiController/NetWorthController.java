@@ -0,0 +1,179 @@
+package com.example.portfolio.controllers.ApiController;
+
+import com.example.portfolio.dto.NetWorthSummary;
+import com.example.portfolio.models.HoldingSnapshot;
+import com.example.portfolio.models.NetWorthSnapshot;
+import com.example.portfolio.models.User;
+import com.example.portfolio.repositories.HoldingSnapshotRepository;
+import com.example.portfolio.repositories.NetWorthSnapshotRepository;
+import com.example.portfolio.security.CurrentUser;
+import com.example.portfolio.services.NetWorthService;
+import com.example.portfolio.services.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * REST API for the combined net worth of bank accounts, crypto wallets and exchange accounts.
+ * History endpoints read the daily snapshots written by the rollup job.
+ */
+@RestController
+@RequestMapping("/api/networth")
+public class NetWorthController {
+
+    private final NetWorthService netWorthService;
+    private final CurrentUser currentUser;
+    private final UserService userService;
+    private final NetWorthSnapshotRepository netWorthSnapshotRepository;
+    private final HoldingSnapshotRepository holdingSnapshotRepository;
+
+    private static final int DEFAULT_HISTORY_DAYS = 90;
+    private static final Set<String> HOLDING_TYPES = Set.of(
+            HoldingSnapshot.TYPE_ACCOUNT, HoldingSnapshot.TYPE_WALLET, HoldingSnapshot.TYPE_EXCHANGE);
+
+    public NetWorthController(NetWorthService netWorthService, CurrentUser currentUser, UserService userService,
+                              NetWorthSnapshotRepository netWorthSnapshotRepository,
+                              HoldingSnapshotRepository holdingSnapshotRepository) {
+        this.netWorthService = netWorthService;
+        this.currentUser = currentUser;
+        this.userService = userService;
+        this.netWorthSnapshotRepository = netWorthSnapshotRepository;
+        this.holdingSnapshotRepository = holdingSnapshotRepository;
+    }
+
+    /**
+     * Get current net worth (served from the materialized valuation)
+     * GET /api/networth
+     */
+    @GetMapping
+    public ResponseEntity<?> getNetWorth() {
+        String email = currentUser.email();
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
+        }
+
+        User user = userService.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        try {
+            NetWorthSummary summary = netWorthService.getNetWorth(user.getId());
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("total", summary.getTotal().toPlainString());
+            data.put("bankTotal", summary.getBankTotal().toPlainString());
+            data.put("cryptoTotal", summary.getCryptoTotal().toPlainString());
+            data.put("exchangeTotal", summary.getExchangeTotal().toPlainString());
+            data.put("computedAt", summary.getComputedAt().toString());
+
+            return ResponseEntity.ok(data);
+
+        } catch (Exception e) {
+            System.err.println("Error computing net worth: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to compute net worth"));
+        }
+    }
+
+    /**
+     * Get daily net worth history
+     * GET /api/networth/history?from=2025-01-01&to=2025-03-31 (defaults to the last 90 days)
+     */
+    @GetMapping("/history")
+    public ResponseEntity<?> getHistory(@RequestParam(required = false) String from,
+                                        @RequestParam(required = false) String to) {
+        String email = currentUser.email();
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
+        }
+
+        User user = userService.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        try {
+            LocalDate toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate fromDate = from != null ? LocalDate.parse(from) : toDate.minusDays(DEFAULT_HISTORY_DAYS);
+
+            List<NetWorthSnapshot> snapshots = netWorthSnapshotRepository
+                    .findByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(user.getId(), fromDate, toDate);
+
+            List<Map<String, Object>> formatted = snapshots.stream().map(snapshot -> {
+                Map<String, Object> data = new HashMap<>();
+                data.put("date", snapshot.getSnapshotDate().toString());
+                data.put("total", snapshot.getTotal().toPlainString());
+                data.put("bankTotal", snapshot.getBankTotal().toPlainString());
+                data.put("cryptoTotal", snapshot.getCryptoTotal().toPlainString());
+                data.put("exchangeTotal", snapshot.getExchangeTotal().toPlainString());
+                return data;
+            }).collect(Collectors.toList());
+
+            return ResponseEntity.ok(Map.of("history", formatted));
+
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from/to must be ISO dates (yyyy-MM-dd)"));
+        } catch (Exception e) {
+            System.err.println("Error fetching net worth history: " + e.getMessage());
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch net worth history"));
+        }
+    }
+
+    /**
+     * Get daily value history for one holding
+     * GET /api/networth/holdings/{type}/{id}/history?from=...&to=...
+     * type is account, wallet or exchange
+     */
+    @GetMapping("/holdings/{type}/{id}/history")
+    public ResponseEntity<?> getHoldingHistory(@PathVariable String type,
+                                               @PathVariable Integer id,
+                                               @RequestParam(required = false) String from,
+                                               @RequestParam(required = false) String to) {
+        String email = currentUser.email();
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
+        }
+
+        if (!HOLDING_TYPES.contains(type)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "type must be account, wallet or exchange"));
+        }
+
+        User user = userService.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        try {
+            LocalDate toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate fromDate = from != null ? LocalDate.parse(from) : toDate.minusDays(DEFAULT_HISTORY_DAYS);
+
+            // Scoped by user ID, so another user's holding simply has no history
+            List<HoldingSnapshot> snapshots = holdingSnapshotRepository
+                    .findByUserIdAndHoldingTypeAndHoldingIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(
+                            user.getId(), type, id, fromDate, toDate);
+
+            List<Map<String, Object>> formatted = snapshots.stream().map(snapshot -> {
+                Map<String, Object> data = new HashMap<>();
+                data.put("date", snapshot.getSnapshotDate().toString());
+                data.put("valueUsd", snapshot.getValueUsd().toPlainString());
+                if (snapshot.getQuantity() != null) {
+                    data.put("quantity", snapshot.getQuantity().stripTrailingZeros().toPlainString());
+                }
+                if (snapshot.getSymbol() != null) {
+                    data.put("symbol", snapshot.getSymbol());
+                }
+                return data;
+            }).collect(Collectors.toList());
+
+            return ResponseEntity.ok(Map.of("type", type, "id", id, "history", formatted));
+
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from/to must be ISO dates (yyyy-MM-dd)"));
+        } catch (Exception e) {
+            System.err.println("Error fetching holding history: " + e.getMessage());
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch holding history"));
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.example.portfolio.models.User;
 import com.example.portfolio.security.CurrentUser;
 import com.example.portfolio.services.PlaidService;
 import com.example.portfolio.services.UserService;
+import com.example.portfolio.services.jobs.SyncJob;
+import com.example.portfolio.services.jobs.SyncJobService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,11 +18,14 @@ import java.util.Map;
 public class PlaidController {
 
     private final PlaidService plaidService;
+    private final SyncJobService syncJobService;
     private final CurrentUser currentUser;
     private final UserService userService;
 
-    public PlaidController(PlaidService plaidService, CurrentUser currentUser, UserService userService) {
+    public PlaidController(PlaidService plaidService, SyncJobService syncJobService,
+                           CurrentUser currentUser, UserService userService) {
         this.plaidService = plaidService;
+        this.syncJobService = syncJobService;
         this.currentUser = currentUser;
         this.userService = userService;
     }
@@ -83,10 +88,10 @@ public class PlaidController {
     }
 
     // ---------------------------
-    // 3. Sync accounts from Plaid into our DB
+    // 3. Sync accounts from Plaid into our DB (background job, 202 + job ID)
     // ---------------------------
     @PostMapping("/accounts/sync")
-    public ResponseEntity<?> syncAccounts() throws IOException {
+    public ResponseEntity<?> syncAccounts() {
         String email = currentUser.email();
         if (email == null) {
             return ResponseEntity.status(401)
@@ -96,16 +101,22 @@ public class PlaidController {
         User user = userService.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found for email: " + email));
 
-        var accounts = plaidService.syncAccountsForUser(user);
+        SyncJob job = syncJobService.submit("plaid-accounts-sync", "plaid-accounts:" + user.getId(), user.getId(),
+                progress -> {
+                    progress.report("Fetching accounts from Plaid");
+                    var accounts = plaidService.syncAccountsForUser(user);
+                    return Map.of("count", accounts.size());
+                });
 
-        return ResponseEntity.ok(accounts);
+        return JobController.accepted(job);
     }
 
     // ---------------------------
-    // 4. Sync transactions from Plaid into our DB
+    // 4. Sync transactions from Plaid into our DB (background job, 202 + job ID)
+    // Incremental: only changes since the previous sync are fetched (cursor per Plaid item)
     // ---------------------------
     @PostMapping("/transactions/sync")
-    public ResponseEntity<?> syncTransactions(@RequestBody(required = false) Map<String, String> body) throws IOException {
+    public ResponseEntity<?> syncTransactions() {
         String email = currentUser.email();
         if (email == null) {
             return ResponseEntity.status(401)
@@ -115,24 +126,18 @@ public class PlaidController {
         User user = userService.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found for email: " + email));
 
-        // Default to last 30 days if no dates provided
-        java.time.LocalDate endDate = java.time.LocalDate.now();
-        java.time.LocalDate startDate = endDate.minusDays(30);
-
-        // Allow custom date range if provided
-        if (body != null) {
-            if (body.containsKey("start_date")) {
-                startDate = java.time.LocalDate.parse(body.get("start_date"));
-            }
-            if (body.containsKey("end_date")) {
-                endDate = java.time.LocalDate.parse(body.get("end_date"));
-            }
-        }
-
-        var transactions = plaidService.syncTransactionsForUser(user, startDate, endDate);
-
-        return ResponseEntity.ok(Map.of(
-                "count", transactions.size(),
-                "transactions", transactions));
+        SyncJob job = syncJobService.submit("plaid-transactions-sync", "plaid-transactions:" + user.getId(), user.getId(),
+                progress -> {
+                    progress.report("Fetching transaction changes from Plaid");
+                    PlaidService.SyncSummary summary = plaidService.syncTransactionsForUser(user);
+                    return Map.of(
+                            "count", summary.added() + summary.modified(),
+                            "added", summary.added(),
+                            "modified", summary.modified(),
+                            "removed", summary.removed()
+                    );
+                });
+
+        return JobController.accepted(job);
     }
-}
\ No newline at end of file
+}
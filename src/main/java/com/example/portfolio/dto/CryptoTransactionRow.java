@@ -0,0 +1,12 @@
+package com.example.portfolio.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a crypto transaction for batch processing. Not a managed entity,
+ * so paging through a long history does not grow the persistence context.
+ */
+public record CryptoTransactionRow(Integer id, LocalDateTime date, String token, String contractAddress,
+                                   String type, BigDecimal amount, BigDecimal gasFee) {
+}
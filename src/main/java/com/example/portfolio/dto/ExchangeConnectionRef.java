@@ -0,0 +1,7 @@
+package com.example.portfolio.dto;
+
+/**
+ * ID and owner of an exchange connection, loaded without the connection's (encrypted) tokens
+ */
+public record ExchangeConnectionRef(Integer id, Integer ownerId) {
+}
@@ -0,0 +1,43 @@
+package com.example.portfolio.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A user's net worth split by source, in USD. Immutable; a new instance is materialized
+ * whenever one of the inputs changes.
+ */
+public class NetWorthSummary {
+
+    private final BigDecimal bankTotal;
+    private final BigDecimal cryptoTotal;
+    private final BigDecimal exchangeTotal;
+    private final LocalDateTime computedAt;
+
+    public NetWorthSummary(BigDecimal bankTotal, BigDecimal cryptoTotal, BigDecimal exchangeTotal) {
+        this.bankTotal = bankTotal;
+        this.cryptoTotal = cryptoTotal;
+        this.exchangeTotal = exchangeTotal;
+        this.computedAt = LocalDateTime.now();
+    }
+
+    public BigDecimal getTotal() {
+        return bankTotal.add(cryptoTotal).add(exchangeTotal);
+    }
+
+    public BigDecimal getBankTotal() {
+        return bankTotal;
+    }
+
+    public BigDecimal getCryptoTotal() {
+        return cryptoTotal;
+    }
+
+    public BigDecimal getExchangeTotal() {
+        return exchangeTotal;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.portfolio.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a single wallet balance lookup during concurrent enrichment.
+ * Failed, timed-out or rejected (busy) lookups carry a zero balance plus a status and error message.
+ * Balances served from the background sync cache carry the time they were fetched.
+ */
+public class WalletBalanceResult {
+
+    public static final String STATUS_OK = "ok";
+    public static final String STATUS_ERROR = "error";
+    public static final String STATUS_TIMEOUT = "timeout";
+    public static final String STATUS_BUSY = "busy";
+
+    private final BigDecimal balance;
+    private final String status;
+    private final String error;
+    private final LocalDateTime updatedAt;
+
+    private WalletBalanceResult(BigDecimal balance, String status, String error, LocalDateTime updatedAt) {
+        this.balance = balance;
+        this.status = status;
+        this.error = error;
+        this.updatedAt = updatedAt;
+    }
+
+    public static WalletBalanceResult ok(BigDecimal balance) {
+        return new WalletBalanceResult(balance, STATUS_OK, null, LocalDateTime.now());
+    }
+
+    public static WalletBalanceResult cached(BigDecimal balance, LocalDateTime updatedAt) {
+        return new WalletBalanceResult(balance, STATUS_OK, null, updatedAt);
+    }
+
+    public static WalletBalanceResult error(String error) {
+        return new WalletBalanceResult(BigDecimal.ZERO, STATUS_ERROR, error, null);
+    }
+
+    public static WalletBalanceResult timeout() {
+        return new WalletBalanceResult(BigDecimal.ZERO, STATUS_TIMEOUT, "Balance lookup timed out", null);
+    }
+
+    public static WalletBalanceResult busy() {
+        return new WalletBalanceResult(BigDecimal.ZERO, STATUS_BUSY, "Balance lookups are saturated, try again shortly", null);
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isOk() {
+        return STATUS_OK.equals(status);
+    }
+}
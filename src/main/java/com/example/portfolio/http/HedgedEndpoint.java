@@ -0,0 +1,60 @@
+package com.example.portfolio.http;
+
+import java.time.Duration;
+
+/**
+ * One endpoint taking part in a hedged request: its circuit breaker plus the latency
+ * history that decides how long to wait before hedging to the next endpoint.
+ */
+public class HedgedEndpoint {
+
+    // Until enough samples exist, hedge after a fixed delay
+    private static final int MIN_SAMPLES = 20;
+
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyTracker latencyTracker = new LatencyTracker(200);
+    private final double hedgePercentile;
+    private final Duration defaultHedgeDelay;
+    private final Duration minHedgeDelay;
+    private final Duration maxHedgeDelay;
+
+    public HedgedEndpoint(String name, double hedgePercentile, Duration defaultHedgeDelay,
+                          Duration minHedgeDelay, Duration maxHedgeDelay) {
+        this.circuitBreaker = new CircuitBreaker(name, 5, Duration.ofSeconds(30));
+        this.hedgePercentile = hedgePercentile;
+        this.defaultHedgeDelay = defaultHedgeDelay;
+        this.minHedgeDelay = minHedgeDelay;
+        this.maxHedgeDelay = maxHedgeDelay;
+    }
+
+    /**
+     * How long to wait for this endpoint before firing the hedge
+     */
+    public Duration hedgeDelay() {
+        if (latencyTracker.sampleCount() < MIN_SAMPLES) {
+            return defaultHedgeDelay;
+        }
+        Duration observed = latencyTracker.percentile(hedgePercentile);
+        if (observed.compareTo(minHedgeDelay) < 0) {
+            return minHedgeDelay;
+        }
+        return observed.compareTo(maxHedgeDelay) > 0 ? maxHedgeDelay : observed;
+    }
+
+    public boolean allowRequest() {
+        return circuitBreaker.allowRequest();
+    }
+
+    public void recordSuccess(Duration latency) {
+        latencyTracker.record(latency);
+        circuitBreaker.recordSuccess();
+    }
+
+    public void recordFailure() {
+        circuitBreaker.recordFailure();
+    }
+
+    public String getName() {
+        return circuitBreaker.getName();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.portfolio.http;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a primary/backup pair of equivalent calls as a hedged request.
+ * The primary starts immediately; if it has not answered within its hedge delay (a latency
+ * percentile), or fails, the backup is fired and the first successful answer wins.
+ * Endpoints whose circuit is open are skipped.
+ */
+@Component
+public class HedgedRequestExecutor {
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+
+    public HedgedRequestExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "hedged-request-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "hedged-request-timer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public <T> T execute(HedgedEndpoint primary, Callable<T> primaryCall,
+                         HedgedEndpoint backup, Callable<T> backupCall,
+                         Duration timeout) throws Exception {
+        HedgedCall<T> call = new HedgedCall<>();
+
+        if (primary.allowRequest()) {
+            call.start(primary, primaryCall, () -> call.startBackup(backup, backupCall));
+            scheduler.schedule(() -> call.startBackup(backup, backupCall),
+                    primary.hedgeDelay().toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            call.startBackup(backup, backupCall);
+        }
+
+        try {
+            return call.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ex ? ex : e;
+        } catch (TimeoutException e) {
+            throw new TimeoutException("Hedged request to " + primary.getName() + " timed out");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * State of one hedged request. The result completes with the first success, or with the
+     * last failure once every attempt that will ever run has failed.
+     */
+    private class HedgedCall<T> {
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        private int running;
+        private boolean backupDecided;
+        private Exception lastError;
+
+        synchronized void startBackup(HedgedEndpoint backup, Callable<T> backupCall) {
+            if (backupDecided || result.isDone()) {
+                return;
+            }
+            backupDecided = true;
+            if (backup.allowRequest()) {
+                start(backup, backupCall, null);
+            } else {
+                if (lastError == null) {
+                    lastError = new IllegalStateException("Circuit open for " + backup.getName());
+                }
+                failIfExhausted();
+            }
+        }
+
+        synchronized void start(HedgedEndpoint endpoint, Callable<T> task, Runnable onFailure) {
+            running++;
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    T value = task.call();
+                    endpoint.recordSuccess(Duration.ofNanos(System.nanoTime() - start));
+                    result.complete(value);
+                } catch (Exception e) {
+                    endpoint.recordFailure();
+                    failed(e, onFailure);
+                }
+            });
+        }
+
+        private void failed(Exception e, Runnable onFailure) {
+            synchronized (this) {
+                running--;
+                lastError = e;
+            }
+            if (onFailure != null) {
+                onFailure.run(); // Primary failed fast: hedge right away instead of waiting
+            }
+            synchronized (this) {
+                failIfExhausted();
+            }
+        }
+
+        private void failIfExhausted() {
+            if (running == 0 && backupDecided) {
+                result.completeExceptionally(lastError);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.portfolio.http;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of in-flight requests per remote host across every outbound client.
+ * The slot is held until the response headers arrive.
+ */
+public class HostConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final int maxPerHost;
+    private final Duration acquireTimeout;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public HostConcurrencyLimitInterceptor(int maxPerHost, Duration acquireTimeout) {
+        this.maxPerHost = maxPerHost;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost();
+        Semaphore semaphore = permits.computeIfAbsent(host, h -> new Semaphore(maxPerHost, true));
+
+        try {
+            if (!semaphore.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Too many concurrent requests to " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for connection slot to " + host);
+        }
+
+        try {
+            return execution.execute(request, body);
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.portfolio.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streams the elements of one array field in a JSON object response, binding each element
+ * to a typed record as it is read. Only one element is materialized at a time, instead of
+ * the whole body as a String plus a JsonNode tree.
+ */
+public class JsonStreamReader {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonStreamReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read a top-level JSON object, passing each element of arrayField to the consumer.
+     * Top-level scalar fields (status, message, ...) are returned as text; other nested
+     * values are skipped. If arrayField is not an array (e.g. an error string), it is
+     * returned as a scalar instead.
+     */
+    public <T> Map<String, String> readArray(InputStream body, String arrayField, Class<T> type,
+                                             Consumer<T> consumer) throws IOException {
+        return readArray(body, arrayField, type, consumer, Set.of());
+    }
+
+    /**
+     * Like {@link #readArray(InputStream, String, Class, Consumer)}, additionally returning the
+     * scalar members of the named top-level objects (e.g. a pagination block) keyed as
+     * "object.member".
+     */
+    public <T> Map<String, String> readArray(InputStream body, String arrayField, Class<T> type,
+                                             Consumer<T> consumer, Set<String> objectFields) throws IOException {
+        Map<String, String> scalars = new HashMap<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object response");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (field.equals(arrayField) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        consumer.accept(objectMapper.readValue(parser, type));
+                    }
+                } else if (value.isScalarValue()) {
+                    scalars.put(field, value == JsonToken.VALUE_NULL ? null : parser.getText());
+                } else if (value == JsonToken.START_OBJECT && objectFields.contains(field)) {
+                    readObjectScalars(parser, field + ".", scalars);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return scalars;
+    }
+
+    private void readObjectScalars(JsonParser parser, String prefix, Map<String, String> scalars) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String member = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isScalarValue()) {
+                scalars.put(prefix + member, value == JsonToken.VALUE_NULL ? null : parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.portfolio.http;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent call latencies used to derive percentile thresholds.
+ */
+public class LatencyTracker {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    public LatencyTracker(int windowSize) {
+        this.samples = new long[windowSize];
+    }
+
+    public synchronized void record(Duration latency) {
+        samples[next] = latency.toNanos();
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    public synchronized int sampleCount() {
+        return count;
+    }
+
+    /**
+     * Latency at the given percentile (0-1) over the current window, or null without samples
+     */
+    public synchronized Duration percentile(double percentile) {
+        if (count == 0) {
+            return null;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, Math.min(index, count - 1))]);
+    }
+}
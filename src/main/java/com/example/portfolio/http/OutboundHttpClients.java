@@ -0,0 +1,88 @@
+package com.example.portfolio.http;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Managed outbound HTTP clients for all third-party integrations
+ * (blockchain providers, CoinGecko, Coinbase).
+ *
+ * Clients are JDK HttpClients (HTTP/2 with HTTP/1.1 fallback) that keep connections alive
+ * between calls. Each named client has its own connection pool; all of them share one
+ * executor, a per-host in-flight limit, connect/read timeouts and gzip response decoding,
+ * and every request first takes a token from the integration's outbound rate limit.
+ */
+@Component
+public class OutboundHttpClients {
+
+    private final ExecutorService executor;
+    private final OutboundRateLimiter rateLimiter;
+    private final HostConcurrencyLimitInterceptor hostLimitInterceptor;
+    private final GzipDecodingInterceptor gzipInterceptor = new GzipDecodingInterceptor();
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    @Value("${http.outbound.connect-timeout-ms:3000}")
+    private long defaultConnectTimeoutMs;
+
+    @Value("${http.outbound.read-timeout-ms:10000}")
+    private long defaultReadTimeoutMs;
+
+    public OutboundHttpClients(OutboundRateLimiter rateLimiter,
+                               @Value("${http.outbound.max-per-host:10}") int maxPerHost,
+                               @Value("${http.outbound.threads:16}") int threads) {
+        this.rateLimiter = rateLimiter;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "outbound-http-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.hostLimitInterceptor = new HostConcurrencyLimitInterceptor(maxPerHost, Duration.ofSeconds(10));
+    }
+
+    /**
+     * RestTemplate for a named integration using the default timeouts
+     */
+    public RestTemplate restTemplate(String name) {
+        return restTemplate(name, Duration.ofMillis(defaultConnectTimeoutMs), Duration.ofMillis(defaultReadTimeoutMs));
+    }
+
+    /**
+     * RestTemplate for a named integration. Templates created with the same name share
+     * one HttpClient (and connection pool) and one outbound rate limit; the first caller's
+     * connect timeout wins.
+     */
+    public RestTemplate restTemplate(String name, Duration connectTimeout, Duration readTimeout) {
+        HttpClient client = clients.computeIfAbsent(name, n -> HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build());
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(client, executor);
+        requestFactory.setReadTimeout(readTimeout);
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.setInterceptors(List.of(
+                new RateLimitingInterceptor(rateLimiter, name), hostLimitInterceptor, gzipInterceptor));
+        return restTemplate;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.portfolio.http;
+
+/**
+ * Thrown when an outbound call is shed because the provider's rate limit
+ * could not be satisfied within the allowed queue wait.
+ */
+public class OutboundRateLimitException extends RuntimeException {
+
+    public OutboundRateLimitException(String provider) {
+        super("Outbound rate limit exceeded for " + provider);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.portfolio.http;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token-bucket limits for outbound calls, one bucket per provider (Bucket4j).
+ * Callers queue until a token is available, up to a maximum wait; beyond that the call is
+ * shed before it reaches the provider. Queue wait is published as the
+ * outbound.ratelimit.wait timer and shed calls as outbound.ratelimit.rejected.
+ *
+ * Limits are configured with http.rate-limit.&lt;provider&gt;.requests / period-seconds / max-wait-ms.
+ */
+@Component
+public class OutboundRateLimiter {
+
+    private final Environment env;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    public OutboundRateLimiter(Environment env, MeterRegistry meterRegistry) {
+        this.env = env;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Wait for a token for the given provider, or throw OutboundRateLimitException
+     * if none becomes available within the provider's max wait.
+     */
+    public void acquire(String provider) {
+        Limit limit = limits.computeIfAbsent(provider, this::createLimit);
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = limit.bucket.asBlocking().tryConsume(1, limit.maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        limit.waitTimer.record(Duration.ofNanos(System.nanoTime() - start));
+
+        if (!acquired) {
+            meterRegistry.counter("outbound.ratelimit.rejected", "provider", provider).increment();
+            throw new OutboundRateLimitException(provider);
+        }
+    }
+
+    private Limit createLimit(String provider) {
+        String prefix = "http.rate-limit." + provider + ".";
+        long requests = env.getProperty(prefix + "requests", Long.class, 5L);
+        long periodSeconds = env.getProperty(prefix + "period-seconds", Long.class, 1L);
+        long maxWaitMs = env.getProperty(prefix + "max-wait-ms", Long.class,
+                env.getProperty("http.rate-limit.max-wait-ms", Long.class, 2000L));
+
+        // Greedy refill spreads tokens across the period instead of releasing them in one burst
+        Bandwidth bandwidth = Bandwidth.classic(requests, Refill.greedy(requests, Duration.ofSeconds(periodSeconds)));
+        Bucket bucket = Bucket.builder().addLimit(bandwidth).build();
+
+        Timer waitTimer = Timer.builder("outbound.ratelimit.wait")
+                .description("Time outbound calls spend queued for a provider rate-limit token")
+                .tag("provider", provider)
+                .register(meterRegistry);
+
+        return new Limit(bucket, Duration.ofMillis(maxWaitMs), waitTimer);
+    }
+
+    private record Limit(Bucket bucket, Duration maxWait, Timer waitTimer) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.portfolio.http;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Takes a rate-limit token for the named provider before each outbound request.
+ */
+public class RateLimitingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final OutboundRateLimiter rateLimiter;
+    private final String provider;
+
+    public RateLimitingInterceptor(OutboundRateLimiter rateLimiter, String provider) {
+        this.rateLimiter = rateLimiter;
+        this.provider = provider;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        rateLimiter.acquire(provider);
+        return execution.execute(request, body);
+    }
+}
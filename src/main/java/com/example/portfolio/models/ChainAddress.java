@@ -0,0 +1,109 @@
+package com.example.portfolio.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Chain data for one address, shared by every CryptoWallet that tracks it
+ * (cached balance and transaction sync checkpoints).
+ */
+@Entity
+@Table(name = "chain_addresses")
+public class ChainAddress {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "chain", nullable = false, length = 50)
+    private String chain;
+
+    @Column(name = "address", nullable = false, length = 255)
+    private String address;  // Normalized (lower case on EVM chains)
+
+    @Column(name = "balance", precision = 30, scale = 18)
+    private BigDecimal balance;
+
+    @Column(name = "balance_updated_at")
+    private LocalDateTime balanceUpdatedAt;
+
+    @Column(name = "last_synced_block")
+    private Long lastSyncedBlock;
+
+    @Column(name = "last_synced_token_block")
+    private Long lastSyncedTokenBlock;
+
+    @Column(name = "transactions_synced_at")
+    private LocalDateTime transactionsSyncedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ChainAddress() {
+    }
+
+    public ChainAddress(String chain, String address) {
+        this.chain = chain;
+        this.address = address;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public String getChain() {
+        return chain;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public LocalDateTime getBalanceUpdatedAt() {
+        return balanceUpdatedAt;
+    }
+
+    public void setBalanceUpdatedAt(LocalDateTime balanceUpdatedAt) {
+        this.balanceUpdatedAt = balanceUpdatedAt;
+    }
+
+    public Long getLastSyncedBlock() {
+        return lastSyncedBlock;
+    }
+
+    public void setLastSyncedBlock(Long lastSyncedBlock) {
+        this.lastSyncedBlock = lastSyncedBlock;
+    }
+
+    public Long getLastSyncedTokenBlock() {
+        return lastSyncedTokenBlock;
+    }
+
+    public void setLastSyncedTokenBlock(Long lastSyncedTokenBlock) {
+        this.lastSyncedTokenBlock = lastSyncedTokenBlock;
+    }
+
+    public LocalDateTime getTransactionsSyncedAt() {
+        return transactionsSyncedAt;
+    }
+
+    public void setTransactionsSyncedAt(LocalDateTime transactionsSyncedAt) {
+        this.transactionsSyncedAt = transactionsSyncedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
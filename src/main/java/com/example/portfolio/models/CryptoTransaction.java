@@ -16,8 +16,8 @@ public class CryptoTransaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(name = "tx_hash", unique = true, length = 255)
-    private String txHash;  // Blockchain transaction hash (unique identifier)
+    @Column(name = "tx_hash", length = 255)
+    private String txHash;  // Blockchain transaction hash (unique per wallet with contract and log index)
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "wallet_id")
@@ -32,7 +32,7 @@ public class CryptoTransaction {
     @Column(name = "to_address", length = 255)
     private String toAddress;
 
-    @Column(name = "amount", precision = 30, scale = 18)
+    @Column(name = "amount", precision = 40, scale = 18)
     private BigDecimal amount;  // Crypto has many decimals (e.g., 0.000000000000000001 ETH)
 
     @Column(name = "token", length = 50)
@@ -44,6 +44,12 @@ public class CryptoTransaction {
     @Column(name = "gas_fee", precision = 30, scale = 18)
     private BigDecimal gasFee;  // Transaction fee
 
+    @Column(name = "contract_address", nullable = false, length = 64)
+    private String contractAddress = "";  // ERC-20 contract; empty for native transfers
+
+    @Column(name = "log_index", nullable = false)
+    private Integer logIndex = -1;  // Transfer event index within the transaction; -1 for native transfers, <= -2 for a position when the explorer gives none
+
     @Column(name = "block_number")
     private Long blockNumber;
 
@@ -160,6 +166,46 @@ public class CryptoTransaction {
         this.blockNumber = blockNumber;
     }
 
+    public String getContractAddress() {
+        return contractAddress;
+    }
+
+    public void setContractAddress(String contractAddress) {
+        this.contractAddress = contractAddress;
+    }
+
+    public Integer getLogIndex() {
+        return logIndex;
+    }
+
+    public void setLogIndex(Integer logIndex) {
+        this.logIndex = logIndex;
+    }
+
+    /**
+     * Identity of this transfer within its wallet (hash, token contract, log index)
+     */
+    public String getTransferKey() {
+        return transferKey(txHash, contractAddress, logIndex);
+    }
+
+    public static String transferKey(String txHash, String contractAddress, Integer logIndex) {
+        return txHash + ":" + contractAddress + ":" + logIndex;
+    }
+
+    /**
+     * Unsaved copy of this transaction for another wallet tracking the same address
+     */
+    public CryptoTransaction copyFor(CryptoWallet otherWallet) {
+        CryptoTransaction copy = new CryptoTransaction(txHash, otherWallet, date, fromAddress, toAddress, amount, token, type);
+        copy.gasFee = gasFee;
+        copy.contractAddress = contractAddress;
+        copy.logIndex = logIndex;
+        copy.blockNumber = blockNumber;
+        copy.confirmations = confirmations;
+        return copy;
+    }
+
     public Integer getConfirmations() {
         return confirmations;
     }
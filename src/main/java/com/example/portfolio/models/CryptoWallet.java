@@ -1,6 +1,7 @@
 package com.example.portfolio.models;
 
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -29,6 +30,24 @@ public class CryptoWallet {
     @JoinColumn(name = "user_id", nullable = false)
     private User owner;
 
+    @Column(name = "last_synced_block")
+    private Long lastSyncedBlock;  // Highest block already synced (incremental sync checkpoint)
+
+    @Column(name = "last_synced_token_block")
+    private Long lastSyncedTokenBlock;  // Same, for the separate token transfer listing
+
+    @Column(name = "cached_balance", precision = 30, scale = 18)
+    private BigDecimal cachedBalance;  // Last balance fetched by the background sync
+
+    @Column(name = "balance_updated_at")
+    private LocalDateTime balanceUpdatedAt;
+
+    @Column(name = "next_sync_at")
+    private LocalDateTime nextSyncAt;  // NULL = due now
+
+    @Column(name = "sync_interval_seconds")
+    private Integer syncIntervalSeconds;  // Adaptive polling interval (shrinks when active, grows when dormant)
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -89,6 +108,54 @@ public class CryptoWallet {
         this.owner = owner;
     }
 
+    public Long getLastSyncedBlock() {
+        return lastSyncedBlock;
+    }
+
+    public void setLastSyncedBlock(Long lastSyncedBlock) {
+        this.lastSyncedBlock = lastSyncedBlock;
+    }
+
+    public Long getLastSyncedTokenBlock() {
+        return lastSyncedTokenBlock;
+    }
+
+    public void setLastSyncedTokenBlock(Long lastSyncedTokenBlock) {
+        this.lastSyncedTokenBlock = lastSyncedTokenBlock;
+    }
+
+    public BigDecimal getCachedBalance() {
+        return cachedBalance;
+    }
+
+    public void setCachedBalance(BigDecimal cachedBalance) {
+        this.cachedBalance = cachedBalance;
+    }
+
+    public LocalDateTime getBalanceUpdatedAt() {
+        return balanceUpdatedAt;
+    }
+
+    public void setBalanceUpdatedAt(LocalDateTime balanceUpdatedAt) {
+        this.balanceUpdatedAt = balanceUpdatedAt;
+    }
+
+    public LocalDateTime getNextSyncAt() {
+        return nextSyncAt;
+    }
+
+    public void setNextSyncAt(LocalDateTime nextSyncAt) {
+        this.nextSyncAt = nextSyncAt;
+    }
+
+    public Integer getSyncIntervalSeconds() {
+        return syncIntervalSeconds;
+    }
+
+    public void setSyncIntervalSeconds(Integer syncIntervalSeconds) {
+        this.syncIntervalSeconds = syncIntervalSeconds;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,135 @@
+package com.example.portfolio.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An account held at a connected exchange (e.g. one Coinbase wallet per currency).
+ * Balances are refreshed from the exchange API and kept for valuation without live calls.
+ */
+@Entity
+@Table(name = "exchange_accounts")
+public class ExchangeAccount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exchange_item_id", nullable = false)
+    private ExchangeItem exchangeItem;
+
+    @Column(name = "external_id", nullable = false, length = 255)
+    private String externalId;  // Account ID on the exchange
+
+    @Column(name = "name", length = 255)
+    private String name;
+
+    @Column(name = "currency", length = 50)
+    private String currency;
+
+    @Column(name = "account_type", length = 50)
+    private String accountType;
+
+    @Column(name = "balance", precision = 30, scale = 18)
+    private BigDecimal balance;
+
+    @Column(name = "balance_usd", precision = 20, scale = 2)
+    private BigDecimal balanceUsd;  // Native (USD) value reported by the exchange
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "transactions_cursor", length = 255)
+    private String transactionsCursor;  // Exchange ID of the newest settled transaction stored
+
+    @Column(name = "transactions_synced_at")
+    private LocalDateTime transactionsSyncedAt;
+
+    // Constructors
+    public ExchangeAccount() {
+    }
+
+    public ExchangeAccount(ExchangeItem exchangeItem, String externalId) {
+        this.exchangeItem = exchangeItem;
+        this.externalId = externalId;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public ExchangeItem getExchangeItem() {
+        return exchangeItem;
+    }
+
+    public String getExternalId() {
+        return externalId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(String accountType) {
+        this.accountType = accountType;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public BigDecimal getBalanceUsd() {
+        return balanceUsd;
+    }
+
+    public void setBalanceUsd(BigDecimal balanceUsd) {
+        this.balanceUsd = balanceUsd;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getTransactionsCursor() {
+        return transactionsCursor;
+    }
+
+    public void setTransactionsCursor(String transactionsCursor) {
+        this.transactionsCursor = transactionsCursor;
+    }
+
+    public LocalDateTime getTransactionsSyncedAt() {
+        return transactionsSyncedAt;
+    }
+
+    public void setTransactionsSyncedAt(LocalDateTime transactionsSyncedAt) {
+        this.transactionsSyncedAt = transactionsSyncedAt;
+    }
+}
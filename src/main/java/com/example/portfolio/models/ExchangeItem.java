@@ -53,6 +53,12 @@ public class ExchangeItem {
     @JoinColumn(name = "user_id", nullable = false)
     private User owner;
 
+    /**
+     * Last account and transaction sync run (failed runs included)
+     */
+    @Column(name = "last_synced_at")
+    private LocalDateTime lastSyncedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -156,4 +162,12 @@ public class ExchangeItem {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(LocalDateTime lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
 }
@@ -0,0 +1,135 @@
+package com.example.portfolio.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction on an exchange account (buy, sell, send, ...), stored by the exchange sync
+ * so transaction history is served without live exchange calls.
+ */
+@Entity
+@Table(name = "exchange_transactions")
+public class ExchangeTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exchange_account_id", nullable = false)
+    private ExchangeAccount exchangeAccount;
+
+    @Column(name = "external_id", nullable = false, length = 255)
+    private String externalId;  // Transaction ID on the exchange
+
+    @Column(name = "type", length = 50)
+    private String type;
+
+    @Column(name = "status", length = 50)
+    private String status;
+
+    @Column(name = "amount", precision = 30, scale = 18)
+    private BigDecimal amount;  // Signed: negative for outgoing
+
+    @Column(name = "currency", length = 50)
+    private String currency;
+
+    @Column(name = "amount_usd", precision = 20, scale = 2)
+    private BigDecimal amountUsd;  // Native (USD) value reported by the exchange
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;  // When it happened on the exchange
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ExchangeTransaction() {
+    }
+
+    public ExchangeTransaction(ExchangeAccount exchangeAccount, String externalId) {
+        this.exchangeAccount = exchangeAccount;
+        this.externalId = externalId;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public ExchangeAccount getExchangeAccount() {
+        return exchangeAccount;
+    }
+
+    public String getExternalId() {
+        return externalId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getAmountUsd() {
+        return amountUsd;
+    }
+
+    public void setAmountUsd(BigDecimal amountUsd) {
+        this.amountUsd = amountUsd;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.portfolio.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Value of one holding (bank account, crypto wallet or exchange account) at the end of one day.
+ */
+@Entity
+@Table(name = "holding_snapshots")
+public class HoldingSnapshot {
+
+    public static final String TYPE_ACCOUNT = "account";
+    public static final String TYPE_WALLET = "wallet";
+    public static final String TYPE_EXCHANGE = "exchange";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "holding_type", nullable = false, length = 20)
+    private String holdingType;  // "account", "wallet", "exchange"
+
+    @Column(name = "holding_id", nullable = false)
+    private Integer holdingId;
+
+    @Column(name = "symbol", length = 50)
+    private String symbol;
+
+    @Column(name = "quantity", precision = 30, scale = 18)
+    private BigDecimal quantity;
+
+    @Column(name = "value_usd", nullable = false, precision = 20, scale = 2)
+    private BigDecimal valueUsd;
+
+    // Constructors
+    public HoldingSnapshot() {
+    }
+
+    public HoldingSnapshot(Integer userId, LocalDate snapshotDate, String holdingType, Integer holdingId,
+                           String symbol, BigDecimal quantity, BigDecimal valueUsd) {
+        this.userId = userId;
+        this.snapshotDate = snapshotDate;
+        this.holdingType = holdingType;
+        this.holdingId = holdingId;
+        this.symbol = symbol;
+        this.quantity = quantity;
+        this.valueUsd = valueUsd;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public String getHoldingType() {
+        return holdingType;
+    }
+
+    public Integer getHoldingId() {
+        return holdingId;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getValueUsd() {
+        return valueUsd;
+    }
+}
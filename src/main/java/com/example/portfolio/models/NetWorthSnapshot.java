@@ -0,0 +1,78 @@
+package com.example.portfolio.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A user's net worth at the end of one day, written by the daily snapshot rollup.
+ */
+@Entity
+@Table(name = "net_worth_snapshots")
+public class NetWorthSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "bank_total", nullable = false, precision = 20, scale = 2)
+    private BigDecimal bankTotal;
+
+    @Column(name = "crypto_total", nullable = false, precision = 20, scale = 2)
+    private BigDecimal cryptoTotal;
+
+    @Column(name = "exchange_total", nullable = false, precision = 20, scale = 2)
+    private BigDecimal exchangeTotal;
+
+    @Column(name = "total", nullable = false, precision = 20, scale = 2)
+    private BigDecimal total;
+
+    // Constructors
+    public NetWorthSnapshot() {
+    }
+
+    public NetWorthSnapshot(Integer userId, LocalDate snapshotDate,
+                            BigDecimal bankTotal, BigDecimal cryptoTotal, BigDecimal exchangeTotal) {
+        this.userId = userId;
+        this.snapshotDate = snapshotDate;
+        this.bankTotal = bankTotal;
+        this.cryptoTotal = cryptoTotal;
+        this.exchangeTotal = exchangeTotal;
+        this.total = bankTotal.add(cryptoTotal).add(exchangeTotal);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public BigDecimal getBankTotal() {
+        return bankTotal;
+    }
+
+    public BigDecimal getCryptoTotal() {
+        return cryptoTotal;
+    }
+
+    public BigDecimal getExchangeTotal() {
+        return exchangeTotal;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.portfolio.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted PnL engine state for one wallet and cost-basis method.
+ * The state column holds the open lots and realized totals per coin and token contract as
+ * JSON; the checkpoint is the (date, id) of the last transaction folded into it.
+ */
+@Entity
+@Table(name = "pnl_states")
+public class PnlState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "wallet_id", nullable = false)
+    private Integer walletId;
+
+    @Column(name = "cost_method", nullable = false, length = 10)
+    private String costMethod;  // "fifo", "lifo", "average"
+
+    @Column(name = "last_tx_date")
+    private LocalDateTime lastTxDate;
+
+    @Column(name = "last_tx_id")
+    private Integer lastTxId;
+
+    @Column(name = "state", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String state;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public PnlState() {
+    }
+
+    public PnlState(Integer walletId, String costMethod) {
+        this.walletId = walletId;
+        this.costMethod = costMethod;
+        this.state = "{}";
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getWalletId() {
+        return walletId;
+    }
+
+    public String getCostMethod() {
+        return costMethod;
+    }
+
+    public LocalDateTime getLastTxDate() {
+        return lastTxDate;
+    }
+
+    public void setLastTxDate(LocalDateTime lastTxDate) {
+        this.lastTxDate = lastTxDate;
+    }
+
+    public Integer getLastTxId() {
+        return lastTxId;
+    }
+
+    public void setLastTxId(Integer lastTxId) {
+        this.lastTxId = lastTxId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
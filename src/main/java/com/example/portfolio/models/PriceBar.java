@@ -0,0 +1,94 @@
+package com.example.portfolio.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A persisted OHLC price bar (1m, 1h or 1d) rolled up from in-memory price ticks.
+ * Bucket start times are stored in UTC.
+ */
+@Entity
+@Table(name = "price_bars")
+public class PriceBar {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "symbol", nullable = false, length = 50)
+    private String symbol;
+
+    @Column(name = "resolution", nullable = false, length = 5)
+    private String resolution;  // "1m", "1h", "1d"
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "open_price", nullable = false)
+    private double openPrice;
+
+    @Column(name = "high_price", nullable = false)
+    private double highPrice;
+
+    @Column(name = "low_price", nullable = false)
+    private double lowPrice;
+
+    @Column(name = "close_price", nullable = false)
+    private double closePrice;
+
+    @Column(name = "tick_count", nullable = false)
+    private int tickCount;
+
+    // Constructors
+    public PriceBar() {
+    }
+
+    public PriceBar(String symbol, String resolution, LocalDateTime bucketStart,
+                    double openPrice, double highPrice, double lowPrice, double closePrice, int tickCount) {
+        this.symbol = symbol;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+        this.openPrice = openPrice;
+        this.highPrice = highPrice;
+        this.lowPrice = lowPrice;
+        this.closePrice = closePrice;
+        this.tickCount = tickCount;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public double getOpenPrice() {
+        return openPrice;
+    }
+
+    public double getHighPrice() {
+        return highPrice;
+    }
+
+    public double getLowPrice() {
+        return lowPrice;
+    }
+
+    public double getClosePrice() {
+        return closePrice;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.portfolio.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * ERC-20 token details for one contract on one chain (decimals, symbol, CoinGecko id).
+ */
+@Entity
+@Table(name = "token_metadata")
+public class TokenMetadata {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "chain", nullable = false, length = 50)
+    private String chain;
+
+    @Column(name = "contract_address", nullable = false, length = 64)
+    private String contractAddress;  // Lower case
+
+    @Column(name = "symbol", nullable = false, length = 50)
+    private String symbol;
+
+    @Column(name = "name", length = 255)
+    private String name;
+
+    @Column(name = "decimals", nullable = false)
+    private int decimals;
+
+    @Column(name = "coingecko_id", length = 100)
+    private String coingeckoId;  // NULL when the token has no CoinGecko listing (no price)
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public TokenMetadata() {
+    }
+
+    public TokenMetadata(String chain, String contractAddress, String symbol, String name,
+                         int decimals, String coingeckoId) {
+        this.chain = chain;
+        this.contractAddress = contractAddress;
+        this.symbol = symbol;
+        this.name = name;
+        this.decimals = decimals;
+        this.coingeckoId = coingeckoId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Integer getId() {
+        return id;
+    }
+
+    public String getChain() {
+        return chain;
+    }
+
+    public String getContractAddress() {
+        return contractAddress;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDecimals() {
+        return decimals;
+    }
+
+    public String getCoingeckoId() {
+        return coingeckoId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.portfolio.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import com.example.portfolio.models.Account;
@@ -9,8 +14,15 @@ public interface AccountRepository extends JpaRepository<Account, Integer> {
 
     List<Account> findByUserId(Integer userId);
 
+    List<Account> findByUserIdIn(Collection<Integer> userIds);
+
     Optional<Account> findByPlaidAccountId(String plaidAccountId);
 
+    List<Account> findByPlaidAccountIdIn(Collection<String> plaidAccountIds);
+
     void deleteByUserId(Integer userId);
 
+    @Query("SELECT COALESCE(SUM(a.balance), 0) FROM Account a WHERE a.user.id = :userId")
+    BigDecimal sumBalanceByUserId(@Param("userId") Integer userId);
+
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.ChainAddress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChainAddressRepository extends JpaRepository<ChainAddress, Integer> {
+
+    Optional<ChainAddress> findByChainAndAddress(String chain, String address);
+
+    List<ChainAddress> findByChainAndAddressIn(String chain, Collection<String> addresses);
+
+    // Balance and sync state are written separately so a balance refresh never
+    // overwrites a checkpoint advanced by a concurrent sync (and vice versa)
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ChainAddress a SET a.balance = :balance, a.balanceUpdatedAt = :updatedAt WHERE a.id = :id")
+    void updateBalance(@Param("id") Integer id, @Param("balance") BigDecimal balance,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ChainAddress a SET a.lastSyncedBlock = :block, a.lastSyncedTokenBlock = :tokenBlock, " +
+           "a.transactionsSyncedAt = :syncedAt WHERE a.id = :id")
+    void updateSyncState(@Param("id") Integer id, @Param("block") Long lastSyncedBlock,
+                         @Param("tokenBlock") Long lastSyncedTokenBlock,
+                         @Param("syncedAt") LocalDateTime transactionsSyncedAt);
+}
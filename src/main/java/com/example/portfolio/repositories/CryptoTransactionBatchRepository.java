@@ -0,0 +1,24 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.CryptoTransaction;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for crypto transactions that JPA cannot batch
+ * (IDENTITY ids disable Hibernate insert batching).
+ */
+public interface CryptoTransactionBatchRepository {
+
+    /**
+     * Insert transactions in JDBC batches within one transaction, ignoring rows the
+     * wallet already has (same hash, contract and log index). Returns the transactions that were actually inserted.
+     */
+    List<CryptoTransaction> insertIgnoreAll(List<CryptoTransaction> transactions);
+
+    /**
+     * Copy every transaction of one wallet to another wallet tracking the same address,
+     * skipping rows the target already has. Returns the number of rows copied.
+     */
+    int copyWalletTransactions(Integer fromWalletId, Integer toWalletId);
+}
@@ -0,0 +1,84 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.CryptoTransaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link CryptoTransactionBatchRepository}, picked up by Spring Data
+ * as a fragment of {@link CryptoTransactionRepository}.
+ */
+public class CryptoTransactionBatchRepositoryImpl implements CryptoTransactionBatchRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT IGNORE INTO crypto_transactions " +
+            "(tx_hash, wallet_id, date, from_address, to_address, amount, token, type, gas_fee, " +
+            "contract_address, log_index, block_number, confirmations, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COPY_WALLET_SQL =
+            "INSERT IGNORE INTO crypto_transactions " +
+            "(tx_hash, wallet_id, date, from_address, to_address, amount, token, type, gas_fee, " +
+            "contract_address, log_index, block_number, confirmations, created_at) " +
+            "SELECT tx_hash, ?, date, from_address, to_address, amount, token, type, gas_fee, " +
+            "contract_address, log_index, block_number, confirmations, created_at " +
+            "FROM crypto_transactions WHERE wallet_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CryptoTransactionBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<CryptoTransaction> insertIgnoreAll(List<CryptoTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_IGNORE_SQL, transactions, BATCH_SIZE, (ps, tx) -> {
+            ps.setString(1, tx.getTxHash());
+            ps.setInt(2, tx.getWallet().getId());
+            ps.setTimestamp(3, Timestamp.valueOf(tx.getDate()));
+            ps.setString(4, tx.getFromAddress());
+            ps.setString(5, tx.getToAddress());
+            ps.setBigDecimal(6, tx.getAmount());
+            ps.setString(7, tx.getToken());
+            ps.setString(8, tx.getType());
+            ps.setBigDecimal(9, tx.getGasFee());
+            ps.setString(10, tx.getContractAddress());
+            ps.setInt(11, tx.getLogIndex());
+            ps.setObject(12, tx.getBlockNumber(), Types.BIGINT);
+            ps.setObject(13, tx.getConfirmations(), Types.INTEGER);
+            ps.setTimestamp(14, Timestamp.valueOf(tx.getCreatedAt()));
+        });
+
+        // 0 = ignored duplicate; SUCCESS_NO_INFO is reported by rewritten (multi-row) batches
+        List<CryptoTransaction> inserted = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    inserted.add(transactions.get(index));
+                }
+                index++;
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    @Transactional
+    public int copyWalletTransactions(Integer fromWalletId, Integer toWalletId) {
+        return jdbcTemplate.update(COPY_WALLET_SQL, toWalletId, fromWalletId);
+    }
+}
@@ -1,21 +1,27 @@
 package com.example.portfolio.repositories;
 
+import com.example.portfolio.dto.CryptoTransactionRow;
 import com.example.portfolio.models.CryptoTransaction;
 import com.example.portfolio.models.CryptoWallet;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface CryptoTransactionRepository extends JpaRepository<CryptoTransaction, Integer> {
+public interface CryptoTransactionRepository extends JpaRepository<CryptoTransaction, Integer>,
+        CryptoTransactionBatchRepository {
 
     /**
-     * Find transaction by blockchain hash (for idempotent sync)
+     * Find all rows for a blockchain hash (the native transfer plus any token transfers, per wallet)
      */
-    Optional<CryptoTransaction> findByTxHash(String txHash);
+    List<CryptoTransaction> findByTxHash(String txHash);
 
     /**
      * Find all transactions for a specific wallet
@@ -38,6 +44,43 @@ public interface CryptoTransactionRepository extends JpaRepository<CryptoTransac
      */
     boolean existsByTxHash(String txHash);
 
+    /**
+     * Resolve which transfers of the given hashes a wallet already has, as
+     * hash:contract:logIndex keys (one query per sync page)
+     */
+    @Query("SELECT CONCAT(ct.txHash, ':', ct.contractAddress, ':', CAST(ct.logIndex AS String)) " +
+           "FROM CryptoTransaction ct WHERE ct.wallet.id = :walletId AND ct.txHash IN :txHashes")
+    Set<String> findExistingTransferKeys(@Param("walletId") Integer walletId,
+                                         @Param("txHashes") Collection<String> txHashes);
+
+    /**
+     * Net token balances of a wallet derived from its ERC-20 transfers:
+     * rows of [contract address, symbol, received minus sent]
+     */
+    @Query("SELECT ct.contractAddress, ct.token, " +
+           "SUM(CASE WHEN ct.type = 'receive' THEN ct.amount WHEN ct.type = 'send' THEN -ct.amount ELSE 0 END) " +
+           "FROM CryptoTransaction ct WHERE ct.wallet.id = :walletId AND ct.contractAddress <> '' " +
+           "GROUP BY ct.contractAddress, ct.token")
+    List<Object[]> sumTokenBalances(@Param("walletId") Integer walletId);
+
+    /**
+     * Next page of a wallet's transactions after the (date, id) keyset position, in date order
+     */
+    @Query("SELECT new com.example.portfolio.dto.CryptoTransactionRow(ct.id, ct.date, ct.token, ct.contractAddress, ct.type, ct.amount, ct.gasFee) " +
+           "FROM CryptoTransaction ct WHERE ct.wallet.id = :walletId " +
+           "AND (ct.date > :afterDate OR (ct.date = :afterDate AND ct.id > :afterId)) " +
+           "ORDER BY ct.date ASC, ct.id ASC")
+    List<CryptoTransactionRow> findRowsAfter(@Param("walletId") Integer walletId,
+                                             @Param("afterDate") LocalDateTime afterDate,
+                                             @Param("afterId") Integer afterId,
+                                             Pageable pageable);
+
+    /**
+     * Whether a transaction dated before the keyset position was stored after it was reached
+     * (a back-filled or late-arriving transaction)
+     */
+    boolean existsByWallet_IdAndIdGreaterThanAndDateLessThan(Integer walletId, Integer afterId, LocalDateTime afterDate);
+
     /**
      * Delete all transactions for a wallet
      */
@@ -2,9 +2,14 @@ package com.example.portfolio.repositories;
 
 import com.example.portfolio.models.CryptoWallet;
 import com.example.portfolio.models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +26,11 @@ public interface CryptoWalletRepository extends JpaRepository<CryptoWallet, Inte
      */
     List<CryptoWallet> findByOwner_Id(Integer userId);
 
+    /**
+     * Find all wallets for a batch of users
+     */
+    List<CryptoWallet> findByOwner_IdIn(Collection<Integer> userIds);
+
     /**
      * Find wallets by blockchain type for a user
      */
@@ -31,11 +41,23 @@ public interface CryptoWalletRepository extends JpaRepository<CryptoWallet, Inte
      */
     Optional<CryptoWallet> findByWalletAddressAndOwner_Id(String walletAddress, Integer userId);
 
+    /**
+     * All wallets (any user) tracking an address on a chain. Case-insensitive; callers
+     * compare normalized addresses on chains where case matters.
+     */
+    List<CryptoWallet> findByBlockchainIgnoreCaseAndWalletAddressIgnoreCase(String blockchain, String walletAddress);
+
     /**
      * Check if wallet exists for user
      */
     boolean existsByWalletAddressAndOwner_Id(String walletAddress, Integer userId);
 
+    /**
+     * Wallets whose next background sync is due (never-scheduled wallets first)
+     */
+    @Query("SELECT w FROM CryptoWallet w WHERE w.nextSyncAt IS NULL OR w.nextSyncAt <= :now ORDER BY w.nextSyncAt")
+    List<CryptoWallet> findDueForSync(@Param("now") LocalDateTime now, Pageable pageable);
+
     /**
      * Delete all wallets for a user (for user deletion cascade)
      */
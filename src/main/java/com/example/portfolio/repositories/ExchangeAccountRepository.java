@@ -0,0 +1,56 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.ExchangeAccount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExchangeAccountRepository extends JpaRepository<ExchangeAccount, Integer> {
+
+    /**
+     * All stored accounts for one exchange connection
+     */
+    List<ExchangeAccount> findByExchangeItem_Id(Integer exchangeItemId);
+
+    /**
+     * A stored account of a connection by its ID on the exchange
+     */
+    Optional<ExchangeAccount> findByExchangeItem_IdAndExternalId(Integer exchangeItemId, String externalId);
+
+    /**
+     * All stored exchange accounts for a user across connections
+     */
+    List<ExchangeAccount> findByExchangeItem_Owner_Id(Integer userId);
+
+    /**
+     * All stored exchange accounts for a batch of users, with the owning connection loaded
+     */
+    @Query("SELECT ea FROM ExchangeAccount ea JOIN FETCH ea.exchangeItem ei WHERE ei.owner.id IN :userIds")
+    List<ExchangeAccount> findByOwnerIds(@Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Total USD value of a user's exchange accounts
+     */
+    @Query("SELECT COALESCE(SUM(ea.balanceUsd), 0) FROM ExchangeAccount ea WHERE ea.exchangeItem.owner.id = :userId")
+    BigDecimal sumBalanceUsdByUserId(@Param("userId") Integer userId);
+
+    /**
+     * Checkpoint the transaction sync of an account without touching its balances
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExchangeAccount ea SET ea.transactionsCursor = :cursor, ea.transactionsSyncedAt = :syncedAt " +
+           "WHERE ea.id = :id")
+    void updateTransactionsCursor(@Param("id") Integer id, @Param("cursor") String cursor,
+                                  @Param("syncedAt") LocalDateTime syncedAt);
+}
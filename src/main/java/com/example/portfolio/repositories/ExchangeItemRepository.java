@@ -1,10 +1,17 @@
 package com.example.portfolio.repositories;
 
+import com.example.portfolio.dto.ExchangeConnectionRef;
 import com.example.portfolio.models.ExchangeItem;
 import com.example.portfolio.models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +33,12 @@ public interface ExchangeItemRepository extends JpaRepository<ExchangeItem, Inte
      */
     Optional<ExchangeItem> findByOwner_IdAndExchange(Integer userId, String exchange);
 
+    /**
+     * ID of a user's connection to an exchange, without loading (and decrypting) its tokens
+     */
+    @Query("SELECT ei.id FROM ExchangeItem ei WHERE ei.owner.id = :userId AND ei.exchange = :exchange")
+    Optional<Integer> findIdByOwnerIdAndExchange(@Param("userId") Integer userId, @Param("exchange") String exchange);
+
     /**
      * Check if user has already connected an exchange
      */
@@ -36,6 +49,26 @@ public interface ExchangeItemRepository extends JpaRepository<ExchangeItem, Inte
      */
     List<ExchangeItem> findByExchange(String exchange);
 
+    /**
+     * Connections to an exchange not synced since the given time, least recently synced first
+     * (tokens are not loaded)
+     */
+    @Query("SELECT new com.example.portfolio.dto.ExchangeConnectionRef(ei.id, ei.owner.id) " +
+           "FROM ExchangeItem ei WHERE ei.exchange = :exchange " +
+           "AND (ei.lastSyncedAt IS NULL OR ei.lastSyncedAt < :syncedBefore) " +
+           "ORDER BY ei.lastSyncedAt ASC, ei.id ASC")
+    List<ExchangeConnectionRef> findDueForSync(@Param("exchange") String exchange,
+                                               @Param("syncedBefore") LocalDateTime syncedBefore,
+                                               Pageable pageable);
+
+    /**
+     * Record a completed sync without rewriting the (encrypted) token columns
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExchangeItem ei SET ei.lastSyncedAt = :syncedAt WHERE ei.id = :id")
+    void updateLastSyncedAt(@Param("id") Integer id, @Param("syncedAt") LocalDateTime syncedAt);
+
     /**
      * Delete all exchange connections for a user (for user deletion cascade)
      */
@@ -0,0 +1,18 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.ExchangeTransaction;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for exchange transactions that JPA cannot batch
+ * (IDENTITY ids disable Hibernate insert batching).
+ */
+public interface ExchangeTransactionBatchRepository {
+
+    /**
+     * Insert transactions in JDBC batches within one transaction; rows the account already
+     * has (same exchange ID) get their status and amounts updated instead.
+     */
+    void upsertAll(List<ExchangeTransaction> transactions);
+}
@@ -0,0 +1,53 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.ExchangeTransaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link ExchangeTransactionBatchRepository}, picked up by Spring Data
+ * as a fragment of {@link ExchangeTransactionRepository}.
+ */
+public class ExchangeTransactionBatchRepositoryImpl implements ExchangeTransactionBatchRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO exchange_transactions " +
+            "(exchange_account_id, external_id, type, status, amount, currency, amount_usd, description, " +
+            "created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE type = VALUES(type), status = VALUES(status), amount = VALUES(amount), " +
+            "currency = VALUES(currency), amount_usd = VALUES(amount_usd), description = VALUES(description), " +
+            "updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExchangeTransactionBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void upsertAll(List<ExchangeTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, transactions, BATCH_SIZE, (ps, tx) -> {
+            ps.setInt(1, tx.getExchangeAccount().getId());
+            ps.setString(2, tx.getExternalId());
+            ps.setString(3, tx.getType());
+            ps.setString(4, tx.getStatus());
+            ps.setBigDecimal(5, tx.getAmount());
+            ps.setString(6, tx.getCurrency());
+            ps.setBigDecimal(7, tx.getAmountUsd());
+            ps.setString(8, tx.getDescription());
+            ps.setTimestamp(9, Timestamp.valueOf(tx.getCreatedAt()));
+            ps.setTimestamp(10, Timestamp.valueOf(tx.getUpdatedAt()));
+        });
+    }
+}
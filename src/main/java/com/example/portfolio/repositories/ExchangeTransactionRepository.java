@@ -0,0 +1,27 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.ExchangeTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExchangeTransactionRepository extends JpaRepository<ExchangeTransaction, Integer>,
+        ExchangeTransactionBatchRepository {
+
+    /**
+     * All stored transactions of one exchange account, newest first
+     */
+    List<ExchangeTransaction> findByExchangeAccount_IdOrderByCreatedAtDescIdDesc(Integer exchangeAccountId);
+
+    /**
+     * Most recent transactions across all accounts of a connection, newest first, with the account loaded
+     */
+    @Query("SELECT et FROM ExchangeTransaction et JOIN FETCH et.exchangeAccount ea " +
+           "WHERE ea.exchangeItem.id = :itemId ORDER BY et.createdAt DESC, et.id DESC")
+    List<ExchangeTransaction> findRecentByExchangeItemId(@Param("itemId") Integer itemId, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.HoldingSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HoldingSnapshotRepository extends JpaRepository<HoldingSnapshot, Long> {
+
+    /**
+     * Daily values of one holding in a date range, oldest first
+     */
+    List<HoldingSnapshot> findByUserIdAndHoldingTypeAndHoldingIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(
+            Integer userId, String holdingType, Integer holdingId, LocalDate from, LocalDate to);
+
+    /**
+     * All holdings of a user on one day
+     */
+    List<HoldingSnapshot> findByUserIdAndSnapshotDate(Integer userId, LocalDate snapshotDate);
+}
@@ -0,0 +1,18 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.NetWorthSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface NetWorthSnapshotRepository extends JpaRepository<NetWorthSnapshot, Long>, SnapshotBatchRepository {
+
+    /**
+     * Daily net worth for a user in a date range, oldest first
+     */
+    List<NetWorthSnapshot> findByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(
+            Integer userId, LocalDate from, LocalDate to);
+}
@@ -2,10 +2,18 @@ package com.example.portfolio.repositories;
 
 import com.example.portfolio.models.PlaidItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface PlaidItemRepository extends JpaRepository<PlaidItem, Integer> {
     List<PlaidItem> findByOwner_Id(Integer userId);
     void deleteByOwner_Id(Integer userId);
+
+    // Store the /transactions/sync cursor without rewriting the (encrypted) access token
+    @Modifying
+    @Query("UPDATE PlaidItem p SET p.transactionCursor = :cursor WHERE p.id = :id")
+    void updateTransactionCursor(@Param("id") Integer id, @Param("cursor") String cursor);
 }
\ No newline at end of file
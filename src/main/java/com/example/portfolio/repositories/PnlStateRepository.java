@@ -0,0 +1,13 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.PnlState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PnlStateRepository extends JpaRepository<PnlState, Integer> {
+
+    Optional<PnlState> findByWalletIdAndCostMethod(Integer walletId, String costMethod);
+}
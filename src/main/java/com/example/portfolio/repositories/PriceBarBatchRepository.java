@@ -0,0 +1,23 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.PriceBar;
+
+import java.util.List;
+
+/**
+ * Bulk upsert of price bars (one row per symbol, resolution and bucket).
+ */
+public interface PriceBarBatchRepository {
+
+    /**
+     * Insert bars in JDBC batches, overwriting existing rows for the same bucket
+     * (a bar flushed while still open is replaced by its final values).
+     */
+    void upsertAll(List<PriceBar> bars);
+
+    /**
+     * Insert bars whose bucket has no row yet; existing rows are left untouched
+     * (for backfilled prices, which must never replace a bar built from real ticks).
+     */
+    void insertMissing(List<PriceBar> bars);
+}
@@ -0,0 +1,64 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.PriceBar;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link PriceBarBatchRepository}, picked up by Spring Data
+ * as a fragment of {@link PriceBarRepository}.
+ */
+public class PriceBarBatchRepositoryImpl implements PriceBarBatchRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO price_bars " +
+            "(symbol, resolution, bucket_start, open_price, high_price, low_price, close_price, tick_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE open_price = VALUES(open_price), high_price = VALUES(high_price), " +
+            "low_price = VALUES(low_price), close_price = VALUES(close_price), tick_count = VALUES(tick_count)";
+
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT IGNORE INTO price_bars " +
+            "(symbol, resolution, bucket_start, open_price, high_price, low_price, close_price, tick_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceBarBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void upsertAll(List<PriceBar> bars) {
+        write(UPSERT_SQL, bars);
+    }
+
+    @Override
+    @Transactional
+    public void insertMissing(List<PriceBar> bars) {
+        write(INSERT_IGNORE_SQL, bars);
+    }
+
+    private void write(String sql, List<PriceBar> bars) {
+        if (bars.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(sql, bars, BATCH_SIZE, (ps, bar) -> {
+            ps.setString(1, bar.getSymbol());
+            ps.setString(2, bar.getResolution());
+            ps.setTimestamp(3, Timestamp.valueOf(bar.getBucketStart()));
+            ps.setDouble(4, bar.getOpenPrice());
+            ps.setDouble(5, bar.getHighPrice());
+            ps.setDouble(6, bar.getLowPrice());
+            ps.setDouble(7, bar.getClosePrice());
+            ps.setInt(8, bar.getTickCount());
+        });
+    }
+}
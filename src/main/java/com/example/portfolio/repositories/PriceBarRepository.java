@@ -0,0 +1,23 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.PriceBar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PriceBarRepository extends JpaRepository<PriceBar, Long>, PriceBarBatchRepository {
+
+    /**
+     * Recent bars of one resolution for all symbols, oldest first (used to warm the in-memory store)
+     */
+    List<PriceBar> findByResolutionAndBucketStartGreaterThanEqualOrderByBucketStartAsc(String resolution, LocalDateTime from);
+
+    /**
+     * Bars of one symbol and resolution in a time range, oldest first
+     */
+    List<PriceBar> findBySymbolAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+            String symbol, String resolution, LocalDateTime from, LocalDateTime to);
+}
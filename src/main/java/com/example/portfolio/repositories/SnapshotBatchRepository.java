@@ -0,0 +1,17 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.HoldingSnapshot;
+import com.example.portfolio.models.NetWorthSnapshot;
+
+import java.util.List;
+
+/**
+ * Bulk upsert of daily snapshot rows; re-running a day's rollup overwrites that day.
+ */
+public interface SnapshotBatchRepository {
+
+    /**
+     * Write one batch of users' net worth and holding snapshots in a single transaction
+     */
+    void upsertSnapshots(List<NetWorthSnapshot> netWorth, List<HoldingSnapshot> holdings);
+}
@@ -0,0 +1,65 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.HoldingSnapshot;
+import com.example.portfolio.models.NetWorthSnapshot;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link SnapshotBatchRepository}, picked up by Spring Data
+ * as a fragment of {@link NetWorthSnapshotRepository}.
+ */
+public class SnapshotBatchRepositoryImpl implements SnapshotBatchRepository {
+
+    private static final int BATCH_SIZE = 200;
+
+    private static final String UPSERT_NET_WORTH_SQL =
+            "INSERT INTO net_worth_snapshots " +
+            "(user_id, snapshot_date, bank_total, crypto_total, exchange_total, total) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE bank_total = VALUES(bank_total), crypto_total = VALUES(crypto_total), " +
+            "exchange_total = VALUES(exchange_total), total = VALUES(total)";
+
+    private static final String UPSERT_HOLDING_SQL =
+            "INSERT INTO holding_snapshots " +
+            "(user_id, snapshot_date, holding_type, holding_id, symbol, quantity, value_usd) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE symbol = VALUES(symbol), quantity = VALUES(quantity), value_usd = VALUES(value_usd)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SnapshotBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void upsertSnapshots(List<NetWorthSnapshot> netWorth, List<HoldingSnapshot> holdings) {
+        if (!netWorth.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_NET_WORTH_SQL, netWorth, BATCH_SIZE, (ps, snapshot) -> {
+                ps.setInt(1, snapshot.getUserId());
+                ps.setDate(2, Date.valueOf(snapshot.getSnapshotDate()));
+                ps.setBigDecimal(3, snapshot.getBankTotal());
+                ps.setBigDecimal(4, snapshot.getCryptoTotal());
+                ps.setBigDecimal(5, snapshot.getExchangeTotal());
+                ps.setBigDecimal(6, snapshot.getTotal());
+            });
+        }
+
+        if (!holdings.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_HOLDING_SQL, holdings, BATCH_SIZE, (ps, snapshot) -> {
+                ps.setInt(1, snapshot.getUserId());
+                ps.setDate(2, Date.valueOf(snapshot.getSnapshotDate()));
+                ps.setString(3, snapshot.getHoldingType());
+                ps.setInt(4, snapshot.getHoldingId());
+                ps.setString(5, snapshot.getSymbol());
+                ps.setObject(6, snapshot.getQuantity(), Types.DECIMAL);
+                ps.setBigDecimal(7, snapshot.getValueUsd());
+            });
+        }
+    }
+}
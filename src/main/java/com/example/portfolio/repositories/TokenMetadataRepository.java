@@ -0,0 +1,13 @@
+package com.example.portfolio.repositories;
+
+import com.example.portfolio.models.TokenMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TokenMetadataRepository extends JpaRepository<TokenMetadata, Integer> {
+
+    Optional<TokenMetadata> findByChainAndContractAddress(String chain, String contractAddress);
+}
@@ -1,12 +1,14 @@
 package com.example.portfolio.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
 import java.util.List;
 import com.example.portfolio.models.Transaction;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -26,4 +28,12 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
     // Find transaction by Plaid transaction ID (for idempotent sync)
     java.util.Optional<Transaction> findByPlaidTransactionId(String plaidTransactionId);
 
+    // Batch lookup of already-synced transactions (one query per Plaid sync run)
+    List<Transaction> findByPlaidTransactionIdIn(Collection<String> plaidTransactionIds);
+
+    // Transactions Plaid reported as removed
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.plaidTransactionId IN :plaidTransactionIds")
+    int deleteByPlaidTransactionIds(@Param("plaidTransactionIds") Collection<String> plaidTransactionIds);
+
 }
\ No newline at end of file
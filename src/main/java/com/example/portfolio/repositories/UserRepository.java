@@ -1,9 +1,17 @@
 package com.example.portfolio.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.example.portfolio.models.User;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByEmail(String email);
+
+    // Keyset pagination over user IDs for batch jobs (no OFFSET scans)
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Integer> findIdsAfter(@Param("afterId") Integer afterId, Pageable pageable);
 }
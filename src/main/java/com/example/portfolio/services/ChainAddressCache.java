@@ -0,0 +1,177 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.models.ChainAddress;
+import com.example.portfolio.repositories.ChainAddressRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Address-keyed chain data shared by all wallets that track the same address.
+ *
+ * Balances are fetched at most once per refresh interval per address: fresh values are
+ * served from chain_addresses, and concurrent lookups of a stale address wait for a single
+ * provider call. Transaction syncs take the address lock and check the shared checkpoint,
+ * so followers of a popular address do not page through its history separately.
+ */
+@Service
+public class ChainAddressCache {
+
+    private final ChainAddressRepository chainAddressRepository;
+
+    private final Map<String, ReentrantLock> syncLocks = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<BigDecimal>> balanceLookups = new ConcurrentHashMap<>();
+
+    @Value("${crypto.address-cache.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    public ChainAddressCache(ChainAddressRepository chainAddressRepository) {
+        this.chainAddressRepository = chainAddressRepository;
+    }
+
+    /**
+     * Provider call returning one balance
+     */
+    @FunctionalInterface
+    public interface BalanceFetch {
+        BigDecimal fetch() throws Exception;
+    }
+
+    /**
+     * Provider call returning balances keyed by normalized address
+     */
+    @FunctionalInterface
+    public interface MultiBalanceFetch {
+        Map<String, BigDecimal> fetch(List<String> addresses) throws Exception;
+    }
+
+    /**
+     * Balance of an address: the shared value if refreshed within the interval, otherwise
+     * one provider call (joined by any concurrent lookups of the same address)
+     */
+    public BigDecimal getBalance(String chain, String address, BalanceFetch fetch) throws Exception {
+        ChainAddress shared = getOrCreate(chain, address);
+        if (isFresh(shared.getBalanceUpdatedAt())) {
+            return shared.getBalance();
+        }
+
+        String key = key(chain, address);
+        CompletableFuture<BigDecimal> lookup = new CompletableFuture<>();
+        CompletableFuture<BigDecimal> running = balanceLookups.putIfAbsent(key, lookup);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        try {
+            BigDecimal balance = fetch.fetch();
+            chainAddressRepository.updateBalance(shared.getId(), balance, LocalDateTime.now());
+            lookup.complete(balance);
+            return balance;
+        } catch (Exception e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            balanceLookups.remove(key, lookup);
+        }
+    }
+
+    /**
+     * Balances of several addresses on one chain, keyed by normalized address. Fresh shared
+     * values are served as-is; the rest go out in one multi-address provider call.
+     */
+    public Map<String, BigDecimal> getBalances(String chain, Collection<String> addresses,
+                                               MultiBalanceFetch fetch) throws Exception {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        List<ChainAddress> stale = new ArrayList<>();
+        for (ChainAddress shared : getOrCreateAll(chain, addresses)) {
+            if (isFresh(shared.getBalanceUpdatedAt())) {
+                balances.put(shared.getAddress(), shared.getBalance());
+            } else {
+                stale.add(shared);
+            }
+        }
+        if (stale.isEmpty()) {
+            return balances;
+        }
+
+        Map<String, BigDecimal> fetched = fetch.fetch(stale.stream().map(ChainAddress::getAddress).toList());
+        LocalDateTime now = LocalDateTime.now();
+        for (ChainAddress shared : stale) {
+            BigDecimal balance = fetched.get(shared.getAddress());
+            if (balance != null) {
+                chainAddressRepository.updateBalance(shared.getId(), balance, now);
+                balances.put(shared.getAddress(), balance);
+            }
+        }
+        return balances;
+    }
+
+    /**
+     * Lock held while an address's transactions are synced
+     */
+    public ReentrantLock syncLock(String chain, String address) {
+        return syncLocks.computeIfAbsent(key(chain, address), k -> new ReentrantLock());
+    }
+
+    /**
+     * Whether the address's transactions were synced within the refresh interval
+     */
+    public boolean isTransactionsFresh(ChainAddress shared) {
+        return isFresh(shared.getTransactionsSyncedAt());
+    }
+
+    /**
+     * Persist the address's sync checkpoints (balance columns are left alone)
+     */
+    public void saveSyncState(ChainAddress shared) {
+        chainAddressRepository.updateSyncState(shared.getId(), shared.getLastSyncedBlock(),
+                shared.getLastSyncedTokenBlock(), shared.getTransactionsSyncedAt());
+    }
+
+    public ChainAddress getOrCreate(String chain, String address) {
+        return chainAddressRepository.findByChainAndAddress(chain, address)
+                .orElseGet(() -> create(chain, address));
+    }
+
+    private List<ChainAddress> getOrCreateAll(String chain, Collection<String> addresses) {
+        List<ChainAddress> found = new ArrayList<>(chainAddressRepository.findByChainAndAddressIn(chain, addresses));
+        if (found.size() < addresses.size()) {
+            List<String> known = found.stream().map(ChainAddress::getAddress).toList();
+            addresses.stream().distinct().filter(a -> !known.contains(a)).forEach(a -> found.add(create(chain, a)));
+        }
+        return found;
+    }
+
+    private ChainAddress create(String chain, String address) {
+        try {
+            return chainAddressRepository.save(new ChainAddress(chain, address));
+        } catch (DataIntegrityViolationException e) {
+            // Another follower created it first
+            return chainAddressRepository.findByChainAndAddress(chain, address).orElseThrow(() -> e);
+        }
+    }
+
+    private boolean isFresh(LocalDateTime updatedAt) {
+        return updatedAt != null && updatedAt.isAfter(LocalDateTime.now().minusSeconds(refreshSeconds));
+    }
+
+    private static String key(String chain, String address) {
+        return chain + ":" + address;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.portfolio.services;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Lazily walks a Coinbase v2 collection endpoint one page at a time, following
+ * pagination.next_uri. A page is only requested when the caller asks for it, and only the
+ * current page is held, so memory stays bounded however long the collection is.
+ *
+ * {@link #cursor()} is the ID of the last record handed out; passing it back as
+ * starting_after resumes the walk right after that record.
+ */
+class CoinbasePageIterator<T> implements Iterator<List<T>> {
+
+    static final String API_BASE = "https://api.coinbase.com";
+
+    /**
+     * Fetches one page (absolute URL) of a collection
+     */
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        Page<T> fetch(String url);
+    }
+
+    /**
+     * One page of records and the path of the next page (null on the last page)
+     */
+    record Page<T>(List<T> items, String nextUri) {
+    }
+
+    private final PageFetcher<T> fetcher;
+    private final Function<T, String> idOf;
+    private String nextUrl;
+    private List<T> buffered;
+    private String cursor;
+
+    /**
+     * @param path          collection path, e.g. /v2/accounts
+     * @param limit         page size (Coinbase allows up to 100)
+     * @param order         asc or desc (by creation time)
+     * @param startingAfter resume after this record ID, or null to start at the beginning
+     */
+    CoinbasePageIterator(String path, int limit, String order, String startingAfter,
+                         PageFetcher<T> fetcher, Function<T, String> idOf) {
+        this.fetcher = fetcher;
+        this.idOf = idOf;
+        this.cursor = startingAfter;
+        this.nextUrl = API_BASE + path + "?limit=" + limit + "&order=" + order
+                + (startingAfter != null ? "&starting_after=" + startingAfter : "");
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffered != null) {
+            return true;
+        }
+        if (nextUrl == null) {
+            return false;
+        }
+
+        Page<T> page = fetcher.fetch(nextUrl);
+        nextUrl = page.nextUri() != null && !page.nextUri().isEmpty() ? API_BASE + page.nextUri() : null;
+        if (page.items().isEmpty()) {
+            nextUrl = null;
+            return false;
+        }
+        buffered = page.items();
+        return true;
+    }
+
+    @Override
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<T> page = buffered;
+        buffered = null;
+        cursor = idOf.apply(page.get(page.size() - 1));
+        return page;
+    }
+
+    /**
+     * ID of the last record handed out (or the starting cursor if no page was read yet)
+     */
+    String cursor() {
+        return cursor;
+    }
+}
@@ -1,26 +1,59 @@
 package com.example.portfolio.services;
 
+import com.example.portfolio.http.JsonStreamReader;
+import com.example.portfolio.http.OutboundHttpClients;
+import com.example.portfolio.models.ExchangeAccount;
 import com.example.portfolio.models.ExchangeItem;
+import com.example.portfolio.models.ExchangeTransaction;
 import com.example.portfolio.models.User;
+import com.example.portfolio.repositories.ExchangeAccountRepository;
 import com.example.portfolio.repositories.ExchangeItemRepository;
+import com.example.portfolio.repositories.ExchangeTransactionRepository;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * Service for Coinbase OAuth integration and API calls
- * Handles OAuth flow, token management, and fetching account data
+ * Handles OAuth flow and syncing account balances and transactions
+ * into the database, which the exchange read endpoints serve from.
+ * Access tokens are obtained (and refreshed) through {@link CoinbaseTokenManager}.
  */
 @Service
 public class CoinbaseService {
 
+    private static final String ACCOUNTS_PATH = "/v2/accounts";
+    private static final String TRANSACTIONS_PATH = "/v2/accounts/%s/transactions";
+    private static final Set<String> PAGINATION = Set.of("pagination");
+
+    // Transactions in any other state may still change, so the sync cursor stops before them
+    private static final Set<String> SETTLED_STATUSES = Set.of("completed", "canceled", "failed", "expired");
+
     @Value("${coinbase.client-id}")
     private String clientId;
 
@@ -30,12 +63,55 @@ public class CoinbaseService {
     @Value("${coinbase.redirect-uri}")
     private String redirectUri;
 
+    // Records per page of a collection endpoint (Coinbase maximum is 100)
+    @Value("${coinbase.page-size:100}")
+    private int pageSize;
+
+    // Per-account transaction sync timeout
+    @Value("${coinbase.fetch.timeout-ms:15000}")
+    private long fetchTimeoutMs;
+
     private final ExchangeItemRepository exchangeItemRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final ExchangeAccountRepository exchangeAccountRepository;
+    private final ExchangeTransactionRepository exchangeTransactionRepository;
+    private final NetWorthService netWorthService;
+    private final CoinbaseTokenManager tokenManager;
+    private final RestTemplate restTemplate;
+    private final ThreadPoolExecutor fetchExecutor;
     private final ObjectMapper objectMapper = new ObjectMapper();
-
-    public CoinbaseService(ExchangeItemRepository exchangeItemRepository) {
+    private final JsonStreamReader jsonStreamReader = new JsonStreamReader(objectMapper);
+
+    // Connections with a sync in progress
+    private final Set<Integer> syncing = ConcurrentHashMap.newKeySet();
+
+    public CoinbaseService(ExchangeItemRepository exchangeItemRepository,
+                           ExchangeAccountRepository exchangeAccountRepository,
+                           ExchangeTransactionRepository exchangeTransactionRepository,
+                           NetWorthService netWorthService,
+                           CoinbaseTokenManager tokenManager,
+                           OutboundHttpClients httpClients,
+                           @Value("${coinbase.fetch.pool-size:4}") int poolSize,
+                           @Value("${coinbase.fetch.queue-capacity:100}") int queueCapacity) {
         this.exchangeItemRepository = exchangeItemRepository;
+        this.exchangeAccountRepository = exchangeAccountRepository;
+        this.exchangeTransactionRepository = exchangeTransactionRepository;
+        this.netWorthService = netWorthService;
+        this.tokenManager = tokenManager;
+        this.restTemplate = httpClients.restTemplate("coinbase");
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fetchExecutor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "coinbase-fetch-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        // Saturated pool: submissions are rejected (AbortPolicy) and the account reported as busy,
+        // rather than run on the calling request or scheduler thread past the sync timeout
+        this.fetchExecutor.allowCoreThreadTimeOut(true);
     }
 
     // ---------------------------
@@ -89,163 +165,297 @@ public class CoinbaseService {
 
         // Check if user already has Coinbase connected
         Optional<ExchangeItem> existing = exchangeItemRepository.findByOwner_IdAndExchange(user.getId(), "coinbase");
+        ExchangeItem item;
         if (existing.isPresent()) {
             // Update existing connection
-            ExchangeItem item = existing.get();
+            item = existing.get();
             item.setAccessToken(accessToken);
             item.setRefreshToken(refreshToken);
             item.setTokenExpiresAt(expiresAt);
-            return exchangeItemRepository.save(item);
         } else {
             // Create new connection
-            ExchangeItem item = new ExchangeItem("coinbase", accessToken, refreshToken, expiresAt, user);
+            item = new ExchangeItem("coinbase", accessToken, refreshToken, expiresAt, user);
             item.setConnectionName("Coinbase");
-            return exchangeItemRepository.save(item);
         }
+
+        ExchangeItem saved = exchangeItemRepository.save(item);
+        tokenManager.store(saved);
+        return saved;
     }
 
+    // ---------------------------
+    // 2. Account and Transaction Sync
+    // ---------------------------
+
     /**
-     * Refresh an expired access token using refresh token
+     * Refresh a connection's accounts and store the transactions added since the last sync.
+     * Accounts are synced concurrently on the bounded Coinbase pool within fetch.timeout-ms;
+     * an account that fails, times out or finds the pool full is reported in the result without
+     * failing the others. A timed-out account sync is interrupted and stops after the page in
+     * progress, which it checkpoints for the next run.
+     * Concurrent syncs of the same connection are skipped rather than run twice; the connection
+     * counts as syncing until every account task it started has finished.
+     * Takes the connection's ID rather than the entity, so its tokens are only loaded (and
+     * decrypted) by {@link CoinbaseTokenManager} when they are not cached.
      */
-    public void refreshAccessToken(ExchangeItem item) throws Exception {
-        String url = "https://api.coinbase.com/oauth/token";
+    public SyncResult syncExchangeItem(Integer itemId, Integer userId) throws Exception {
+        if (!syncing.add(itemId)) {
+            return new SyncResult(0, 0, Map.of(), true);
+        }
+        // Held by this call and each started account task; the last one out releases the connection
+        AtomicInteger holders = new AtomicInteger(1);
+        Runnable release = () -> {
+            if (holders.decrementAndGet() == 0) {
+                syncing.remove(itemId);
+            }
+        };
+        try {
+            List<ExchangeAccount> accounts = saveAccounts(itemId, userId, fetchAccounts(itemId));
+
+            Map<String, String> failedAccounts = new LinkedHashMap<>();
+            Map<String, AccountTask> tasks = new LinkedHashMap<>();
+            for (ExchangeAccount account : accounts) {
+                holders.incrementAndGet();
+                AccountTask task = new AccountTask(() -> syncAccountTransactions(itemId, account), release);
+                try {
+                    task.future = fetchExecutor.submit(task);
+                    tasks.put(account.getExternalId(), task);
+                } catch (RejectedExecutionException e) {
+                    release.run();
+                    System.err.println("Error syncing Coinbase account " + account.getExternalId() + ": fetch pool is full");
+                    failedAccounts.put(account.getExternalId(), "busy");
+                }
+            }
 
-        Map<String, String> requestBody = new HashMap<>();
-        requestBody.put("grant_type", "refresh_token");
-        requestBody.put("refresh_token", item.getRefreshToken());
-        requestBody.put("client_id", clientId);
-        requestBody.put("client_secret", clientSecret);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchTimeoutMs);
+            int transactions = 0;
+            for (Map.Entry<String, AccountTask> entry : tasks.entrySet()) {
+                String reason;
+                try {
+                    transactions += entry.getValue().future.get(
+                            Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    continue;
+                } catch (TimeoutException e) {
+                    entry.getValue().cancel();
+                    reason = "timeout";
+                } catch (ExecutionException e) {
+                    reason = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                }
+                System.err.println("Error syncing Coinbase account " + entry.getKey() + ": " + reason);
+                failedAccounts.put(entry.getKey(), reason);
+            }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+            exchangeItemRepository.updateLastSyncedAt(itemId, LocalDateTime.now());
+            return new SyncResult(accounts.size(), transactions, failedAccounts, false);
+        } finally {
+            release.run();
+        }
+    }
 
-        HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
-        ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+    /**
+     * Fetch all crypto accounts of a connection from Coinbase
+     */
+    private List<CoinbaseAccount> fetchAccounts(Integer itemId) {
+        List<CoinbaseAccount> fetched = new ArrayList<>();
+        pages(itemId, ACCOUNTS_PATH, CoinbaseAccount.class, CoinbaseAccount::id, "asc", null)
+                .forEachRemaining(fetched::addAll);
+        return fetched;
+    }
 
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Failed to refresh access token");
+    /**
+     * Replace the stored accounts of a connection with the latest fetched balances
+     */
+    private List<ExchangeAccount> saveAccounts(Integer itemId, Integer userId, List<CoinbaseAccount> fetched) {
+        Map<String, ExchangeAccount> existing = new HashMap<>();
+        for (ExchangeAccount account : exchangeAccountRepository.findByExchangeItem_Id(itemId)) {
+            existing.put(account.getExternalId(), account);
         }
 
-        JsonNode json = objectMapper.readTree(response.getBody());
-        String accessToken = json.get("access_token").asText();
-        int expiresIn = json.get("expires_in").asInt();
+        List<ExchangeAccount> toSave = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (CoinbaseAccount account : fetched) {
+            ExchangeAccount stored = existing.remove(account.id());
+            if (stored == null) {
+                stored = new ExchangeAccount(exchangeItemRepository.getReferenceById(itemId), account.id());
+            }
+            stored.setName(account.name());
+            stored.setCurrency(account.currency());
+            stored.setAccountType(account.type());
+            stored.setBalance(new BigDecimal(account.balance().amount()));
+            stored.setBalanceUsd(account.nativeBalance() != null
+                    ? new BigDecimal(account.nativeBalance().amount()) : BigDecimal.ZERO);
+            stored.setUpdatedAt(now);
+            toSave.add(stored);
+        }
 
-        item.setAccessToken(accessToken);
-        item.setTokenExpiresAt(LocalDateTime.now().plusSeconds(expiresIn));
-        exchangeItemRepository.save(item);
+        List<ExchangeAccount> saved = exchangeAccountRepository.saveAll(toSave);
+        exchangeAccountRepository.deleteAll(existing.values()); // Closed on the exchange; transactions cascade
+        netWorthService.onExchangeAccountsChanged(userId);
+        return saved;
     }
 
     /**
-     * Ensure access token is valid, refresh if needed
+     * Store an account's transactions newer than its cursor, oldest first, one page at a time. The stored cursor only advances past settled
+     * transactions, so pending ones are fetched again (and updated) until they complete.
+     * Returns the number of transactions stored or updated.
      */
-    private void ensureValidToken(ExchangeItem item) throws Exception {
-        if (item.getTokenExpiresAt() == null || LocalDateTime.now().isAfter(item.getTokenExpiresAt().minusMinutes(5))) {
-            refreshAccessToken(item);
+    private int syncAccountTransactions(Integer itemId, ExchangeAccount account) {
+        CoinbasePageIterator<CoinbaseTransaction> pages = pages(itemId,
+                String.format(TRANSACTIONS_PATH, account.getExternalId()), CoinbaseTransaction.class,
+                CoinbaseTransaction::id, "asc", account.getTransactionsCursor());
+        String settledCursor = account.getTransactionsCursor();
+        boolean unsettledSeen = false;
+        int stored = 0;
+
+        while (pages.hasNext()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return stored; // Timed out; progress is checkpointed up to the last stored page
+            }
+            List<CoinbaseTransaction> page = pages.next();
+
+            LocalDateTime now = LocalDateTime.now();
+            List<ExchangeTransaction> rows = new ArrayList<>();
+            for (CoinbaseTransaction tx : page) {
+                rows.add(toExchangeTransaction(account, tx, now));
+                if (!SETTLED_STATUSES.contains(tx.status())) {
+                    unsettledSeen = true;
+                } else if (!unsettledSeen) {
+                    settledCursor = tx.id();
+                }
+            }
+
+            exchangeTransactionRepository.upsertAll(rows);
+            exchangeAccountRepository.updateTransactionsCursor(account.getId(), settledCursor, now); // Checkpoint per page
+            stored += rows.size();
         }
+
+        exchangeAccountRepository.updateTransactionsCursor(account.getId(), settledCursor, LocalDateTime.now());
+        return stored;
+    }
+
+    private ExchangeTransaction toExchangeTransaction(ExchangeAccount account, CoinbaseTransaction tx,
+                                                      LocalDateTime now) {
+        ExchangeTransaction row = new ExchangeTransaction(account, tx.id());
+        row.setType(tx.type());
+        row.setStatus(tx.status());
+        row.setAmount(new BigDecimal(tx.amount().amount()));
+        row.setCurrency(tx.amount().currency());
+        if (tx.nativeAmount() != null) {
+            row.setAmountUsd(new BigDecimal(tx.nativeAmount().amount()));
+        }
+        row.setDescription(tx.description());
+        row.setCreatedAt(tx.createdAt() != null
+                ? OffsetDateTime.parse(tx.createdAt()).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                : now);
+        row.setUpdatedAt(now);
+        return row;
     }
 
     // ---------------------------
-    // 2. Coinbase API Calls
+    // 3. Stored Accounts and Transactions
     // ---------------------------
 
     /**
-     * Get all crypto accounts from Coinbase
+     * ID of the user's Coinbase connection, if connected (tokens are not loaded)
      */
-    public List<Map<String, Object>> getAccounts(ExchangeItem item) throws Exception {
-        ensureValidToken(item);
-
-        String url = "https://api.coinbase.com/v2/accounts";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(item.getAccessToken());
-
-        HttpEntity<String> request = new HttpEntity<>(headers);
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, request, String.class);
-
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Failed to fetch Coinbase accounts");
-        }
-
-        JsonNode json = objectMapper.readTree(response.getBody());
-        JsonNode data = json.get("data");
+    public Optional<Integer> findConnectionId(Integer userId) {
+        return exchangeItemRepository.findIdByOwnerIdAndExchange(userId, "coinbase");
+    }
 
+    /**
+     * Get a connection's crypto accounts with balances, as of the last sync
+     */
+    public List<Map<String, Object>> getAccounts(Integer itemId) {
         List<Map<String, Object>> accounts = new ArrayList<>();
-        if (data.isArray()) {
-            for (JsonNode account : data) {
-                Map<String, Object> accountData = new HashMap<>();
-                accountData.put("id", account.get("id").asText());
-                accountData.put("name", account.get("name").asText());
-                accountData.put("currency", account.get("currency").asText());
-
-                JsonNode balance = account.get("balance");
-                accountData.put("balance", new BigDecimal(balance.get("amount").asText()));
-                accountData.put("balanceCurrency", balance.get("currency").asText());
-
-                // Get native balance (USD value)
-                if (account.has("native_balance")) {
-                    JsonNode nativeBalance = account.get("native_balance");
-                    accountData.put("balanceUsd", new BigDecimal(nativeBalance.get("amount").asText()));
-                } else {
-                    accountData.put("balanceUsd", BigDecimal.ZERO);
-                }
-
-                accountData.put("type", account.get("type").asText());
-
-                accounts.add(accountData);
-            }
+        for (ExchangeAccount account : exchangeAccountRepository.findByExchangeItem_Id(itemId)) {
+            Map<String, Object> accountData = new HashMap<>();
+            accountData.put("id", account.getExternalId());
+            accountData.put("name", account.getName());
+            accountData.put("currency", account.getCurrency());
+            accountData.put("balance", account.getBalance());
+            accountData.put("balanceCurrency", account.getCurrency());
+            accountData.put("balanceUsd", account.getBalanceUsd() != null ? account.getBalanceUsd() : BigDecimal.ZERO);
+            accountData.put("type", account.getAccountType());
+            accountData.put("updatedAt", account.getUpdatedAt().toString());
+            accounts.add(accountData);
         }
-
         return accounts;
     }
 
     /**
-     * Get transactions for a specific account
+     * Get a connection's accounts and the most recent transactions across all of them in one
+     * merged list, newest first (each transaction names its account)
      */
-    public List<Map<String, Object>> getTransactions(ExchangeItem item, String accountId) throws Exception {
-        ensureValidToken(item);
-
-        String url = String.format("https://api.coinbase.com/v2/accounts/%s/transactions", accountId);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(item.getAccessToken());
-
-        HttpEntity<String> request = new HttpEntity<>(headers);
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, request, String.class);
-
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Failed to fetch transactions");
+    public Map<String, Object> getPortfolio(Integer itemId, int limit) {
+        List<Map<String, Object>> transactions = new ArrayList<>();
+        for (ExchangeTransaction tx : exchangeTransactionRepository.findRecentByExchangeItemId(itemId,
+                PageRequest.of(0, limit))) {
+            Map<String, Object> txData = toTransactionData(tx);
+            txData.put("accountId", tx.getExchangeAccount().getExternalId());
+            txData.put("accountName", tx.getExchangeAccount().getName());
+            transactions.add(txData);
         }
 
-        JsonNode json = objectMapper.readTree(response.getBody());
-        JsonNode data = json.get("data");
+        Map<String, Object> portfolio = new HashMap<>();
+        portfolio.put("accounts", getAccounts(itemId));
+        portfolio.put("transactions", transactions);
+        exchangeItemRepository.findById(itemId)
+                .map(ExchangeItem::getLastSyncedAt)
+                .ifPresent(syncedAt -> portfolio.put("lastSyncedAt", syncedAt.toString()));
+        return portfolio;
+    }
 
-        List<Map<String, Object>> transactions = new ArrayList<>();
-        if (data.isArray()) {
-            for (JsonNode tx : data) {
-                Map<String, Object> txData = new HashMap<>();
-                txData.put("id", tx.get("id").asText());
-                txData.put("type", tx.get("type").asText());
-                txData.put("status", tx.get("status").asText());
-
-                JsonNode amount = tx.get("amount");
-                txData.put("amount", new BigDecimal(amount.get("amount").asText()));
-                txData.put("currency", amount.get("currency").asText());
-
-                if (tx.has("native_amount")) {
-                    JsonNode nativeAmount = tx.get("native_amount");
-                    txData.put("amountUsd", new BigDecimal(nativeAmount.get("amount").asText()));
-                }
+    /**
+     * Get the stored transactions of an account (by its Coinbase account ID), newest first
+     */
+    public List<Map<String, Object>> getTransactions(Integer itemId, String accountId) {
+        ExchangeAccount account = exchangeAccountRepository.findByExchangeItem_IdAndExternalId(itemId, accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
 
-                txData.put("createdAt", tx.get("created_at").asText());
-                if (tx.has("description")) {
-                    txData.put("description", tx.get("description").asText());
-                }
+        List<Map<String, Object>> transactions = new ArrayList<>();
+        for (ExchangeTransaction tx : exchangeTransactionRepository
+                .findByExchangeAccount_IdOrderByCreatedAtDescIdDesc(account.getId())) {
+            transactions.add(toTransactionData(tx));
+        }
+        return transactions;
+    }
 
-                transactions.add(txData);
-            }
+    private Map<String, Object> toTransactionData(ExchangeTransaction tx) {
+        Map<String, Object> txData = new HashMap<>();
+        txData.put("id", tx.getExternalId());
+        txData.put("type", tx.getType());
+        txData.put("status", tx.getStatus());
+        txData.put("amount", tx.getAmount());
+        txData.put("currency", tx.getCurrency());
+        if (tx.getAmountUsd() != null) {
+            txData.put("amountUsd", tx.getAmountUsd());
+        }
+        txData.put("createdAt", tx.getCreatedAt().toString());
+        if (tx.getDescription() != null) {
+            txData.put("description", tx.getDescription());
         }
+        return txData;
+    }
 
-        return transactions;
+    /**
+     * Walk a Coinbase v2 collection lazily, page by page, optionally resuming after a record ID
+     */
+    private <T> CoinbasePageIterator<T> pages(Integer itemId, String path, Class<T> type,
+                                              Function<T, String> idOf, String order, String startingAfter) {
+        return new CoinbasePageIterator<>(path, pageSize, order, startingAfter,
+                url -> fetchPage(url, itemId, type), idOf);
+    }
+
+    /**
+     * GET one page of a Coinbase v2 collection, streaming its "data" array one record at a time
+     * rather than buffering the body as a String and a JsonNode tree.
+     */
+    private <T> CoinbasePageIterator.Page<T> fetchPage(String url, Integer itemId, Class<T> type) {
+        List<T> items = new ArrayList<>();
+        Map<String, String> scalars = restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().setBearerAuth(tokenManager.accessToken(itemId)),
+                response -> jsonStreamReader.readArray(response.getBody(), "data", type, items::add, PAGINATION));
+        return new CoinbasePageIterator.Page<>(items, scalars != null ? scalars.get("pagination.next_uri") : null);
     }
 
     /**
@@ -254,7 +464,9 @@ public class CoinbaseService {
     public void disconnectExchange(Integer itemId, Integer userId) {
         Optional<ExchangeItem> item = exchangeItemRepository.findById(itemId);
         if (item.isPresent() && item.get().getOwner().getId().equals(userId)) {
-            exchangeItemRepository.delete(item.get());
+            exchangeItemRepository.delete(item.get()); // Stored exchange accounts cascade in the database
+            tokenManager.evict(itemId);
+            netWorthService.onExchangeAccountsChanged(userId);
         } else {
             throw new IllegalArgumentException("Exchange connection not found or unauthorized");
         }
@@ -266,4 +478,71 @@ public class CoinbaseService {
     public List<ExchangeItem> getExchangeItems(User user) {
         return exchangeItemRepository.findByOwner(user);
     }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    /**
+     * One account sync on the fetch pool, releasing its hold on the connection's sync guard when
+     * it finishes, or when it is cancelled before it started (a cancelled FutureTask never runs)
+     */
+    private static final class AccountTask implements Callable<Integer> {
+
+        private final Callable<Integer> sync;
+        private final Runnable release;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private Future<Integer> future;
+
+        AccountTask(Callable<Integer> sync, Runnable release) {
+            this.sync = sync;
+            this.release = release;
+        }
+
+        @Override
+        public Integer call() throws Exception {
+            if (!claimed.compareAndSet(false, true)) {
+                return 0; // Cancelled before it started; the canceller released it
+            }
+            try {
+                return sync.call();
+            } finally {
+                release.run();
+            }
+        }
+
+        void cancel() {
+            future.cancel(true);
+            if (claimed.compareAndSet(false, true)) {
+                release.run();
+            }
+        }
+    }
+
+    // ---------------------------
+    // 4. Coinbase v2 response records
+    // ---------------------------
+
+    /**
+     * Outcome of a connection sync: failed accounts map account ID to the reason; skipped when
+     * another sync of the connection was running
+     */
+    public record SyncResult(int accounts, int transactions, Map<String, String> failedAccounts, boolean skipped) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Money(String amount, String currency) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CoinbaseAccount(String id, String name, String currency, String type, Money balance,
+                           @JsonProperty("native_balance") Money nativeBalance) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CoinbaseTransaction(String id, String type, String status, Money amount,
+                               @JsonProperty("native_amount") Money nativeAmount,
+                               @JsonProperty("created_at") String createdAt, String description) {
+    }
 }
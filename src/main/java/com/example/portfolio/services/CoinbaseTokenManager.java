@@ -0,0 +1,255 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.http.OutboundHttpClients;
+import com.example.portfolio.models.ExchangeItem;
+import com.example.portfolio.repositories.ExchangeItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hands out valid Coinbase access tokens per exchange connection.
+ *
+ * Callers pass only the connection's ID. Decrypted access tokens stay in memory until the
+ * connection has not been used for coinbase.token.cache-seconds, and the connection is only
+ * read (and its encrypted token columns decrypted) when its token is not cached.
+ * Each connection is refreshed at most once at a time: concurrent callers that find the
+ * token expiring wait on the refresh already in flight instead of starting their own.
+ * Tokens of recently used connections are refreshed in the background ahead of expiry,
+ * and the rotated refresh token Coinbase returns is saved with the new access token.
+ */
+@Service
+public class CoinbaseTokenManager {
+
+    private static final String TOKEN_URL = "https://api.coinbase.com/oauth/token";
+
+    private final ExchangeItemRepository exchangeItemRepository;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Integer, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<CachedToken>> refreshing = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "coinbase-token-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${coinbase.client-id}")
+    private String clientId;
+
+    @Value("${coinbase.client-secret}")
+    private String clientSecret;
+
+    // Cached tokens not used for this long are dropped
+    @Value("${coinbase.token.cache-seconds:600}")
+    private long cacheSeconds;
+
+    // Callers refresh in line when the token expires within this window
+    @Value("${coinbase.token.refresh-ahead-seconds:300}")
+    private long refreshAheadSeconds;
+
+    // The background check refreshes cached tokens expiring within this (wider) window
+    @Value("${coinbase.token.proactive-refresh-seconds:900}")
+    private long proactiveRefreshSeconds;
+
+    public CoinbaseTokenManager(ExchangeItemRepository exchangeItemRepository, OutboundHttpClients httpClients) {
+        this.exchangeItemRepository = exchangeItemRepository;
+        this.restTemplate = httpClients.restTemplate("coinbase");
+    }
+
+    /**
+     * A valid access token for the connection, loading it on a cache miss and refreshing it
+     * first if it is about to expire
+     */
+    public String accessToken(Integer itemId) {
+        Instant now = Instant.now();
+        CachedToken cached = tokens.get(itemId);
+        if (cached == null) {
+            ExchangeItem item = exchangeItemRepository.findById(itemId)
+                    .orElseThrow(() -> new IllegalStateException("Exchange connection " + itemId + " no longer exists"));
+            cached = CachedToken.of(item, now);
+            tokens.put(itemId, cached);
+        } else {
+            cached.markUsed(now);
+        }
+
+        if (cached.expiresWithin(now, Duration.ofSeconds(refreshAheadSeconds))) {
+            try {
+                cached = refresh(itemId, Duration.ofSeconds(refreshAheadSeconds)).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        return cached.accessToken();
+    }
+
+    /**
+     * Cache the tokens of a freshly authorized (or re-authorized) connection
+     */
+    public void store(ExchangeItem item) {
+        tokens.put(item.getId(), CachedToken.of(item, Instant.now()));
+    }
+
+    /**
+     * Drop the cached token of a disconnected connection
+     */
+    public void evict(Integer itemId) {
+        tokens.remove(itemId);
+    }
+
+    /**
+     * Refresh the connection's token unless a refresh is already in flight, in which case
+     * the caller gets that refresh's result.
+     */
+    private CompletableFuture<CachedToken> refresh(Integer itemId, Duration window) {
+        CompletableFuture<CachedToken> created = new CompletableFuture<>();
+        CompletableFuture<CachedToken> inFlight = refreshing.putIfAbsent(itemId, created);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        try {
+            created.complete(refreshFromStore(itemId, window));
+        } catch (Exception e) {
+            created.completeExceptionally(e);
+        } finally {
+            refreshing.remove(itemId, created);
+        }
+        return created;
+    }
+
+    /**
+     * Reload the connection (the refresh token may have been rotated since its token was cached)
+     * and exchange its refresh token, unless the stored token is already fresh enough.
+     */
+    private CachedToken refreshFromStore(Integer itemId, Duration window) throws Exception {
+        ExchangeItem item = exchangeItemRepository.findById(itemId)
+                .orElseThrow(() -> new IllegalStateException("Exchange connection " + itemId + " no longer exists"));
+
+        Instant now = Instant.now();
+        CachedToken previous = tokens.get(itemId);
+        Instant usedAt = previous != null ? previous.usedAt() : now; // A background refresh is not a use
+        CachedToken stored = CachedToken.of(item, usedAt);
+        if (!stored.expiresWithin(now, window)) {
+            tokens.put(itemId, stored); // Refreshed by a reconnect since it was cached
+            return stored;
+        }
+
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("grant_type", "refresh_token");
+        requestBody.put("refresh_token", item.getRefreshToken());
+        requestBody.put("client_id", clientId);
+        requestBody.put("client_secret", clientSecret);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
+        ResponseEntity<String> response = restTemplate.postForEntity(TOKEN_URL, request, String.class);
+
+        if (response.getStatusCode() != HttpStatus.OK) {
+            throw new RuntimeException("Failed to refresh access token");
+        }
+
+        JsonNode json = objectMapper.readTree(response.getBody());
+        item.setAccessToken(json.get("access_token").asText());
+        if (json.hasNonNull("refresh_token")) {
+            item.setRefreshToken(json.get("refresh_token").asText()); // Coinbase rotates refresh tokens
+        }
+        item.setTokenExpiresAt(LocalDateTime.now().plusSeconds(json.get("expires_in").asInt()));
+        exchangeItemRepository.save(item);
+
+        CachedToken refreshed = CachedToken.of(item, usedAt);
+        tokens.put(itemId, refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Refresh tokens of connections used within the cache lifetime that will expire soon, and
+     * drop cached tokens that were not used within it
+     */
+    @Scheduled(fixedDelayString = "${coinbase.token.refresh-check-ms:60000}")
+    public void refreshExpiringTokens() {
+        Instant now = Instant.now();
+        Duration cacheAge = Duration.ofSeconds(cacheSeconds);
+        Duration window = Duration.ofSeconds(proactiveRefreshSeconds);
+
+        tokens.forEach((itemId, cached) -> {
+            if (cached.isUnusedFor(now, cacheAge)) {
+                tokens.remove(itemId, cached);
+            } else if (cached.expiresWithin(now, window) && !refreshing.containsKey(itemId)) {
+                refreshExecutor.execute(() -> refresh(itemId, window).exceptionally(e -> {
+                    System.err.println("Background token refresh failed for exchange connection "
+                            + itemId + ": " + e.getMessage());
+                    return null;
+                }));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Decrypted token of one connection and when it was last handed out
+     */
+    private static final class CachedToken {
+
+        private final String accessToken;
+        private final Instant expiresAt;
+        private volatile Instant usedAt;
+
+        private CachedToken(String accessToken, Instant expiresAt, Instant usedAt) {
+            this.accessToken = accessToken;
+            this.expiresAt = expiresAt;
+            this.usedAt = usedAt;
+        }
+
+        static CachedToken of(ExchangeItem item, Instant usedAt) {
+            Instant expiresAt = item.getTokenExpiresAt() != null
+                    ? item.getTokenExpiresAt().atZone(ZoneId.systemDefault()).toInstant()
+                    : Instant.EPOCH; // Unknown expiry: refresh before use
+            return new CachedToken(item.getAccessToken(), expiresAt, usedAt);
+        }
+
+        String accessToken() {
+            return accessToken;
+        }
+
+        Instant usedAt() {
+            return usedAt;
+        }
+
+        void markUsed(Instant now) {
+            usedAt = now;
+        }
+
+        boolean expiresWithin(Instant now, Duration window) {
+            return !now.plus(window).isBefore(expiresAt);
+        }
+
+        boolean isUnusedFor(Instant now, Duration age) {
+            return usedAt.plus(age).isBefore(now);
+        }
+    }
+}
@@ -1,54 +1,67 @@
 package com.example.portfolio.services;
 
+import com.example.portfolio.models.ChainAddress;
 import com.example.portfolio.models.CryptoTransaction;
 import com.example.portfolio.models.CryptoWallet;
 import com.example.portfolio.models.User;
 import com.example.portfolio.repositories.CryptoTransactionRepository;
 import com.example.portfolio.repositories.CryptoWalletRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.beans.factory.annotation.Value;
+import com.example.portfolio.services.blockchain.BlockchainProvider;
+import com.example.portfolio.services.blockchain.BlockchainProviderRegistry;
+import com.example.portfolio.services.blockchain.TokenMetadataCache;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
 
 /**
  * Service for cryptocurrency wallet tracking via blockchain APIs.
- * Supports Ethereum, Bitcoin, and other blockchains.
- * Uses public APIs (Etherscan, Blockchain.com, CoinGecko) for read-only data.
+ * Chain-specific calls go through the BlockchainProvider registered for each chain
+ * (Etherscan-compatible EVM chains, Blockchain.com for Bitcoin); prices come from CoinGecko.
  */
 @Service
 public class CryptoService {
 
     private final CryptoWalletRepository cryptoWalletRepository;
     private final CryptoTransactionRepository cryptoTransactionRepository;
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final TokenPriceCache tokenPriceCache;
+    private final BlockchainProviderRegistry providerRegistry;
+    private final ChainAddressCache chainAddressCache;
+    private final TokenMetadataCache tokenMetadataCache;
 
-    @Value("${crypto.etherscan.api-key:}")
-    private String etherscanApiKey;
+    // Rows a sync stored for the other wallets following the same address, per wallet ID,
+    // until that wallet's own sync reports them
+    private final Map<Integer, List<CryptoTransaction>> insertedByFollowerSyncs = new ConcurrentHashMap<>();
 
-    @Value("${crypto.coingecko.api-key:}")
-    private String coingeckoApiKey;
-
-    // Regex patterns for address validation
-    private static final Pattern ETHEREUM_ADDRESS_PATTERN = Pattern.compile("^0x[a-fA-F0-9]{40}$");
-    private static final Pattern BITCOIN_ADDRESS_PATTERN = Pattern.compile("^(1|3|bc1)[a-zA-Z0-9]{25,62}$");
+    // Etherscan-style paging limits (page * offset may not exceed 10,000)
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    private static final int MAX_PAGES_PER_SYNC = 50;
 
     public CryptoService(CryptoWalletRepository cryptoWalletRepository,
-                        CryptoTransactionRepository cryptoTransactionRepository) {
+                        CryptoTransactionRepository cryptoTransactionRepository,
+                        TokenPriceCache tokenPriceCache,
+                        BlockchainProviderRegistry providerRegistry,
+                        ChainAddressCache chainAddressCache,
+                        TokenMetadataCache tokenMetadataCache) {
         this.cryptoWalletRepository = cryptoWalletRepository;
         this.cryptoTransactionRepository = cryptoTransactionRepository;
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+        this.tokenPriceCache = tokenPriceCache;
+        this.providerRegistry = providerRegistry;
+        this.chainAddressCache = chainAddressCache;
+        this.tokenMetadataCache = tokenMetadataCache;
     }
 
     // ---------------------------
@@ -94,6 +107,7 @@ public class CryptoService {
         }
 
         cryptoWalletRepository.delete(wallet);
+        insertedByFollowerSyncs.remove(walletId);
     }
 
     // ---------------------------
@@ -101,24 +115,14 @@ public class CryptoService {
     // ---------------------------
 
     public boolean isValidAddress(String address, String blockchain) {
-        if (address == null || address.isEmpty()) {
+        if (address == null || address.isEmpty() || blockchain == null) {
             return false;
         }
 
-        return switch (blockchain.toLowerCase()) {
-            case "ethereum", "polygon", "arbitrum", "optimism" -> isValidEthereumAddress(address);
-            case "bitcoin" -> isValidBitcoinAddress(address);
-            case "solana" -> isValidSolanaAddress(address);
-            default -> false;
-        };
-    }
-
-    private boolean isValidEthereumAddress(String address) {
-        return ETHEREUM_ADDRESS_PATTERN.matcher(address).matches();
-    }
-
-    private boolean isValidBitcoinAddress(String address) {
-        return BITCOIN_ADDRESS_PATTERN.matcher(address).matches();
+        // Solana wallets can be tracked (validated) before a provider exists for them
+        return providerRegistry.find(blockchain)
+                .map(provider -> provider.isValidAddress(address))
+                .orElseGet(() -> blockchain.equalsIgnoreCase("solana") && isValidSolanaAddress(address));
     }
 
     private boolean isValidSolanaAddress(String address) {
@@ -126,112 +130,76 @@ public class CryptoService {
         return address.matches("^[1-9A-HJ-NP-Za-km-z]{32,44}$");
     }
 
+    /**
+     * Native token symbol for a blockchain (used for price lookups)
+     */
+    public String getNativeSymbol(String blockchain) {
+        return providerRegistry.find(blockchain)
+                .map(BlockchainProvider::nativeSymbol)
+                .orElse(blockchain.equalsIgnoreCase("solana") ? "SOL" : "ETH");
+    }
+
     // ---------------------------
     // 3. Balance Fetching
     // ---------------------------
 
     /**
-     * Get balance for a wallet from blockchain
+     * Get balance for a wallet from blockchain (zero if the lookup fails)
      */
     public BigDecimal getWalletBalance(CryptoWallet wallet) {
-        return switch (wallet.getBlockchain().toLowerCase()) {
-            case "ethereum" -> getEthereumBalance(wallet.getWalletAddress());
-            case "bitcoin" -> getBitcoinBalance(wallet.getWalletAddress());
-            case "polygon" -> getPolygonBalance(wallet.getWalletAddress());
-            default -> BigDecimal.ZERO;
-        };
-    }
-
-    /**
-     * Get Ethereum balance from Etherscan API
-     */
-    public BigDecimal getEthereumBalance(String address) {
         try {
-            String url = String.format(
-                "https://api.etherscan.io/api?module=account&action=balance&address=%s&tag=latest&apikey=%s",
-                address,
-                etherscanApiKey
-            );
-
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode json = objectMapper.readTree(response);
-
-            if (json.get("status").asText().equals("1")) {
-                // Balance is in Wei (1 ETH = 10^18 Wei)
-                String balanceWei = json.get("result").asText();
-                BigDecimal balance = new BigDecimal(balanceWei);
-                return balance.divide(new BigDecimal("1000000000000000000"), 18, RoundingMode.HALF_UP);
-            }
-
-            return BigDecimal.ZERO;
+            return fetchWalletBalance(wallet);
         } catch (Exception e) {
-            System.err.println("Error fetching Ethereum balance: " + e.getMessage());
+            System.err.println("Error fetching " + wallet.getBlockchain() + " balance: " + e.getMessage());
             return BigDecimal.ZERO;
         }
     }
 
     /**
-     * Get Bitcoin balance from Blockchain.com API
+     * Get balance for a wallet, propagating provider errors. Served from the shared
+     * address cache when any follower of the address refreshed it recently.
      */
-    public BigDecimal getBitcoinBalance(String address) {
-        try {
-            // Try primary API endpoint
-            String url = String.format("https://blockchain.info/q/addressbalance/%s", address);
-            String response = restTemplate.getForObject(url, String.class);
-
-            // Response is just the balance in Satoshis as plain text
-            long balanceSatoshis = Long.parseLong(response.trim());
-            BigDecimal balance = new BigDecimal(balanceSatoshis);
-            return balance.divide(new BigDecimal("100000000"), 8, RoundingMode.HALF_UP);
-
-        } catch (Exception e) {
-            System.err.println("Error fetching Bitcoin balance (primary): " + e.getMessage());
-
-            // Fallback to alternative API
-            try {
-                String fallbackUrl = String.format("https://blockchain.info/balance?active=%s", address);
-                String response = restTemplate.getForObject(fallbackUrl, String.class);
-                JsonNode json = objectMapper.readTree(response);
-
-                if (json.has(address)) {
-                    long balanceSatoshis = json.get(address).get("final_balance").asLong();
-                    BigDecimal balance = new BigDecimal(balanceSatoshis);
-                    return balance.divide(new BigDecimal("100000000"), 8, RoundingMode.HALF_UP);
-                }
-            } catch (Exception fallbackError) {
-                System.err.println("Error fetching Bitcoin balance (fallback): " + fallbackError.getMessage());
-            }
-
+    public BigDecimal fetchWalletBalance(CryptoWallet wallet) throws Exception {
+        Optional<BlockchainProvider> provider = providerRegistry.find(wallet.getBlockchain());
+        if (provider.isEmpty()) {
             return BigDecimal.ZERO;
         }
+        String address = provider.get().normalizeAddress(wallet.getWalletAddress());
+        return chainAddressCache.getBalance(provider.get().chain(), address,
+                () -> provider.get().getBalance(address));
     }
 
     /**
-     * Get Polygon balance (uses Polygonscan API - same format as Etherscan)
+     * Balances for many wallets with as few provider calls as possible: wallets are grouped
+     * by chain, addresses refreshed recently by any follower come from the shared cache, and
+     * the rest are sent as multi-address lookups. Keyed by wallet ID; wallets
+     * whose chain lookup failed (or has no provider) are missing from the result.
      */
-    public BigDecimal getPolygonBalance(String address) {
-        try {
-            // Note: You'll need a Polygonscan API key for this
-            String url = String.format(
-                "https://api.polygonscan.com/api?module=account&action=balance&address=%s&tag=latest&apikey=%s",
-                address,
-                etherscanApiKey // Can reuse or use separate key
-            );
-
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode json = objectMapper.readTree(response);
-
-            if (json.get("status").asText().equals("1")) {
-                String balanceWei = json.get("result").asText();
-                BigDecimal balance = new BigDecimal(balanceWei);
-                return balance.divide(new BigDecimal("1000000000000000000"), 18, RoundingMode.HALF_UP);
+    public Map<Integer, BigDecimal> fetchWalletBalances(Collection<CryptoWallet> wallets) {
+        Map<String, List<CryptoWallet>> byChain = wallets.stream()
+                .collect(Collectors.groupingBy(w -> w.getBlockchain().toLowerCase()));
+
+        Map<Integer, BigDecimal> balances = new HashMap<>();
+        byChain.forEach((chain, chainWallets) -> {
+            Optional<BlockchainProvider> provider = providerRegistry.find(chain);
+            if (provider.isEmpty()) {
+                return;
             }
-
-            return BigDecimal.ZERO;
-        } catch (Exception e) {
-            System.err.println("Error fetching Polygon balance: " + e.getMessage());
-            return BigDecimal.ZERO;
-        }
+            try {
+                Map<String, BigDecimal> byAddress = chainAddressCache.getBalances(provider.get().chain(),
+                        chainWallets.stream().map(w -> provider.get().normalizeAddress(w.getWalletAddress())).toList(),
+                        addresses -> provider.get().getBalances(addresses));
+                for (CryptoWallet wallet : chainWallets) {
+                    BigDecimal balance = byAddress.get(provider.get().normalizeAddress(wallet.getWalletAddress()));
+                    if (balance != null) {
+                        balances.put(wallet.getId(), balance);
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("Error fetching " + chain + " balances: " + e.getMessage());
+            }
+        });
+        return balances;
     }
 
     // ---------------------------
@@ -239,205 +207,219 @@ public class CryptoService {
     // ---------------------------
 
     /**
-     * Sync transactions for a wallet from blockchain
+     * Sync transactions for a wallet from blockchain.
+     * Syncing is per address: all wallets tracking the same address share one checkpoint in
+     * the address cache, each fetched page is stored for every one of them, and an address
+     * synced within the refresh interval is not fetched again. A wallet added for an address
+     * that is already synced gets its history copied from another follower.
+     * Checkpoint-capable chains start at the last synced block and page forward in ascending
+     * block order until they catch up, advancing the checkpoint after every page.
+     * Chains with token transfers (ERC-20) sync those the same way with their own checkpoint.
+     * If the address is already being synced for another follower, this call returns at once
+     * instead of waiting; that sync stores the rows for this wallet as well.
+     * Returns the new rows stored for this wallet, including rows stored by other followers'
+     * syncs since this wallet's last one.
      */
     public List<CryptoTransaction> syncTransactions(CryptoWallet wallet) {
-        return switch (wallet.getBlockchain().toLowerCase()) {
-            case "ethereum" -> syncEthereumTransactions(wallet);
-            case "bitcoin" -> syncBitcoinTransactions(wallet);
-            case "polygon" -> syncPolygonTransactions(wallet);
-            default -> new ArrayList<>();
-        };
-    }
+        Optional<BlockchainProvider> provider = providerRegistry.find(wallet.getBlockchain());
+        if (provider.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-    /**
-     * Sync Ethereum transactions from Etherscan API
-     */
-    public List<CryptoTransaction> syncEthereumTransactions(CryptoWallet wallet) {
+        String chain = provider.get().chain();
+        String address = provider.get().normalizeAddress(wallet.getWalletAddress());
         List<CryptoTransaction> synced = new ArrayList<>();
 
+        ReentrantLock lock = chainAddressCache.syncLock(chain, address);
+        if (!lock.tryLock()) {
+            // Another follower is syncing the address and stores its rows for this wallet
+            // too; they are reported by this wallet's next sync
+            return synced;
+        }
         try {
-            String url = String.format(
-                "https://api.etherscan.io/api?module=account&action=txlist&address=%s&startblock=0&endblock=99999999&page=1&offset=100&sort=desc&apikey=%s",
-                wallet.getWalletAddress(),
-                etherscanApiKey
-            );
-
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode json = objectMapper.readTree(response);
+            // Rows other followers' syncs stored for this wallet since its last sync
+            List<CryptoTransaction> storedByOthers = insertedByFollowerSyncs.remove(wallet.getId());
+            if (storedByOthers != null) {
+                synced.addAll(storedByOthers);
+            }
 
-            if (json.get("status").asText().equals("1")) {
-                JsonNode transactions = json.get("result");
+            try {
+                ChainAddress shared = chainAddressCache.getOrCreate(chain, address);
+                List<CryptoWallet> followers = followersOf(provider.get(), wallet, address);
 
-                for (JsonNode tx : transactions) {
-                    String txHash = tx.get("hash").asText();
+                if (wallet.getLastSyncedBlock() == null && shared.getLastSyncedBlock() != null) {
+                    backfillFromFollower(wallet, followers, shared);
+                }
+                if (chainAddressCache.isTransactionsFresh(shared)) {
+                    return synced; // Another follower synced this address moments ago
+                }
 
-                    // Check if transaction already exists (idempotent sync)
-                    if (cryptoTransactionRepository.existsByTxHash(txHash)) {
-                        continue; // Skip duplicates
+                if (!provider.get().supportsBlockCheckpoint()) {
+                    // Latest page only
+                    synced.addAll(ingestForFollowers(wallet, followers, provider.get().fetchTransactionPage(wallet, 0L, 1)));
+                } else {
+                    synced.addAll(syncFromCheckpoint(wallet, followers, provider.get().pageSize(),
+                            provider.get()::fetchTransactionPage,
+                            shared.getLastSyncedBlock(), shared::setLastSyncedBlock, shared));
+
+                    if (provider.get().supportsTokenTransfers()) {
+                        synced.addAll(syncFromCheckpoint(wallet, followers, provider.get().pageSize(),
+                                provider.get()::fetchTokenTransferPage,
+                                shared.getLastSyncedTokenBlock(), shared::setLastSyncedTokenBlock, shared));
                     }
-
-                    // Parse transaction data
-                    long timestamp = tx.get("timeStamp").asLong();
-                    LocalDateTime date = LocalDateTime.ofInstant(
-                        Instant.ofEpochSecond(timestamp),
-                        ZoneId.systemDefault()
-                    );
-
-                    String fromAddress = tx.get("from").asText();
-                    String toAddress = tx.get("to").asText();
-
-                    // Convert Wei to ETH
-                    BigDecimal valueWei = new BigDecimal(tx.get("value").asText());
-                    BigDecimal amount = valueWei.divide(new BigDecimal("1000000000000000000"), 18, RoundingMode.HALF_UP);
-
-                    // Determine transaction type
-                    String type = fromAddress.equalsIgnoreCase(wallet.getWalletAddress()) ? "send" : "receive";
-
-                    // Gas fee
-                    BigDecimal gasUsed = new BigDecimal(tx.get("gasUsed").asText());
-                    BigDecimal gasPrice = new BigDecimal(tx.get("gasPrice").asText());
-                    BigDecimal gasFeeWei = gasUsed.multiply(gasPrice);
-                    BigDecimal gasFee = gasFeeWei.divide(new BigDecimal("1000000000000000000"), 18, RoundingMode.HALF_UP);
-
-                    // Create transaction
-                    CryptoTransaction cryptoTx = new CryptoTransaction(
-                        txHash, wallet, date, fromAddress, toAddress, amount, "ETH", type
-                    );
-                    cryptoTx.setGasFee(gasFee);
-                    cryptoTx.setBlockNumber(tx.get("blockNumber").asLong());
-                    cryptoTx.setConfirmations(tx.has("confirmations") ? tx.get("confirmations").asInt() : null);
-
-                    synced.add(cryptoTransactionRepository.save(cryptoTx));
                 }
+
+                shared.setTransactionsSyncedAt(LocalDateTime.now());
+                chainAddressCache.saveSyncState(shared);
+                markSynced(wallet, shared);
+                return synced;
+            } catch (Exception e) {
+                System.err.println("Error syncing " + wallet.getBlockchain() + " transactions: " + e.getMessage());
+                e.printStackTrace();
+                return synced;
             }
-        } catch (Exception e) {
-            System.err.println("Error syncing Ethereum transactions: " + e.getMessage());
-            e.printStackTrace();
+        } finally {
+            lock.unlock();
         }
-
-        return synced;
     }
 
     /**
-     * Sync Bitcoin transactions from Blockchain.com API
+     * Wallets of any user tracking the same address, with the syncing wallet's own instance first
      */
-    public List<CryptoTransaction> syncBitcoinTransactions(CryptoWallet wallet) {
-        List<CryptoTransaction> synced = new ArrayList<>();
-
-        try {
-            String url = String.format("https://blockchain.info/rawaddr/%s?limit=50", wallet.getWalletAddress());
-
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode json = objectMapper.readTree(response);
-
-            if (json.has("txs")) {
-                JsonNode transactions = json.get("txs");
-
-                for (JsonNode tx : transactions) {
-                    String txHash = tx.get("hash").asText();
+    private List<CryptoWallet> followersOf(BlockchainProvider provider, CryptoWallet wallet, String address) {
+        List<CryptoWallet> followers = new ArrayList<>();
+        followers.add(wallet);
+        for (CryptoWallet other : cryptoWalletRepository.findByBlockchainIgnoreCaseAndWalletAddressIgnoreCase(
+                wallet.getBlockchain(), wallet.getWalletAddress())) {
+            if (!other.getId().equals(wallet.getId()) && provider.normalizeAddress(other.getWalletAddress()).equals(address)) {
+                followers.add(other);
+            }
+        }
+        return followers;
+    }
 
-                    // Check if transaction already exists
-                    if (cryptoTransactionRepository.existsByTxHash(txHash)) {
-                        continue;
-                    }
+    /**
+     * Give a never-synced wallet the history another follower already has. If no follower
+     * has it (they were all removed), the address is re-synced from the start instead.
+     */
+    private void backfillFromFollower(CryptoWallet wallet, List<CryptoWallet> followers, ChainAddress shared) {
+        Optional<CryptoWallet> source = followers.stream()
+                .filter(other -> !other.getId().equals(wallet.getId()) && other.getLastSyncedBlock() != null)
+                .findFirst();
+        if (source.isPresent()) {
+            cryptoTransactionRepository.copyWalletTransactions(source.get().getId(), wallet.getId());
+            markSynced(wallet, shared);
+        } else {
+            shared.setLastSyncedBlock(null);
+            shared.setLastSyncedTokenBlock(null);
+            shared.setTransactionsSyncedAt(null);
+        }
+    }
 
-                    // Parse transaction data
-                    long timestamp = tx.get("time").asLong();
-                    LocalDateTime date = LocalDateTime.ofInstant(
-                        Instant.ofEpochSecond(timestamp),
-                        ZoneId.systemDefault()
-                    );
+    private void markSynced(CryptoWallet wallet, ChainAddress shared) {
+        // The wallet's own checkpoints now only record that its history is complete
+        wallet.setLastSyncedBlock(shared.getLastSyncedBlock() != null ? shared.getLastSyncedBlock() : 0L);
+        wallet.setLastSyncedTokenBlock(shared.getLastSyncedTokenBlock());
+        cryptoWalletRepository.save(wallet);
+    }
 
-                    // Calculate amount and determine type
-                    JsonNode inputs = tx.get("inputs");
-                    JsonNode outputs = tx.get("out");
+    private List<CryptoTransaction> syncFromCheckpoint(CryptoWallet wallet, List<CryptoWallet> followers,
+                                                       int pageSize, PageFetcher fetcher, Long checkpoint,
+                                                       LongConsumer setCheckpoint, ChainAddress shared) throws Exception {
+        List<CryptoTransaction> synced = new ArrayList<>();
 
-                    String fromAddress = inputs.size() > 0 ? inputs.get(0).get("prev_out").get("addr").asText() : "unknown";
-                    String toAddress = outputs.size() > 0 ? outputs.get(0).get("addr").asText() : "unknown";
+        // Resume from the checkpoint block itself (not +1): a block can be split across pages,
+        // and ingestion skips the rows we already have
+        long startBlock = checkpoint != null ? checkpoint : 0L;
+        long highestBlock = startBlock;
+        int page = 1;
+
+        for (int fetched = 0; fetched < MAX_PAGES_PER_SYNC; fetched++) {
+            List<CryptoTransaction> pageTxs = fetcher.fetch(wallet, startBlock, page);
+            for (CryptoTransaction tx : pageTxs) {
+                if (tx.getBlockNumber() != null) {
+                    highestBlock = Math.max(highestBlock, tx.getBlockNumber());
+                }
+            }
 
-                    long result = tx.has("result") ? tx.get("result").asLong() : 0;
-                    BigDecimal amount = new BigDecimal(Math.abs(result)).divide(new BigDecimal("100000000"), 8, RoundingMode.HALF_UP);
+            synced.addAll(ingestForFollowers(wallet, followers, pageTxs));
 
-                    String type = result < 0 ? "send" : "receive";
+            // Persist progress after every page so an interrupted sync resumes here
+            if (checkpoint == null || highestBlock > checkpoint) {
+                setCheckpoint.accept(highestBlock);
+                chainAddressCache.saveSyncState(shared);
+                checkpoint = highestBlock;
+            }
 
-                    // Create transaction
-                    CryptoTransaction cryptoTx = new CryptoTransaction(
-                        txHash, wallet, date, fromAddress, toAddress, amount, "BTC", type
-                    );
-                    cryptoTx.setBlockNumber(tx.has("block_height") ? tx.get("block_height").asLong() : null);
+            if (pageTxs.size() < pageSize) {
+                break; // Caught up
+            }
 
-                    synced.add(cryptoTransactionRepository.save(cryptoTx));
+            page++;
+            if ((long) page * pageSize > MAX_RESULT_WINDOW) {
+                // Etherscan only serves the first 10,000 rows of a query; restart from the newest block seen
+                if (highestBlock == startBlock) {
+                    break; // Single block larger than the result window
                 }
+                startBlock = highestBlock;
+                page = 1;
             }
-        } catch (Exception e) {
-            System.err.println("Error syncing Bitcoin transactions: " + e.getMessage());
-            e.printStackTrace();
         }
 
         return synced;
     }
 
     /**
-     * Sync Polygon transactions (same API format as Ethereum)
+     * Store one page of fetched transactions: a single set-based lookup drops transfers the
+     * wallet already has, then the remainder is written with batched INSERT IGNORE statements
+     * (which also covers a concurrent sync inserting the same transfer in between).
+     * Transfers are identified by hash, token contract and log index, since one transaction
+     * can carry a native transfer and several token transfers.
      */
-    public List<CryptoTransaction> syncPolygonTransactions(CryptoWallet wallet) {
-        List<CryptoTransaction> synced = new ArrayList<>();
-
-        try {
-            String url = String.format(
-                "https://api.polygonscan.com/api?module=account&action=txlist&address=%s&startblock=0&endblock=99999999&page=1&offset=100&sort=desc&apikey=%s",
-                wallet.getWalletAddress(),
-                etherscanApiKey
-            );
-
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode json = objectMapper.readTree(response);
-
-            if (json.get("status").asText().equals("1")) {
-                JsonNode transactions = json.get("result");
-
-                for (JsonNode tx : transactions) {
-                    String txHash = tx.get("hash").asText();
-
-                    if (cryptoTransactionRepository.existsByTxHash(txHash)) {
-                        continue;
-                    }
-
-                    long timestamp = tx.get("timeStamp").asLong();
-                    LocalDateTime date = LocalDateTime.ofInstant(
-                        Instant.ofEpochSecond(timestamp),
-                        ZoneId.systemDefault()
-                    );
-
-                    String fromAddress = tx.get("from").asText();
-                    String toAddress = tx.get("to").asText();
-
-                    BigDecimal valueWei = new BigDecimal(tx.get("value").asText());
-                    BigDecimal amount = valueWei.divide(new BigDecimal("1000000000000000000"), 18, RoundingMode.HALF_UP);
+    private List<CryptoTransaction> ingestTransactions(CryptoWallet wallet, List<CryptoTransaction> pageTxs) {
+        if (pageTxs.isEmpty()) {
+            return List.of();
+        }
 
-                    String type = fromAddress.equalsIgnoreCase(wallet.getWalletAddress()) ? "send" : "receive";
+        Set<String> existing = cryptoTransactionRepository.findExistingTransferKeys(wallet.getId(),
+                pageTxs.stream().map(CryptoTransaction::getTxHash).distinct().toList());
 
-                    BigDecimal gasUsed = new BigDecimal(tx.get("gasUsed").asText());
-                    BigDecimal gasPrice = new BigDecimal(tx.get("gasPrice").asText());
-                    BigDecimal gasFeeWei = gasUsed.multiply(gasPrice);
-                    BigDecimal gasFee = gasFeeWei.divide(new BigDecimal("1000000000000000000"), 18, RoundingMode.HALF_UP);
+        Map<String, CryptoTransaction> fresh = new LinkedHashMap<>();
+        for (CryptoTransaction tx : pageTxs) {
+            if (!existing.contains(tx.getTransferKey())) {
+                fresh.putIfAbsent(tx.getTransferKey(), tx); // Also collapses duplicates within the page
+            }
+        }
 
-                    CryptoTransaction cryptoTx = new CryptoTransaction(
-                        txHash, wallet, date, fromAddress, toAddress, amount, "MATIC", type
-                    );
-                    cryptoTx.setGasFee(gasFee);
-                    cryptoTx.setBlockNumber(tx.get("blockNumber").asLong());
+        return cryptoTransactionRepository.insertIgnoreAll(new ArrayList<>(fresh.values()));
+    }
 
-                    synced.add(cryptoTransactionRepository.save(cryptoTx));
+    /**
+     * Store a fetched page for the syncing wallet and a copy for every other follower.
+     * Returns the rows new to the syncing wallet; rows new to other followers are kept for
+     * their own next sync to report.
+     */
+    private List<CryptoTransaction> ingestForFollowers(CryptoWallet wallet, List<CryptoWallet> followers,
+                                                       List<CryptoTransaction> pageTxs) {
+        List<CryptoTransaction> inserted = ingestTransactions(wallet, pageTxs);
+        for (CryptoWallet follower : followers) {
+            if (!follower.getId().equals(wallet.getId())) {
+                List<CryptoTransaction> copied = ingestTransactions(follower,
+                        pageTxs.stream().map(tx -> tx.copyFor(follower)).toList());
+                if (!copied.isEmpty()) {
+                    insertedByFollowerSyncs.merge(follower.getId(), new ArrayList<>(copied), (a, b) -> {
+                        a.addAll(b);
+                        return a;
+                    });
                 }
             }
-        } catch (Exception e) {
-            System.err.println("Error syncing Polygon transactions: " + e.getMessage());
-            e.printStackTrace();
         }
+        return inserted;
+    }
 
-        return synced;
+    @FunctionalInterface
+    private interface PageFetcher {
+        List<CryptoTransaction> fetch(CryptoWallet wallet, long startBlock, int page) throws Exception;
     }
 
     // ---------------------------
@@ -445,35 +427,17 @@ public class CryptoService {
     // ---------------------------
 
     /**
-     * Get current USD price for a token
+     * Get current USD price for a token (served from the shared price cache)
      */
     public BigDecimal getTokenPrice(String symbol) {
-        try {
-            // Map token symbols to CoinGecko IDs
-            String coinId = switch (symbol.toUpperCase()) {
-                case "ETH" -> "ethereum";
-                case "BTC" -> "bitcoin";
-                case "MATIC" -> "matic-network";
-                default -> symbol.toLowerCase();
-            };
-
-            String url = String.format(
-                "https://api.coingecko.com/api/v3/simple/price?ids=%s&vs_currencies=usd",
-                coinId
-            );
-
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode json = objectMapper.readTree(response);
-
-            if (json.has(coinId) && json.get(coinId).has("usd")) {
-                return new BigDecimal(json.get(coinId).get("usd").asText());
-            }
+        return tokenPriceCache.getPrice(symbol);
+    }
 
-            return BigDecimal.ZERO;
-        } catch (Exception e) {
-            System.err.println("Error fetching token price: " + e.getMessage());
-            return BigDecimal.ZERO;
-        }
+    /**
+     * Get current USD prices for several tokens in one batched lookup
+     */
+    public Map<String, BigDecimal> getTokenPrices(Collection<String> symbols) {
+        return tokenPriceCache.getPrices(symbols);
     }
 
     /**
@@ -482,4 +446,53 @@ public class CryptoService {
     public List<CryptoTransaction> getTransactionsForUser(Integer userId) {
         return cryptoTransactionRepository.findByUserId(userId);
     }
+
+    // ---------------------------
+    // 6. Token Balances
+    // ---------------------------
+
+    /**
+     * Token balances of a wallet derived from its synced ERC-20 transfers, valued at current
+     * prices. Tokens with a zero or negative net balance are left out.
+     */
+    public List<TokenBalance> getTokenBalances(CryptoWallet wallet) {
+        List<TokenBalance> balances = new ArrayList<>();
+        for (Object[] row : cryptoTransactionRepository.sumTokenBalances(wallet.getId())) {
+            BigDecimal balance = (BigDecimal) row[2];
+            if (balance != null && balance.signum() > 0) {
+                balances.add(new TokenBalance((String) row[0], (String) row[1], balance.stripTrailingZeros(),
+                        BigDecimal.ZERO, BigDecimal.ZERO));
+            }
+        }
+        if (balances.isEmpty()) {
+            return balances;
+        }
+
+        // Priced by the contract's CoinGecko id, never by symbol: anyone can deploy a token
+        // called USDC. Contracts CoinGecko does not list are valued at zero without a lookup.
+        Map<String, String> coinIds = new HashMap<>();
+        Map<String, String> symbolsByCoinId = new HashMap<>();
+        for (TokenBalance b : balances) {
+            tokenMetadataCache.coinIdFor(wallet.getBlockchain().toLowerCase(), b.contractAddress()).ifPresent(coinId -> {
+                coinIds.put(b.contractAddress(), coinId);
+                symbolsByCoinId.putIfAbsent(coinId, b.symbol());
+            });
+        }
+        Map<String, BigDecimal> prices = symbolsByCoinId.isEmpty() ? Map.of()
+                : tokenPriceCache.getPricesByCoinId(symbolsByCoinId);
+
+        return balances.stream().map(b -> {
+            String coinId = coinIds.get(b.contractAddress());
+            BigDecimal price = coinId != null ? prices.getOrDefault(coinId, BigDecimal.ZERO) : BigDecimal.ZERO;
+            return new TokenBalance(b.contractAddress(), b.symbol(), b.balance(), price,
+                    b.balance().multiply(price).setScale(2, RoundingMode.HALF_UP));
+        }).toList();
+    }
+
+    /**
+     * Net balance of one ERC-20 token in a wallet
+     */
+    public record TokenBalance(String contractAddress, String symbol, BigDecimal balance,
+                               BigDecimal priceUsd, BigDecimal valueUsd) {
+    }
 }
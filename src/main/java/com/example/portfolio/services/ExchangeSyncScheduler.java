@@ -0,0 +1,91 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.dto.ExchangeConnectionRef;
+import com.example.portfolio.repositories.ExchangeItemRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Syncs Coinbase connections in the background so exchange reads come from the database.
+ * Each tick picks the least recently synced connections not synced within
+ * exchange.sync.interval-seconds and syncs them one after another on a dedicated thread,
+ * keeping the exchange's rate limit and the shared scheduler thread out of each other's way.
+ */
+@Service
+public class ExchangeSyncScheduler {
+
+    private final ExchangeItemRepository exchangeItemRepository;
+    private final CoinbaseService coinbaseService;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "exchange-sync");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${exchange.sync.interval-seconds:900}")
+    private long intervalSeconds;
+
+    @Value("${exchange.sync.batch-size:20}")
+    private int batchSize;
+
+    public ExchangeSyncScheduler(ExchangeItemRepository exchangeItemRepository, CoinbaseService coinbaseService) {
+        this.exchangeItemRepository = exchangeItemRepository;
+        this.coinbaseService = coinbaseService;
+    }
+
+    /**
+     * Dispatch one batch of due connections, unless the previous batch is still running
+     */
+    @Scheduled(fixedDelayString = "${exchange.sync.poll-interval-ms:60000}",
+               initialDelayString = "${exchange.sync.initial-delay-ms:45000}")
+    public void syncDueConnections() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        List<ExchangeConnectionRef> due;
+        try {
+            due = exchangeItemRepository.findDueForSync("coinbase",
+                    LocalDateTime.now().minusSeconds(intervalSeconds), PageRequest.of(0, batchSize));
+        } catch (Exception e) {
+            running.set(false);
+            System.err.println("Error loading exchange connections to sync: " + e.getMessage());
+            return;
+        }
+        if (due.isEmpty()) {
+            running.set(false);
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                for (ExchangeConnectionRef connection : due) {
+                    try {
+                        coinbaseService.syncExchangeItem(connection.id(), connection.ownerId());
+                    } catch (Exception e) {
+                        System.err.println("Error syncing exchange connection " + connection.id() + ": " + e.getMessage());
+                        // Retry after a full interval, so failing connections do not crowd out the rest
+                        exchangeItemRepository.updateLastSyncedAt(connection.id(), LocalDateTime.now());
+                    }
+                }
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.dto.NetWorthSummary;
+import com.example.portfolio.models.CryptoWallet;
+import com.example.portfolio.repositories.AccountRepository;
+import com.example.portfolio.repositories.CryptoWalletRepository;
+import com.example.portfolio.repositories.ExchangeAccountRepository;
+import com.example.portfolio.services.events.EventBroadcaster;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user net worth across bank accounts, tracked wallets and exchange accounts.
+ *
+ * Each user's valuation is materialized in memory the first time it is read and then kept
+ * current incrementally: only the component whose input changed is recomputed (a bank
+ * balance sum, one wallet's holding, the exchange sum, or the wallets holding a token whose
+ * price moved). Reading the headline number is a map lookup.
+ *
+ * Wallets are valued from their cached balance (kept fresh by the background sync) times
+ * the cached token price; exchange accounts use the USD value stored at last refresh.
+ */
+@Service
+public class NetWorthService {
+
+    public static final String EVENT_NET_WORTH = "net-worth";
+
+    private final AccountRepository accountRepository;
+    private final CryptoWalletRepository cryptoWalletRepository;
+    private final ExchangeAccountRepository exchangeAccountRepository;
+    private final CryptoService cryptoService;
+    private final EventBroadcaster eventBroadcaster;
+
+    private final Map<Integer, UserValuation> valuations = new ConcurrentHashMap<>();
+    private final Map<String, BigDecimal> latestPrices = new ConcurrentHashMap<>();
+
+    public NetWorthService(AccountRepository accountRepository,
+                           CryptoWalletRepository cryptoWalletRepository,
+                           ExchangeAccountRepository exchangeAccountRepository,
+                           CryptoService cryptoService,
+                           TokenPriceCache tokenPriceCache,
+                           EventBroadcaster eventBroadcaster) {
+        this.accountRepository = accountRepository;
+        this.cryptoWalletRepository = cryptoWalletRepository;
+        this.exchangeAccountRepository = exchangeAccountRepository;
+        this.cryptoService = cryptoService;
+        this.eventBroadcaster = eventBroadcaster;
+        tokenPriceCache.addListener(this::onPricesChanged);
+    }
+
+    /**
+     * Current net worth for a user (materialized on first read)
+     */
+    public NetWorthSummary getNetWorth(Integer userId) {
+        return valuations.computeIfAbsent(userId, this::build).summary;
+    }
+
+    // ---------------------------
+    // Change notifications
+    // ---------------------------
+
+    /**
+     * Bank account balances changed (Plaid sync, manual account)
+     */
+    public void onAccountsChanged(Integer userId) {
+        UserValuation valuation = valuations.get(userId);
+        if (valuation == null) {
+            return; // Not materialized yet; built on next read
+        }
+        synchronized (valuation) {
+            valuation.bankTotal = accountRepository.sumBalanceByUserId(userId);
+            publish(userId, valuation);
+        }
+    }
+
+    /**
+     * Exchange account balances were refreshed or the connection was removed
+     */
+    public void onExchangeAccountsChanged(Integer userId) {
+        UserValuation valuation = valuations.get(userId);
+        if (valuation == null) {
+            return;
+        }
+        synchronized (valuation) {
+            valuation.exchangeTotal = exchangeAccountRepository.sumBalanceUsdByUserId(userId);
+            publish(userId, valuation);
+        }
+    }
+
+    /**
+     * A wallet's cached balance changed (background sync)
+     */
+    public void onWalletBalanceChanged(Integer userId, CryptoWallet wallet) {
+        UserValuation valuation = valuations.get(userId);
+        if (valuation == null) {
+            return;
+        }
+        synchronized (valuation) {
+            valuation.holdings.put(wallet.getId(), toHolding(wallet));
+            publish(userId, valuation);
+        }
+    }
+
+    /**
+     * Wallets were added or removed
+     */
+    public void onWalletsChanged(Integer userId) {
+        UserValuation valuation = valuations.get(userId);
+        if (valuation == null) {
+            return;
+        }
+        synchronized (valuation) {
+            valuation.holdings.clear();
+            for (CryptoWallet wallet : cryptoWalletRepository.findByOwner_Id(userId)) {
+                valuation.holdings.put(wallet.getId(), toHolding(wallet));
+            }
+            publish(userId, valuation);
+        }
+    }
+
+    private void onPricesChanged(Map<String, BigDecimal> changed) {
+        latestPrices.putAll(changed);
+        valuations.forEach((userId, valuation) -> {
+            synchronized (valuation) {
+                boolean affected = valuation.holdings.values().stream()
+                        .anyMatch(holding -> changed.containsKey(holding.symbol()));
+                if (affected) {
+                    publish(userId, valuation);
+                }
+            }
+        });
+    }
+
+    // ---------------------------
+    // Materialization
+    // ---------------------------
+
+    private UserValuation build(Integer userId) {
+        UserValuation valuation = new UserValuation();
+        valuation.bankTotal = accountRepository.sumBalanceByUserId(userId);
+        valuation.exchangeTotal = exchangeAccountRepository.sumBalanceUsdByUserId(userId);
+
+        Set<String> symbols = new HashSet<>();
+        for (CryptoWallet wallet : cryptoWalletRepository.findByOwner_Id(userId)) {
+            Holding holding = toHolding(wallet);
+            valuation.holdings.put(wallet.getId(), holding);
+            symbols.add(holding.symbol());
+        }
+
+        // Seed prices for tokens no listener has reported yet (one batched lookup)
+        symbols.removeAll(latestPrices.keySet());
+        if (!symbols.isEmpty()) {
+            latestPrices.putAll(cryptoService.getTokenPrices(symbols));
+        }
+
+        valuation.summary = valuation.materialize(latestPrices);
+        return valuation;
+    }
+
+    private Holding toHolding(CryptoWallet wallet) {
+        return new Holding(cryptoService.getNativeSymbol(wallet.getBlockchain()),
+                wallet.getCachedBalance() != null ? wallet.getCachedBalance() : BigDecimal.ZERO);
+    }
+
+    // Caller holds the valuation's monitor
+    private void publish(Integer userId, UserValuation valuation) {
+        valuation.summary = valuation.materialize(latestPrices);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("total", valuation.summary.getTotal().toPlainString());
+        data.put("bankTotal", valuation.summary.getBankTotal().toPlainString());
+        data.put("cryptoTotal", valuation.summary.getCryptoTotal().toPlainString());
+        data.put("exchangeTotal", valuation.summary.getExchangeTotal().toPlainString());
+        eventBroadcaster.sendToUser(userId, EVENT_NET_WORTH, data);
+    }
+
+    private record Holding(String symbol, BigDecimal quantity) {
+    }
+
+    /**
+     * Mutable inputs for one user plus the last materialized summary
+     */
+    private static final class UserValuation {
+        BigDecimal bankTotal = BigDecimal.ZERO;
+        BigDecimal exchangeTotal = BigDecimal.ZERO;
+        final Map<Integer, Holding> holdings = new HashMap<>(); // Keyed by wallet ID
+        volatile NetWorthSummary summary;
+
+        NetWorthSummary materialize(Map<String, BigDecimal> prices) {
+            BigDecimal cryptoTotal = BigDecimal.ZERO;
+            for (Holding holding : holdings.values()) {
+                BigDecimal price = prices.getOrDefault(holding.symbol(), BigDecimal.ZERO);
+                cryptoTotal = cryptoTotal.add(holding.quantity().multiply(price));
+            }
+            return new NetWorthSummary(
+                    bankTotal.setScale(2, RoundingMode.HALF_UP),
+                    cryptoTotal.setScale(2, RoundingMode.HALF_UP),
+                    exchangeTotal.setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+}
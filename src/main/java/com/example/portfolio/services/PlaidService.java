@@ -16,37 +16,43 @@ import com.plaid.client.model.ItemPublicTokenExchangeResponse;
 import com.plaid.client.model.AccountBase;
 import com.plaid.client.model.AccountsGetRequest;
 import com.plaid.client.model.AccountsGetResponse;
-import com.plaid.client.model.TransactionsGetRequest;
-import com.plaid.client.model.TransactionsGetResponse;
-import com.plaid.client.model.TransactionsGetRequestOptions;
-import com.example.portfolio.models.Transaction;
-import com.example.portfolio.repositories.TransactionRepository;
+import com.plaid.client.model.RemovedTransaction;
+import com.plaid.client.model.TransactionsSyncRequest;
+import com.plaid.client.model.TransactionsSyncResponse;
 import org.springframework.stereotype.Service;
 import retrofit2.Response;
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class PlaidService {
 
+    private static final int SYNC_PAGE_SIZE = 500; // Plaid maximum
+    private static final int MAX_SYNC_ATTEMPTS = 3;
+    private static final String MUTATION_DURING_PAGINATION = "TRANSACTIONS_SYNC_MUTATION_DURING_PAGINATION";
+
     private final PlaidApi plaidApi;
     private final PlaidItemRepository plaidItemRepository;
     private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
+    private final PlaidTransactionWriter plaidTransactionWriter;
+    private final NetWorthService netWorthService;
 
     public PlaidService(
             PlaidApi plaidApi,
             PlaidItemRepository plaidItemRepository,
             AccountRepository accountRepository,
-            TransactionRepository transactionRepository) {
+            PlaidTransactionWriter plaidTransactionWriter,
+            NetWorthService netWorthService) {
         this.plaidApi = plaidApi;
         this.plaidItemRepository = plaidItemRepository;
         this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
+        this.plaidTransactionWriter = plaidTransactionWriter;
+        this.netWorthService = netWorthService;
     }
 
     // ---------------------------
@@ -101,130 +107,159 @@ public class PlaidService {
         List<Account> result = new ArrayList<>();
 
         for (PlaidItem item : items) {
-            AccountsGetRequest request = new AccountsGetRequest()
-                    .accessToken(item.getAccessToken());
+            result.addAll(syncAccountsForItem(user, item));
+        }
 
-            Response<AccountsGetResponse> response = plaidApi.accountsGet(request).execute();
+        netWorthService.onAccountsChanged(user.getId());
+        return result;
+    }
 
-            if (!response.isSuccessful() || response.body() == null) {
-                throw new IOException("Error fetching accounts from Plaid: " +
-                        (response.errorBody() != null ? response.errorBody().string() : "unknown"));
-            }
+    /**
+     * Create or update the stored accounts of one Plaid item
+     */
+    private List<Account> syncAccountsForItem(User user, PlaidItem item) throws IOException {
+        List<Account> result = new ArrayList<>();
+
+        AccountsGetRequest request = new AccountsGetRequest()
+                .accessToken(item.getAccessToken());
 
-            for (AccountBase pa : response.body().getAccounts()) {
-                String plaidAccountId = pa.getAccountId();
+        Response<AccountsGetResponse> response = plaidApi.accountsGet(request).execute();
+
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("Error fetching accounts from Plaid: " +
+                    (response.errorBody() != null ? response.errorBody().string() : "unknown"));
+        }
 
-                // Check if account already exists, update it instead of creating duplicate
-                Account acc = accountRepository.findByPlaidAccountId(plaidAccountId)
-                        .orElse(new Account());
+        for (AccountBase pa : response.body().getAccounts()) {
+            String plaidAccountId = pa.getAccountId();
 
-                // Map Plaid -> your fields
-                acc.setAccountName(pa.getName());
-                acc.setInstitutionString(item.getInstitutionName());
-                acc.setPlaidAccountId(plaidAccountId);
+            // Check if account already exists, update it instead of creating duplicate
+            Account acc = accountRepository.findByPlaidAccountId(plaidAccountId)
+                    .orElse(new Account());
 
-                // Use subtype if present, else type
-                if (pa.getSubtype() != null) {
-                    acc.setAccountType(pa.getSubtype().toString());
-                } else if (pa.getType() != null) {
-                    acc.setAccountType(pa.getType().toString());
-                }
+            // Map Plaid -> your fields
+            acc.setAccountName(pa.getName());
+            acc.setInstitutionString(item.getInstitutionName());
+            acc.setPlaidAccountId(plaidAccountId);
 
-                if (pa.getBalances() != null && pa.getBalances().getCurrent() != null) {
-                    acc.setBalance(BigDecimal.valueOf(
-                            pa.getBalances().getCurrent().doubleValue()));
-                }
+            // Use subtype if present, else type
+            if (pa.getSubtype() != null) {
+                acc.setAccountType(pa.getSubtype().toString());
+            } else if (pa.getType() != null) {
+                acc.setAccountType(pa.getType().toString());
+            }
 
-                // Only set user and createdAt for new accounts
-                if (acc.getId() == null) {
-                    acc.setUser(user);
-                    acc.setCreatedAt(LocalDateTime.now());
-                }
-                acc.setUpdatedAt(LocalDateTime.now());
+            if (pa.getBalances() != null && pa.getBalances().getCurrent() != null) {
+                acc.setBalance(BigDecimal.valueOf(
+                        pa.getBalances().getCurrent().doubleValue()));
+            }
 
-                result.add(accountRepository.save(acc));
+            // Only set user and createdAt for new accounts
+            if (acc.getId() == null) {
+                acc.setUser(user);
+                acc.setCreatedAt(LocalDateTime.now());
             }
-        }
+            acc.setUpdatedAt(LocalDateTime.now());
 
+            result.add(accountRepository.save(acc));
+        }
         return result;
     }
 
     // ---------------------------
-    // 4. Sync transactions for a user
+    // 4. Sync transactions for a user (cursor-based /transactions/sync)
     // ---------------------------
-    // TODO: Migrate to Plaid's /transactions/sync endpoint with cursor-based pagination
-    // Current implementation uses /transactions/get which is being deprecated
-    // Cursor-based sync properly handles: modifications, removals, and incremental updates
-    // See: https://plaid.com/docs/api/products/transactions/#transactionssync
-    public List<Transaction> syncTransactionsForUser(User user, LocalDate startDate, LocalDate endDate) throws IOException {
+
+    /**
+     * Fetch the transaction changes of each of the user's items since its stored cursor and apply
+     * them. Pages are requested until has_more is false, then the added, modified and removed
+     * transactions are applied together with the new cursor in one database transaction.
+     * If the item changes while paging (TRANSACTIONS_SYNC_MUTATION_DURING_PAGINATION), paging
+     * restarts from the stored cursor, as Plaid requires.
+     */
+    public SyncSummary syncTransactionsForUser(User user) throws IOException {
         List<PlaidItem> items = plaidItemRepository.findByOwner_Id(user.getId());
-        List<Transaction> result = new ArrayList<>();
+        int added = 0;
+        int modified = 0;
+        int removed = 0;
 
         for (PlaidItem item : items) {
-            TransactionsGetRequest request = new TransactionsGetRequest()
-                    .accessToken(item.getAccessToken())
-                    .startDate(startDate)
-                    .endDate(endDate)
-                    .options(new TransactionsGetRequestOptions().count(500)); // Max 500 per request
-
-            Response<TransactionsGetResponse> response = plaidApi.transactionsGet(request).execute();
-
-            if (!response.isSuccessful() || response.body() == null) {
-                throw new IOException("Error fetching transactions from Plaid: " +
-                        (response.errorBody() != null ? response.errorBody().string() : "unknown"));
+            SyncDelta delta = fetchTransactionChanges(item);
+
+            // Transactions of accounts opened since the last account sync would be lost once the
+            // cursor moves past them, so store those accounts first
+            Set<String> accountIds = new HashSet<>();
+            delta.added().forEach(pt -> accountIds.add(pt.getAccountId()));
+            delta.modified().forEach(pt -> accountIds.add(pt.getAccountId()));
+            if (accountRepository.findByPlaidAccountIdIn(accountIds).size() < accountIds.size()) {
+                syncAccountsForItem(user, item);
+                netWorthService.onAccountsChanged(user.getId());
             }
 
-            for (com.plaid.client.model.Transaction pt : response.body().getTransactions()) {
-                // Find the account this transaction belongs to
-                String plaidAccountId = pt.getAccountId();
-                Account account = accountRepository.findByPlaidAccountId(plaidAccountId)
-                        .orElse(null);
-
-                if (account == null) {
-                    // Skip transactions for accounts we don't have synced yet
-                    continue;
-                }
+            List<com.plaid.client.model.Transaction> upserts = new ArrayList<>(delta.added());
+            upserts.addAll(delta.modified());
+            plaidTransactionWriter.apply(item.getId(), upserts, delta.removed(), delta.nextCursor());
 
-                String plaidTransactionId = pt.getTransactionId();
-
-                // Check if this transaction already exists (idempotent sync)
-                Transaction tx = transactionRepository.findByPlaidTransactionId(plaidTransactionId)
-                        .orElse(null);
-
-                if (tx != null) {
-                    // Transaction already exists - update it instead of duplicating
-                    tx.setDate(pt.getDate());
-                    tx.setDescription(pt.getName());
-                    tx.setAmount(BigDecimal.valueOf(pt.getAmount()));
+            added += delta.added().size();
+            modified += delta.modified().size();
+            removed += delta.removed().size();
+        }
 
-                    // Get first category if available
-                    if (pt.getCategory() != null && !pt.getCategory().isEmpty()) {
-                        tx.setCategory(pt.getCategory().get(0));
-                    }
+        return new SyncSummary(added, modified, removed);
+    }
 
-                    tx.setUpdatedAt(LocalDateTime.now());
-                } else {
-                    // New transaction - create it
-                    tx = new Transaction();
-                    tx.setAccount(account);
-                    tx.setPlaidTransactionId(plaidTransactionId);
-                    tx.setDate(pt.getDate());
-                    tx.setDescription(pt.getName());
-                    tx.setAmount(BigDecimal.valueOf(pt.getAmount()));
-
-                    // Get first category if available
-                    if (pt.getCategory() != null && !pt.getCategory().isEmpty()) {
-                        tx.setCategory(pt.getCategory().get(0));
+    /**
+     * Page through /transactions/sync from the item's stored cursor until has_more is false
+     */
+    private SyncDelta fetchTransactionChanges(PlaidItem item) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            List<com.plaid.client.model.Transaction> added = new ArrayList<>();
+            List<com.plaid.client.model.Transaction> modified = new ArrayList<>();
+            List<RemovedTransaction> removed = new ArrayList<>();
+            String cursor = item.getTransactionCursor(); // Null on the first sync: full history
+
+            boolean hasMore = true;
+            boolean restart = false;
+            while (hasMore) {
+                TransactionsSyncRequest request = new TransactionsSyncRequest()
+                        .accessToken(item.getAccessToken())
+                        .cursor(cursor)
+                        .count(SYNC_PAGE_SIZE);
+
+                Response<TransactionsSyncResponse> response = plaidApi.transactionsSync(request).execute();
+
+                if (!response.isSuccessful() || response.body() == null) {
+                    String error = response.errorBody() != null ? response.errorBody().string() : "unknown";
+                    if (error.contains(MUTATION_DURING_PAGINATION) && attempt < MAX_SYNC_ATTEMPTS) {
+                        restart = true;
+                        break;
                     }
-
-                    tx.setCreatedAt(LocalDateTime.now());
-                    tx.setUpdatedAt(LocalDateTime.now());
+                    throw new IOException("Error syncing transactions from Plaid: " + error);
                 }
 
-                result.add(transactionRepository.save(tx));
+                TransactionsSyncResponse page = response.body();
+                added.addAll(page.getAdded());
+                modified.addAll(page.getModified());
+                removed.addAll(page.getRemoved());
+                cursor = page.getNextCursor();
+                hasMore = Boolean.TRUE.equals(page.getHasMore());
+            }
+
+            if (!restart) {
+                return new SyncDelta(added, modified, removed, cursor);
             }
         }
+    }
 
-        return result;
+    /**
+     * Counts of transactions added, modified and removed by one sync
+     */
+    public record SyncSummary(int added, int modified, int removed) {
+    }
+
+    private record SyncDelta(List<com.plaid.client.model.Transaction> added,
+                             List<com.plaid.client.model.Transaction> modified,
+                             List<RemovedTransaction> removed,
+                             String nextCursor) {
     }
-}
\ No newline at end of file
+}
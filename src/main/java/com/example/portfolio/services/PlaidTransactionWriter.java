@@ -0,0 +1,104 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.models.Account;
+import com.example.portfolio.models.Transaction;
+import com.example.portfolio.repositories.AccountRepository;
+import com.example.portfolio.repositories.PlaidItemRepository;
+import com.example.portfolio.repositories.TransactionRepository;
+import com.plaid.client.model.RemovedTransaction;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Applies one /transactions/sync run for a Plaid item: added and modified transactions are
+ * upserted, removed ones deleted, and the item's cursor advanced, all in one database
+ * transaction. A failure leaves both the transactions and the cursor as they were, so the
+ * next run fetches the same changes again.
+ * (A separate bean so the @Transactional boundary applies when PlaidService calls it.)
+ */
+@Service
+public class PlaidTransactionWriter {
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final PlaidItemRepository plaidItemRepository;
+
+    public PlaidTransactionWriter(TransactionRepository transactionRepository,
+                                  AccountRepository accountRepository,
+                                  PlaidItemRepository plaidItemRepository) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.plaidItemRepository = plaidItemRepository;
+    }
+
+    /**
+     * Apply the changes and store the cursor they lead to. Callers sync accounts first; a new
+     * transaction of an account that is still not stored fails the whole apply, leaving the
+     * cursor where it was, rather than being dropped for good. Returns the saved transactions.
+     */
+    @Transactional
+    public List<Transaction> apply(Integer plaidItemId,
+                                   List<com.plaid.client.model.Transaction> upserts,
+                                   List<RemovedTransaction> removed,
+                                   String nextCursor) {
+        Map<String, Account> accounts = accountRepository.findByPlaidAccountIdIn(
+                        upserts.stream().map(com.plaid.client.model.Transaction::getAccountId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Account::getPlaidAccountId, account -> account, (a, b) -> a));
+
+        Map<String, Transaction> existing = new HashMap<>();
+        if (!upserts.isEmpty()) {
+            for (Transaction tx : transactionRepository.findByPlaidTransactionIdIn(
+                    upserts.stream().map(com.plaid.client.model.Transaction::getTransactionId).toList())) {
+                existing.put(tx.getPlaidTransactionId(), tx);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Transaction> toSave = new LinkedHashMap<>();
+        for (com.plaid.client.model.Transaction pt : upserts) {
+            Transaction tx = existing.get(pt.getTransactionId());
+            if (tx == null) {
+                Account account = accounts.get(pt.getAccountId());
+                if (account == null) {
+                    throw new IllegalStateException("Plaid account " + pt.getAccountId() + " of transaction "
+                            + pt.getTransactionId() + " is not stored; keeping the cursor of item " + plaidItemId);
+                }
+                tx = new Transaction();
+                tx.setAccount(account);
+                tx.setPlaidTransactionId(pt.getTransactionId());
+                tx.setCreatedAt(now);
+                existing.put(pt.getTransactionId(), tx); // Added and then modified within the same run
+            }
+
+            tx.setDate(pt.getDate());
+            tx.setDescription(pt.getName());
+            tx.setAmount(BigDecimal.valueOf(pt.getAmount()));
+
+            // Get first category if available
+            if (pt.getCategory() != null && !pt.getCategory().isEmpty()) {
+                tx.setCategory(pt.getCategory().get(0));
+            }
+
+            tx.setUpdatedAt(now);
+            toSave.put(pt.getTransactionId(), tx);
+        }
+        List<Transaction> saved = transactionRepository.saveAll(toSave.values());
+
+        if (!removed.isEmpty()) {
+            transactionRepository.deleteByPlaidTransactionIds(
+                    removed.stream().map(RemovedTransaction::getTransactionId).toList());
+        }
+
+        plaidItemRepository.updateTransactionCursor(plaidItemId, nextCursor);
+        return saved;
+    }
+}
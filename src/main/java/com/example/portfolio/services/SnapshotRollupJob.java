@@ -0,0 +1,210 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.models.Account;
+import com.example.portfolio.models.CryptoWallet;
+import com.example.portfolio.models.ExchangeAccount;
+import com.example.portfolio.models.HoldingSnapshot;
+import com.example.portfolio.models.NetWorthSnapshot;
+import com.example.portfolio.repositories.AccountRepository;
+import com.example.portfolio.repositories.CryptoWalletRepository;
+import com.example.portfolio.repositories.ExchangeAccountRepository;
+import com.example.portfolio.repositories.NetWorthSnapshotRepository;
+import com.example.portfolio.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly rollup of each user's net worth and per-holding values into daily snapshot rows.
+ *
+ * Users are walked in ID order with keyset pagination; each batch loads its accounts,
+ * wallets and exchange accounts with one query per table and is written with one batched
+ * upsert, so re-running the job for the same day overwrites that day's rows.
+ * Wallets are valued from their cached balance at the current token price, matching the
+ * live net worth figure.
+ */
+@Service
+public class SnapshotRollupJob {
+
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final CryptoWalletRepository cryptoWalletRepository;
+    private final ExchangeAccountRepository exchangeAccountRepository;
+    private final NetWorthSnapshotRepository netWorthSnapshotRepository;
+    private final CryptoService cryptoService;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${snapshots.batch-size:200}")
+    private int batchSize;
+
+    @Value("${snapshots.batch-retries:2}")
+    private int batchRetries;
+
+    @Value("${snapshots.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    public SnapshotRollupJob(UserRepository userRepository,
+                             AccountRepository accountRepository,
+                             CryptoWalletRepository cryptoWalletRepository,
+                             ExchangeAccountRepository exchangeAccountRepository,
+                             NetWorthSnapshotRepository netWorthSnapshotRepository,
+                             CryptoService cryptoService) {
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.cryptoWalletRepository = cryptoWalletRepository;
+        this.exchangeAccountRepository = exchangeAccountRepository;
+        this.netWorthSnapshotRepository = netWorthSnapshotRepository;
+        this.cryptoService = cryptoService;
+    }
+
+    /**
+     * Snapshot every user for today (late in the day, so the row reflects the closing balances)
+     */
+    @Scheduled(cron = "${snapshots.cron:0 55 23 * * *}")
+    public void rollupToday() {
+        rollup(LocalDate.now());
+    }
+
+    /**
+     * Write snapshots for all users for the given day. Returns the number of users processed.
+     */
+    public int rollup(LocalDate day) {
+        if (!running.compareAndSet(false, true)) {
+            System.err.println("Snapshot rollup already running; skipping " + day);
+            return 0;
+        }
+
+        int processed = 0;
+        try {
+            Integer afterId = 0;
+            while (true) {
+                List<Integer> userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+
+                processed += rollupWithRetry(day, userIds);
+
+                afterId = userIds.get(userIds.size() - 1);
+                if (userIds.size() < batchSize) {
+                    break;
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+        return processed;
+    }
+
+    /**
+     * Roll up one batch, retrying it after a failure. If it keeps failing, each user is
+     * rolled up on their own so one bad user does not cost the whole batch its snapshot;
+     * users that still fail have no row for the day (nothing later fills it in) and are logged.
+     * Returns the number of users written.
+     */
+    private int rollupWithRetry(LocalDate day, List<Integer> userIds) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                rollupBatch(day, userIds);
+                return userIds.size();
+            } catch (Exception e) {
+                System.err.println("Snapshot rollup failed for users " + userIds.get(0) + "-"
+                        + userIds.get(userIds.size() - 1) + " (attempt " + attempt + "): " + e.getMessage());
+                if (attempt > batchRetries) {
+                    break;
+                }
+            }
+            try {
+                Thread.sleep(retryDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+
+        int written = 0;
+        List<Integer> failed = new ArrayList<>();
+        for (Integer userId : userIds) {
+            try {
+                rollupBatch(day, List.of(userId));
+                written++;
+            } catch (Exception e) {
+                failed.add(userId);
+            }
+        }
+        if (!failed.isEmpty()) {
+            System.err.println("No snapshot written for " + day + " for users " + failed);
+        }
+        return written;
+    }
+
+    private void rollupBatch(LocalDate day, List<Integer> userIds) {
+        Map<Integer, Totals> totals = new HashMap<>();
+        for (Integer userId : userIds) {
+            totals.put(userId, new Totals());
+        }
+        List<HoldingSnapshot> holdings = new ArrayList<>();
+
+        for (Account account : accountRepository.findByUserIdIn(userIds)) {
+            Integer userId = account.getUser().getId();
+            BigDecimal value = scale(account.getBalance());
+            totals.get(userId).bank = totals.get(userId).bank.add(value);
+            holdings.add(new HoldingSnapshot(userId, day, HoldingSnapshot.TYPE_ACCOUNT, account.getId(),
+                    null, null, value));
+        }
+
+        List<CryptoWallet> wallets = cryptoWalletRepository.findByOwner_IdIn(userIds);
+        Set<String> symbols = new HashSet<>();
+        for (CryptoWallet wallet : wallets) {
+            symbols.add(cryptoService.getNativeSymbol(wallet.getBlockchain()));
+        }
+        Map<String, BigDecimal> prices = symbols.isEmpty() ? Map.of() : cryptoService.getTokenPrices(symbols);
+
+        for (CryptoWallet wallet : wallets) {
+            Integer userId = wallet.getOwner().getId();
+            String symbol = cryptoService.getNativeSymbol(wallet.getBlockchain());
+            BigDecimal quantity = wallet.getCachedBalance() != null ? wallet.getCachedBalance() : BigDecimal.ZERO;
+            BigDecimal value = scale(quantity.multiply(prices.getOrDefault(symbol, BigDecimal.ZERO)));
+            totals.get(userId).crypto = totals.get(userId).crypto.add(value);
+            holdings.add(new HoldingSnapshot(userId, day, HoldingSnapshot.TYPE_WALLET, wallet.getId(),
+                    symbol, quantity, value));
+        }
+
+        for (ExchangeAccount account : exchangeAccountRepository.findByOwnerIds(userIds)) {
+            Integer userId = account.getExchangeItem().getOwner().getId();
+            BigDecimal value = scale(account.getBalanceUsd());
+            totals.get(userId).exchange = totals.get(userId).exchange.add(value);
+            holdings.add(new HoldingSnapshot(userId, day, HoldingSnapshot.TYPE_EXCHANGE, account.getId(),
+                    account.getCurrency(), account.getBalance(), value));
+        }
+
+        List<NetWorthSnapshot> netWorth = new ArrayList<>();
+        totals.forEach((userId, t) -> netWorth.add(
+                new NetWorthSnapshot(userId, day, t.bank, t.crypto, t.exchange)));
+
+        netWorthSnapshotRepository.upsertSnapshots(netWorth, holdings);
+    }
+
+    private static BigDecimal scale(BigDecimal value) {
+        return value != null ? value.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO.setScale(2);
+    }
+
+    private static final class Totals {
+        BigDecimal bank = BigDecimal.ZERO.setScale(2);
+        BigDecimal crypto = BigDecimal.ZERO.setScale(2);
+        BigDecimal exchange = BigDecimal.ZERO.setScale(2);
+    }
+}
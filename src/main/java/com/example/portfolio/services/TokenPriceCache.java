@@ -0,0 +1,362 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.http.OutboundHttpClients;
+import com.example.portfolio.services.events.EventBroadcaster;
+import com.example.portfolio.services.prices.PriceHistoryStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Shared USD price cache backed by CoinGecko.
+ * Symbols are grouped into a single simple/price?ids=a,b,c call, prices are kept for a
+ * configurable TTL, and stale prices are served while a background refresh runs.
+ * Ids CoinGecko has no price for are cached as misses (zero) on the same schedule. After a
+ * failed fetch the last known price keeps being served, and the id is not fetched again
+ * until crypto.price.retry-seconds have passed, so one flaky id does not make every read
+ * wait on CoinGecko.
+ * Price changes are pushed to connected dashboards as "prices" events, and every fetched
+ * price is recorded as a tick in the price history store.
+ */
+@Service
+public class TokenPriceCache {
+
+    private static final String COINGECKO_PRICE_URL =
+            "https://api.coingecko.com/api/v3/simple/price?ids=%s&vs_currencies=usd";
+
+    private static final String COINGECKO_HISTORY_URL =
+            "https://api.coingecko.com/api/v3/coins/%s/history?date=%s&localization=false";
+    private static final String COINGECKO_CONTRACT_URL =
+            "https://api.coingecko.com/api/v3/coins/%s/contract/%s";
+    private static final DateTimeFormatter HISTORY_DATE = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    // CoinGecko accepts long id lists, but keep URLs well below proxy limits
+    private static final int MAX_IDS_PER_REQUEST = 50;
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventBroadcaster eventBroadcaster;
+    private final PriceHistoryStore priceHistoryStore;
+
+    // Prices keyed by CoinGecko id
+    private final Map<String, CachedPrice> prices = new ConcurrentHashMap<>();
+    // Symbol clients asked for, per CoinGecko id (for price events)
+    private final Map<String, String> symbolsByCoinId = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<Map<String, BigDecimal>>> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "token-price-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${crypto.price.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${crypto.price.max-stale-seconds:900}")
+    private long maxStaleSeconds;
+
+    // Minimum time between fetch attempts of an id after a failed one
+    @Value("${crypto.price.retry-seconds:30}")
+    private long retrySeconds;
+
+    public TokenPriceCache(OutboundHttpClients httpClients, EventBroadcaster eventBroadcaster,
+                           PriceHistoryStore priceHistoryStore) {
+        this.restTemplate = httpClients.restTemplate("coingecko");
+        this.objectMapper = new ObjectMapper();
+        this.eventBroadcaster = eventBroadcaster;
+        this.priceHistoryStore = priceHistoryStore;
+    }
+
+    /**
+     * Get current USD price for a token symbol (ETH, BTC, MATIC, ...)
+     */
+    public BigDecimal getPrice(String symbol) {
+        return getPrices(List.of(symbol)).getOrDefault(symbol.toUpperCase(), BigDecimal.ZERO);
+    }
+
+    /**
+     * Get current USD prices for several symbols with at most one CoinGecko call.
+     * Result is keyed by upper-case symbol; unknown symbols map to zero. Symbols go through
+     * {@link #toCoinId}, so this is for native coins; ERC-20 tokens are priced by id.
+     */
+    public Map<String, BigDecimal> getPrices(Collection<String> symbols) {
+        Map<String, String> coinIds = new HashMap<>();
+        for (String symbol : symbols) {
+            String coinId = toCoinId(symbol);
+            coinIds.put(symbol.toUpperCase(), coinId);
+            symbolsByCoinId.putIfAbsent(coinId, symbol.toUpperCase());
+        }
+        Map<String, BigDecimal> byCoinId = loadPrices(coinIds.values());
+
+        Map<String, BigDecimal> result = new HashMap<>();
+        coinIds.forEach((symbol, coinId) -> result.put(symbol, byCoinId.get(coinId)));
+        return result;
+    }
+
+    /**
+     * Get current USD prices of tokens identified by CoinGecko id (ERC-20 tokens resolved by
+     * contract address), keyed by id; ids without a price map to zero. The symbol given per
+     * id only labels price events and history.
+     */
+    public Map<String, BigDecimal> getPricesByCoinId(Map<String, String> symbols) {
+        symbols.forEach((coinId, symbol) -> symbolsByCoinId.putIfAbsent(coinId, symbol.toUpperCase()));
+        return loadPrices(symbols.keySet());
+    }
+
+    private Map<String, BigDecimal> loadPrices(Collection<String> coinIds) {
+        Instant now = Instant.now();
+        Set<String> missing = new LinkedHashSet<>();
+        Set<String> stale = new LinkedHashSet<>();
+        for (String coinId : coinIds) {
+            CachedPrice cached = prices.get(coinId);
+            if (cached == null || isDue(cached, now, maxStaleSeconds)) {
+                missing.add(coinId);
+            } else if (isDue(cached, now, ttlSeconds)) {
+                stale.add(coinId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            loadBlocking(missing);
+        }
+        if (!stale.isEmpty()) {
+            refreshInBackground(stale);
+        }
+
+        Map<String, BigDecimal> result = new HashMap<>();
+        for (String coinId : coinIds) {
+            CachedPrice cached = prices.get(coinId);
+            result.put(coinId, cached != null ? cached.price() : BigDecimal.ZERO);
+        }
+        return result;
+    }
+
+    /**
+     * Fetch a coin's USD price on a past day from CoinGecko (not cached here; callers
+     * persist what they need through the price history store).
+     * Empty only when CoinGecko has no price for that coin and day; any other failure
+     * (rate limit, timeout, server error) throws IllegalStateException so callers can retry.
+     */
+    public Optional<BigDecimal> fetchHistoricalPrice(String coinId, LocalDate day) {
+        try {
+            String url = String.format(COINGECKO_HISTORY_URL, coinId, day.format(HISTORY_DATE));
+            JsonNode json = objectMapper.readTree(restTemplate.getForObject(url, String.class));
+            JsonNode usd = json.path("market_data").path("current_price").path("usd");
+            return usd.isMissingNode() || usd.isNull() ? Optional.empty() : Optional.of(new BigDecimal(usd.asText()));
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            throw new IllegalStateException("Historical price for " + coinId + " on " + day
+                    + " is unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Look up the CoinGecko id of a token contract (platform is CoinGecko's chain id, e.g. "ethereum").
+     * Empty when CoinGecko does not list the contract; any other failure (rate limit, timeout)
+     * throws IllegalStateException, since it says nothing about the listing.
+     */
+    public Optional<String> lookupCoinIdByContract(String platform, String contractAddress) {
+        try {
+            String url = String.format(COINGECKO_CONTRACT_URL, platform, contractAddress);
+            JsonNode json = objectMapper.readTree(restTemplate.getForObject(url, String.class));
+            String id = json.path("id").asText(null);
+            return Optional.ofNullable(id);
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            throw new IllegalStateException("CoinGecko id lookup failed for " + contractAddress
+                    + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Map token symbols to CoinGecko IDs
+     */
+    public static String toCoinId(String symbol) {
+        return switch (symbol.toUpperCase()) {
+            case "ETH" -> "ethereum";
+            case "BTC" -> "bitcoin";
+            case "MATIC" -> "matic-network";
+            case "SOL" -> "solana";
+            default -> symbol.toLowerCase();
+        };
+    }
+
+    /**
+     * Load prices the caller cannot proceed without. Concurrent callers queue on the
+     * lock and re-check the cache, so a cold dashboard load issues one request.
+     */
+    private void loadBlocking(Set<String> coinIds) {
+        loadLock.lock();
+        try {
+            Instant now = Instant.now();
+            Set<String> stillMissing = new LinkedHashSet<>();
+            for (String coinId : coinIds) {
+                CachedPrice cached = prices.get(coinId);
+                if (cached == null || isDue(cached, now, maxStaleSeconds)) {
+                    stillMissing.add(coinId);
+                }
+            }
+            if (!stillMissing.isEmpty()) {
+                fetch(stillMissing);
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Whether the price is older than the given age and was not attempted within the retry window
+     */
+    private boolean isDue(CachedPrice cached, Instant now, long ageSeconds) {
+        return cached.isOlderThan(now, Duration.ofSeconds(ageSeconds))
+                && !cached.attemptedWithin(now, Duration.ofSeconds(retrySeconds));
+    }
+
+    private void refreshInBackground(Set<String> coinIds) {
+        Set<String> toRefresh = new LinkedHashSet<>();
+        for (String coinId : coinIds) {
+            if (refreshing.add(coinId)) {
+                toRefresh.add(coinId);
+            }
+        }
+        if (toRefresh.isEmpty()) {
+            return;
+        }
+
+        refreshExecutor.execute(() -> {
+            try {
+                fetch(toRefresh);
+            } finally {
+                refreshing.removeAll(toRefresh);
+            }
+        });
+    }
+
+    /**
+     * Fetch prices from CoinGecko in batches. On failure the previous (stale) price is kept,
+     * stamped with the failed attempt so it is not retried before the retry window.
+     */
+    private void fetch(Set<String> coinIds) {
+        List<String> ids = new ArrayList<>(coinIds);
+        for (int i = 0; i < ids.size(); i += MAX_IDS_PER_REQUEST) {
+            List<String> chunk = ids.subList(i, Math.min(i + MAX_IDS_PER_REQUEST, ids.size()));
+            try {
+                String url = String.format(COINGECKO_PRICE_URL, String.join(",", chunk));
+                String response = restTemplate.getForObject(url, String.class);
+                JsonNode json = objectMapper.readTree(response);
+
+                Instant fetchedAt = Instant.now();
+                Map<String, BigDecimal> changed = new HashMap<>();
+                for (String coinId : chunk) {
+                    if (json.has(coinId) && json.get(coinId).has("usd")) {
+                        BigDecimal price = new BigDecimal(json.get(coinId).get("usd").asText());
+                        CachedPrice previous = prices.put(coinId, CachedPrice.found(price, fetchedAt));
+                        String symbol = symbolsByCoinId.getOrDefault(coinId, coinId.toUpperCase());
+                        priceHistoryStore.record(symbol, fetchedAt.toEpochMilli(), price.doubleValue());
+                        if (previous == null || previous.price().compareTo(price) != 0) {
+                            changed.put(symbol, price);
+                        }
+                    } else {
+                        // Unknown to CoinGecko: cache the miss like a price (zero), so requests that
+                        // include it stop re-fetching under the load lock. A known price is kept.
+                        prices.compute(coinId, (id, previous) -> previous == null || !previous.found()
+                                ? CachedPrice.miss(fetchedAt) : previous.attempted(fetchedAt));
+                    }
+                }
+                if (!changed.isEmpty()) {
+                    publish(changed);
+                }
+            } catch (Exception e) {
+                System.err.println("Error fetching token prices " + chunk + ": " + e.getMessage());
+                Instant attemptedAt = Instant.now();
+                for (String coinId : chunk) {
+                    prices.compute(coinId, (id, previous) ->
+                            previous != null ? previous.attempted(attemptedAt) : CachedPrice.failed(attemptedAt));
+                }
+            }
+        }
+    }
+
+    /**
+     * Register a listener called with the symbols whose price changed (on the fetching thread)
+     */
+    public void addListener(Consumer<Map<String, BigDecimal>> listener) {
+        listeners.add(listener);
+    }
+
+    private void publish(Map<String, BigDecimal> changed) {
+        Map<String, String> formatted = new HashMap<>();
+        changed.forEach((symbol, price) -> formatted.put(symbol, price.toPlainString()));
+        eventBroadcaster.broadcast(EventBroadcaster.EVENT_PRICES, Map.of("prices", formatted));
+
+        for (Consumer<Map<String, BigDecimal>> listener : listeners) {
+            try {
+                listener.accept(changed);
+            } catch (Exception e) {
+                System.err.println("Price listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    // found is false for ids CoinGecko returned no price for (cached as zero for the same TTL);
+    // attemptedAt is the last fetch attempt, later than fetchedAt after a failed one
+    private record CachedPrice(BigDecimal price, Instant fetchedAt, boolean found, Instant attemptedAt) {
+        static CachedPrice found(BigDecimal price, Instant fetchedAt) {
+            return new CachedPrice(price, fetchedAt, true, fetchedAt);
+        }
+
+        static CachedPrice miss(Instant fetchedAt) {
+            return new CachedPrice(BigDecimal.ZERO, fetchedAt, false, fetchedAt);
+        }
+
+        // Nothing known yet and the fetch failed: zero until the retry window has passed
+        static CachedPrice failed(Instant attemptedAt) {
+            return new CachedPrice(BigDecimal.ZERO, Instant.EPOCH, false, attemptedAt);
+        }
+
+        CachedPrice attempted(Instant attemptedAt) {
+            return new CachedPrice(price, fetchedAt, found, attemptedAt);
+        }
+
+        boolean isOlderThan(Instant now, Duration age) {
+            return fetchedAt.plus(age).isBefore(now);
+        }
+
+        boolean attemptedWithin(Instant now, Duration window) {
+            return !attemptedAt.plus(window).isBefore(now);
+        }
+    }
+}
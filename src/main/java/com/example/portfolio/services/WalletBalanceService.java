@@ -0,0 +1,122 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.dto.WalletBalanceResult;
+import com.example.portfolio.models.CryptoWallet;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches wallet balances concurrently on a dedicated, bounded pool.
+ * Balances kept fresh by the background sync are served from the database; only wallets
+ * without a recent cached balance are looked up live. Each lookup has its own timeout;
+ * failures are reported per wallet instead of failing the whole request, so latency
+ * tracks the slowest call rather than the sum. A timed-out lookup is cancelled, and wallets
+ * that do not fit in the pool's queue are reported as busy.
+ */
+@Service
+public class WalletBalanceService {
+
+    private final CryptoService cryptoService;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${crypto.balance.timeout-ms:5000}")
+    private long timeoutMs;
+
+    // Longer than the slowest adaptive polling interval, so dormant wallets are still served from cache
+    @Value("${crypto.balance.max-cache-age-seconds:86400}")
+    private long maxCacheAgeSeconds;
+
+    public WalletBalanceService(CryptoService cryptoService,
+                                @Value("${crypto.balance.pool-size:8}") int poolSize,
+                                @Value("${crypto.balance.queue-capacity:200}") int queueCapacity) {
+        this.cryptoService = cryptoService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "wallet-balance-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                // Saturated pool: report the wallet as busy rather than running the lookup on the
+                // request thread, where the per-lookup timeout could not apply
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Fetch balances for all wallets, using cached balances where fresh and live lookups
+     * in parallel for the rest. Result is keyed by wallet ID and preserves the input order.
+     */
+    public Map<Integer, WalletBalanceResult> fetchBalances(List<CryptoWallet> wallets) {
+        LocalDateTime oldestFresh = LocalDateTime.now().minusSeconds(maxCacheAgeSeconds);
+
+        Map<Integer, CompletableFuture<WalletBalanceResult>> futures = new LinkedHashMap<>();
+        for (CryptoWallet wallet : wallets) {
+            if (wallet.getCachedBalance() != null && wallet.getBalanceUpdatedAt() != null
+                    && wallet.getBalanceUpdatedAt().isAfter(oldestFresh)) {
+                futures.put(wallet.getId(), CompletableFuture.completedFuture(
+                        WalletBalanceResult.cached(wallet.getCachedBalance(), wallet.getBalanceUpdatedAt())));
+            } else {
+                futures.put(wallet.getId(), fetchAsync(wallet));
+            }
+        }
+
+        Map<Integer, WalletBalanceResult> results = new LinkedHashMap<>();
+        futures.forEach((walletId, future) -> results.put(walletId, future.join()));
+        return results;
+    }
+
+    private CompletableFuture<WalletBalanceResult> fetchAsync(CryptoWallet wallet) {
+        CompletableFuture<WalletBalanceResult> result = new CompletableFuture<>();
+        Future<?> lookup;
+        try {
+            lookup = executor.submit(() -> {
+                try {
+                    result.complete(WalletBalanceResult.ok(cryptoService.fetchWalletBalance(wallet)));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("Balance lookup pool saturated; skipping wallet " + wallet.getId());
+            return CompletableFuture.completedFuture(WalletBalanceResult.busy());
+        }
+
+        return result
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        lookup.cancel(true); // Interrupt the lookup instead of letting it hold a pool thread
+                        System.err.println("Balance lookup timed out for wallet " + wallet.getId());
+                        return WalletBalanceResult.timeout();
+                    }
+                    System.err.println("Error fetching balance for wallet " + wallet.getId() + ": " + cause.getMessage());
+                    return WalletBalanceResult.error(cause.getMessage());
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.models.CryptoWallet;
+import com.example.portfolio.repositories.CryptoWalletRepository;
+import com.example.portfolio.services.events.EventBroadcaster;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Syncs every crypto wallet in the background so dashboard reads come from the database.
+ * Each wallet carries its own polling interval: it halves when a sync finds new transactions
+ * or a balance change and doubles when nothing happened (or the sync failed), within
+ * configured bounds. Next-run times are jittered so wallets added together drift apart,
+ * and at most crypto.sync.max-concurrent syncs run at once across all users.
+ * Balance changes and new transactions are pushed to the owner's live event stream.
+ */
+@Service
+public class WalletSyncScheduler {
+
+    private final CryptoWalletRepository cryptoWalletRepository;
+    private final CryptoService cryptoService;
+    private final EventBroadcaster eventBroadcaster;
+    private final NetWorthService netWorthService;
+    private final ExecutorService executor;
+    private final int maxConcurrent;
+
+    // Wallets currently being synced; doubles as the global concurrency count
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${crypto.sync.min-interval-seconds:120}")
+    private int minIntervalSeconds;
+
+    @Value("${crypto.sync.max-interval-seconds:21600}")
+    private int maxIntervalSeconds;
+
+    @Value("${crypto.sync.initial-interval-seconds:900}")
+    private int initialIntervalSeconds;
+
+    @Value("${crypto.sync.jitter-ratio:0.2}")
+    private double jitterRatio;
+
+    public WalletSyncScheduler(CryptoWalletRepository cryptoWalletRepository, CryptoService cryptoService,
+                               EventBroadcaster eventBroadcaster, NetWorthService netWorthService,
+                               @Value("${crypto.sync.max-concurrent:4}") int maxConcurrent) {
+        this.cryptoWalletRepository = cryptoWalletRepository;
+        this.cryptoService = cryptoService;
+        this.eventBroadcaster = eventBroadcaster;
+        this.netWorthService = netWorthService;
+        this.maxConcurrent = maxConcurrent;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, r -> {
+            Thread t = new Thread(r, "wallet-sync-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Dispatch wallets whose next sync is due, up to the free concurrency slots.
+     * Wallets that do not fit stay due and are picked up on a later tick.
+     */
+    @Scheduled(fixedDelayString = "${crypto.sync.poll-interval-ms:15000}",
+               initialDelayString = "${crypto.sync.initial-delay-ms:30000}")
+    public void dispatchDueWallets() {
+        int busy = inFlight.size();
+        if (busy >= maxConcurrent) {
+            return;
+        }
+
+        // In-flight wallets are still due, so ask for enough rows to skip past them
+        List<CryptoWallet> due = cryptoWalletRepository.findDueForSync(
+                LocalDateTime.now(), PageRequest.of(0, maxConcurrent + busy));
+
+        List<CryptoWallet> dispatched = new ArrayList<>();
+        for (CryptoWallet wallet : due) {
+            if (dispatched.size() + busy >= maxConcurrent) {
+                break;
+            }
+            if (inFlight.add(wallet.getId())) {
+                dispatched.add(wallet);
+            }
+        }
+        if (dispatched.isEmpty()) {
+            return;
+        }
+
+        // The balance lookup is a network call, so it runs on the sync pool rather than the
+        // shared scheduler thread; it then fans the sweep's wallets out to the pool
+        executor.execute(() -> syncSweep(dispatched));
+    }
+
+    private void syncSweep(List<CryptoWallet> dispatched) {
+        // One multi-address lookup per chain for the whole sweep instead of one call per wallet
+        Map<Integer, BigDecimal> balances;
+        try {
+            balances = cryptoService.fetchWalletBalances(dispatched);
+        } catch (Exception e) {
+            System.err.println("Batched balance lookup failed; wallets fetch their own: " + e.getMessage());
+            balances = Map.of();
+        }
+
+        for (CryptoWallet wallet : dispatched) {
+            BigDecimal prefetched = balances.get(wallet.getId());
+            executor.execute(() -> {
+                try {
+                    syncWallet(wallet, prefetched);
+                } finally {
+                    inFlight.remove(wallet.getId());
+                }
+            });
+        }
+    }
+
+    /**
+     * Sync transactions and balance for one wallet, then schedule its next run.
+     * The balance comes from the sweep's batched lookup when it succeeded for this wallet.
+     */
+    private void syncWallet(CryptoWallet wallet, BigDecimal prefetchedBalance) {
+        int interval = wallet.getSyncIntervalSeconds() != null ? wallet.getSyncIntervalSeconds() : initialIntervalSeconds;
+
+        try {
+            int newTransactions = cryptoService.syncTransactions(wallet).size();
+            BigDecimal balance = prefetchedBalance != null ? prefetchedBalance : cryptoService.fetchWalletBalance(wallet);
+
+            // The first balance we see is not activity; later changes are
+            BigDecimal previous = wallet.getCachedBalance();
+            boolean balanceChanged = previous != null && previous.compareTo(balance) != 0;
+
+            wallet.setCachedBalance(balance);
+            wallet.setBalanceUpdatedAt(LocalDateTime.now());
+
+            if (previous == null || balanceChanged || newTransactions > 0) {
+                publishBalance(wallet, newTransactions);
+            }
+            if (previous == null || balanceChanged) {
+                netWorthService.onWalletBalanceChanged(wallet.getOwner().getId(), wallet);
+            }
+
+            interval = (newTransactions > 0 || balanceChanged) ? interval / 2 : interval * 2;
+        } catch (Exception e) {
+            System.err.println("Background sync failed for wallet " + wallet.getId() + ": " + e.getMessage());
+            interval = interval * 2;
+        }
+
+        interval = Math.max(minIntervalSeconds, Math.min(maxIntervalSeconds, interval));
+        wallet.setSyncIntervalSeconds(interval);
+        wallet.setNextSyncAt(LocalDateTime.now().plusSeconds(jittered(interval)));
+
+        try {
+            cryptoWalletRepository.save(wallet);
+        } catch (Exception e) {
+            // Wallet deleted mid-sync
+            System.err.println("Could not save sync schedule for wallet " + wallet.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private void publishBalance(CryptoWallet wallet, int newTransactions) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("walletId", wallet.getId());
+        data.put("balance", wallet.getCachedBalance().toString());
+        data.put("balanceUpdatedAt", wallet.getBalanceUpdatedAt().toString());
+        data.put("newTransactions", newTransactions);
+        // Owner is a lazy proxy; reading its ID does not need a session
+        eventBroadcaster.sendToUser(wallet.getOwner().getId(), EventBroadcaster.EVENT_WALLET_BALANCE, data);
+    }
+
+    private long jittered(int intervalSeconds) {
+        double factor = 1 + jitterRatio * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Math.max(1, Math.round(intervalSeconds * factor));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.portfolio.services.blockchain;
+
+import com.example.portfolio.http.JsonStreamReader;
+import com.example.portfolio.http.OutboundHttpClients;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Base class giving each provider its own named outbound HTTP client (and therefore its own
+ * connection pool), timeouts and concurrency limit, so a slow chain cannot starve the others.
+ */
+public abstract class AbstractBlockchainProvider implements BlockchainProvider {
+
+    protected final RestTemplate restTemplate;
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+    protected final JsonStreamReader jsonStreamReader = new JsonStreamReader(objectMapper);
+
+    private final ProviderSettings settings;
+    private final Semaphore inFlight;
+
+    protected AbstractBlockchainProvider(OutboundHttpClients httpClients, ProviderSettings settings) {
+        this.settings = settings;
+        this.inFlight = new Semaphore(settings.getMaxConcurrentRequests(), true);
+        this.restTemplate = httpClients.restTemplate(
+                settings.getName(), settings.getConnectTimeout(), settings.getReadTimeout());
+    }
+
+    protected ProviderSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Run a provider call within this provider's concurrency limit.
+     * Callers wait at most one read timeout for a free slot.
+     */
+    protected <T> T call(Callable<T> request) throws Exception {
+        if (!inFlight.tryAcquire(settings.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException(chain() + " provider is saturated");
+        }
+        try {
+            return request.call();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /**
+     * GET a JSON object and stream the elements of one of its array fields to the consumer,
+     * one typed record at a time. Returns the response's top-level scalar fields.
+     */
+    protected <T> Map<String, String> streamArray(String url, String arrayField, Class<T> type,
+                                                  Consumer<T> consumer) {
+        return restTemplate.execute(url, HttpMethod.GET, null,
+                response -> jsonStreamReader.readArray(response.getBody(), arrayField, type, consumer));
+    }
+}
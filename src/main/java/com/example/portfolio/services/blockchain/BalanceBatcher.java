@@ -0,0 +1,119 @@
+package com.example.portfolio.services.blockchain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces single-address balance lookups into multi-address calls.
+ * Requests arriving within a short window (from any user's wallets) are sent together,
+ * up to the API's per-call address limit; a full batch is sent without waiting.
+ * Calls run on one thread per provider, so batches for a chain go out one at a time.
+ */
+final class BalanceBatcher {
+
+    /**
+     * One multi-address call, returning balances keyed by lower-case address
+     */
+    @FunctionalInterface
+    interface MultiFetch {
+        Map<String, BigDecimal> fetch(List<String> addresses) throws Exception;
+    }
+
+    private final MultiFetch multiFetch;
+    private final int maxBatchSize;
+    private final long windowMs;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private List<Pending> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    BalanceBatcher(String name, MultiFetch multiFetch, int maxBatchSize, long windowMs) {
+        this.multiFetch = multiFetch;
+        this.maxBatchSize = maxBatchSize;
+        this.windowMs = windowMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "balance-batch-" + name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Queue a lookup; the future completes when the batch containing it returns
+     */
+    CompletableFuture<BigDecimal> submit(String address) {
+        Pending request = new Pending(address.toLowerCase(), new CompletableFuture<>());
+        synchronized (lock) {
+            pending.add(request);
+            if (pending.size() >= maxBatchSize) {
+                List<Pending> batch = pending;
+                pending = new ArrayList<>();
+                flushScheduled = false;
+                scheduler.execute(() -> send(batch));
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flushWindow, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        return request.result();
+    }
+
+    private void flushWindow() {
+        List<Pending> batch;
+        synchronized (lock) {
+            if (!flushScheduled) {
+                return; // Already sent as a full batch
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+        send(batch);
+    }
+
+    private void send(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> addresses = batch.stream().map(Pending::address).distinct().toList();
+            Map<String, BigDecimal> balances = multiFetch.fetch(addresses);
+            for (Pending request : batch) {
+                BigDecimal balance = balances.get(request.address());
+                if (balance != null) {
+                    request.result().complete(balance);
+                } else {
+                    request.result().completeExceptionally(
+                            new IllegalStateException("No balance returned for " + request.address()));
+                }
+            }
+        } catch (Exception e) {
+            batch.forEach(request -> request.result().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Stop the flush thread; lookups still queued fail instead of waiting out their timeout
+     */
+    void shutdown() {
+        scheduler.shutdownNow();
+        List<Pending> dropped;
+        synchronized (lock) {
+            dropped = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+        dropped.forEach(request -> request.result().completeExceptionally(
+                new IllegalStateException("Balance lookups are shutting down")));
+    }
+
+    private record Pending(String address, CompletableFuture<BigDecimal> result) {
+    }
+}
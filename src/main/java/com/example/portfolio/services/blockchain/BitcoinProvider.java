@@ -0,0 +1,164 @@
+package com.example.portfolio.services.blockchain;
+
+import com.example.portfolio.http.HedgedEndpoint;
+import com.example.portfolio.http.HedgedRequestExecutor;
+import com.example.portfolio.http.OutboundHttpClients;
+import com.example.portfolio.models.CryptoTransaction;
+import com.example.portfolio.models.CryptoWallet;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Bitcoin provider backed by the Blockchain.com public API.
+ */
+@Component
+public class BitcoinProvider extends AbstractBlockchainProvider {
+
+    private static final Pattern BITCOIN_ADDRESS_PATTERN = Pattern.compile("^(1|3|bc1)[a-zA-Z0-9]{25,62}$");
+
+    private static final int PAGE_SIZE = 50;
+
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+    private final HedgedEndpoint primaryBalanceEndpoint;
+    private final HedgedEndpoint fallbackBalanceEndpoint;
+    private final Duration balanceTimeout;
+
+    public BitcoinProvider(OutboundHttpClients httpClients, HedgedRequestExecutor hedgedRequestExecutor, Environment env) {
+        super(httpClients, ProviderSettings.from(env, "bitcoin"));
+        this.hedgedRequestExecutor = hedgedRequestExecutor;
+
+        ProviderSettings settings = getSettings();
+        this.balanceTimeout = settings.getReadTimeout();
+        this.primaryBalanceEndpoint = new HedgedEndpoint("blockchain.info/q/addressbalance",
+                0.9, Duration.ofMillis(800), Duration.ofMillis(100), settings.getReadTimeout());
+        this.fallbackBalanceEndpoint = new HedgedEndpoint("blockchain.info/balance",
+                0.9, Duration.ofMillis(800), Duration.ofMillis(100), settings.getReadTimeout());
+    }
+
+    @Override
+    public String chain() {
+        return "bitcoin";
+    }
+
+    @Override
+    public String nativeSymbol() {
+        return "BTC";
+    }
+
+    @Override
+    public boolean isValidAddress(String address) {
+        return BITCOIN_ADDRESS_PATTERN.matcher(address).matches();
+    }
+
+    /**
+     * Balance lookup hedged across two Blockchain.com endpoints: if q/addressbalance has not
+     * answered by its p90 latency (or fails), balance?active= is fired and the first answer wins.
+     * Either endpoint is skipped while its circuit breaker is open.
+     */
+    @Override
+    public BigDecimal getBalance(String address) throws Exception {
+        return hedgedRequestExecutor.execute(
+                primaryBalanceEndpoint, () -> call(() -> fetchPrimaryBalance(address)),
+                fallbackBalanceEndpoint, () -> call(() -> fetchFallbackBalance(address)),
+                balanceTimeout);
+    }
+
+    private BigDecimal fetchPrimaryBalance(String address) {
+        String url = String.format("https://blockchain.info/q/addressbalance/%s", address);
+        String response = restTemplate.getForObject(url, String.class);
+
+        // Response is just the balance in Satoshis as plain text
+        return ChainAmount.parse(response, ChainAmount.SATOSHI_DECIMALS).toBigDecimal();
+    }
+
+    private BigDecimal fetchFallbackBalance(String address) throws Exception {
+        String fallbackUrl = String.format("https://blockchain.info/balance?active=%s", address);
+        JsonNode json = objectMapper.readTree(restTemplate.getForObject(fallbackUrl, String.class));
+
+        if (!json.has(address)) {
+            throw new IllegalStateException("Address missing from blockchain.info response");
+        }
+
+        long balanceSatoshis = json.get(address).get("final_balance").asLong();
+        return ChainAmount.ofSatoshis(balanceSatoshis).toBigDecimal();
+    }
+
+    @Override
+    public boolean supportsBlockCheckpoint() {
+        // rawaddr only pages newest-first by offset; there is no block range filter
+        return false;
+    }
+
+    @Override
+    public int pageSize() {
+        return PAGE_SIZE;
+    }
+
+    @Override
+    public List<CryptoTransaction> fetchTransactionPage(CryptoWallet wallet, long startBlock, int page) throws Exception {
+        String url = String.format(
+            "https://blockchain.info/rawaddr/%s?limit=%d&offset=%d",
+            wallet.getWalletAddress(),
+            PAGE_SIZE,
+            (page - 1) * PAGE_SIZE
+        );
+
+        // rawaddr pages can be large (every input and output of every tx); stream them one tx at a time
+        List<CryptoTransaction> pageTxs = new ArrayList<>(PAGE_SIZE);
+        call(() -> streamArray(url, "txs", BitcoinTx.class, tx -> pageTxs.add(toTransaction(wallet, tx))));
+
+        return pageTxs;
+    }
+
+    private CryptoTransaction toTransaction(CryptoWallet wallet, BitcoinTx tx) {
+        LocalDateTime date = LocalDateTime.ofInstant(
+            Instant.ofEpochSecond(tx.time()),
+            ZoneId.systemDefault()
+        );
+
+        String fromAddress = tx.inputs() != null && !tx.inputs().isEmpty() && tx.inputs().get(0).prevOut() != null
+                ? tx.inputs().get(0).prevOut().addr() : "unknown";
+        String toAddress = tx.out() != null && !tx.out().isEmpty() ? tx.out().get(0).addr() : "unknown";
+
+        // Calculate amount and determine type
+        ChainAmount result = ChainAmount.ofSatoshis(tx.result() != null ? tx.result() : 0);
+        BigDecimal amount = result.abs().toBigDecimal();
+        String type = result.signum() < 0 ? "send" : "receive";
+
+        CryptoTransaction cryptoTx = new CryptoTransaction(
+            tx.hash(), wallet, date, fromAddress, toAddress, amount, "BTC", type
+        );
+        cryptoTx.setBlockNumber(tx.blockHeight());
+        return cryptoTx;
+    }
+
+    /**
+     * One entry of a rawaddr "txs" array. Only addresses are bound from inputs and outputs;
+     * scripts, witnesses and spending data are skipped by the parser.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BitcoinTx(String hash, long time, Long result,
+                     @JsonProperty("block_height") Long blockHeight,
+                     List<Input> inputs, List<Output> out) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Input(@JsonProperty("prev_out") Output prevOut) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Output(String addr) {
+    }
+}
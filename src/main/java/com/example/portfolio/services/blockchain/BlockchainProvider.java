@@ -0,0 +1,89 @@
+package com.example.portfolio.services.blockchain;
+
+import com.example.portfolio.models.CryptoTransaction;
+import com.example.portfolio.models.CryptoWallet;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only access to one blockchain's public data (balances and transaction history).
+ * Providers are Spring beans registered per chain; {@link BlockchainProviderRegistry}
+ * routes wallets to them by their blockchain name, so adding a chain means adding a bean.
+ */
+public interface BlockchainProvider {
+
+    /**
+     * Chain name as stored on CryptoWallet.blockchain (lower case, e.g. "ethereum")
+     */
+    String chain();
+
+    /**
+     * Native token symbol used for price lookups (e.g. "ETH")
+     */
+    String nativeSymbol();
+
+    /**
+     * Check an address against this chain's format
+     */
+    boolean isValidAddress(String address);
+
+    /**
+     * Canonical form of an address, used to recognise wallets that track the same address
+     * (EVM addresses are case-insensitive; Bitcoin addresses are not)
+     */
+    default String normalizeAddress(String address) {
+        return address.trim();
+    }
+
+    /**
+     * Native balance of an address, in whole tokens. Throws if the provider call fails.
+     */
+    BigDecimal getBalance(String address) throws Exception;
+
+    /**
+     * Native balances of several addresses, keyed by {@link #normalizeAddress} form. Providers
+     * with a multi-address API override this; the default looks each address up in turn.
+     */
+    default Map<String, BigDecimal> getBalances(Collection<String> addresses) throws Exception {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (String address : addresses) {
+            balances.put(normalizeAddress(address), getBalance(address));
+        }
+        return balances;
+    }
+
+    /**
+     * Whether fetchTransactionPage honours startBlock, so syncs can resume from a checkpoint
+     */
+    boolean supportsBlockCheckpoint();
+
+    /**
+     * Number of rows a full transaction page contains
+     */
+    int pageSize();
+
+    /**
+     * Fetch one page of transactions for a wallet as unsaved entities.
+     * Checkpoint-capable providers return rows at or above startBlock in ascending block order.
+     */
+    List<CryptoTransaction> fetchTransactionPage(CryptoWallet wallet, long startBlock, int page) throws Exception;
+
+    /**
+     * Whether this chain has token transfers separate from native transactions (ERC-20)
+     */
+    default boolean supportsTokenTransfers() {
+        return false;
+    }
+
+    /**
+     * Fetch one page of token transfers involving a wallet as unsaved entities, at or above
+     * startBlock in ascending block order. Amounts are in whole tokens.
+     */
+    default List<CryptoTransaction> fetchTokenTransferPage(CryptoWallet wallet, long startBlock, int page) throws Exception {
+        return List.of();
+    }
+}
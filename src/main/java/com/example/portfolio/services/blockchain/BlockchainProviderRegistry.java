@@ -0,0 +1,32 @@
+package com.example.portfolio.services.blockchain;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Looks up the provider registered for a chain name.
+ */
+@Component
+public class BlockchainProviderRegistry {
+
+    private final Map<String, BlockchainProvider> providers;
+
+    public BlockchainProviderRegistry(List<BlockchainProvider> providers) {
+        this.providers = providers.stream()
+                .collect(Collectors.toUnmodifiableMap(p -> p.chain().toLowerCase(), Function.identity()));
+    }
+
+    public Optional<BlockchainProvider> find(String chain) {
+        return chain == null ? Optional.empty() : Optional.ofNullable(providers.get(chain.toLowerCase()));
+    }
+
+    public Collection<BlockchainProvider> all() {
+        return providers.values();
+    }
+}
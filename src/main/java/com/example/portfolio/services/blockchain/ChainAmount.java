@@ -0,0 +1,119 @@
+package com.example.portfolio.services.blockchain;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * An on-chain amount held as an integer count of base units (wei, satoshi) plus the number of
+ * decimals of the chain's native unit. Provider responses are parsed straight into this form;
+ * it is turned into a BigDecimal (a rescale, never a division) only when stored.
+ *
+ * Values that fit in a long stay on a primitive fast path; larger ones fall back to BigInteger.
+ */
+public final class ChainAmount {
+
+    public static final int WEI_DECIMALS = 18;
+    public static final int SATOSHI_DECIMALS = 8;
+
+    // Any run of up to 18 decimal digits fits in a long
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private final long units;
+    private final BigInteger bigUnits; // null when the value fits in units
+    private final int decimals;
+
+    private ChainAmount(long units, BigInteger bigUnits, int decimals) {
+        this.units = units;
+        this.bigUnits = bigUnits;
+        this.decimals = decimals;
+    }
+
+    public static ChainAmount ofUnits(long units, int decimals) {
+        return new ChainAmount(units, null, decimals);
+    }
+
+    public static ChainAmount ofWei(String wei) {
+        return parse(wei, WEI_DECIMALS);
+    }
+
+    public static ChainAmount ofSatoshis(long satoshis) {
+        return ofUnits(satoshis, SATOSHI_DECIMALS);
+    }
+
+    /**
+     * Parse an integer count of base units, as returned by explorer APIs ("1500000000000000000").
+     */
+    public static ChainAmount parse(String units, int decimals) {
+        String digits = units.trim();
+        int signLength = digits.startsWith("-") || digits.startsWith("+") ? 1 : 0;
+        if (digits.length() - signLength <= MAX_LONG_DIGITS) {
+            return new ChainAmount(Long.parseLong(digits), null, decimals);
+        }
+        return of(new BigInteger(digits), decimals);
+    }
+
+    private static ChainAmount of(BigInteger units, int decimals) {
+        if (units.bitLength() < Long.SIZE) {
+            return new ChainAmount(units.longValue(), null, decimals);
+        }
+        return new ChainAmount(0L, units, decimals);
+    }
+
+    /**
+     * Multiply by a plain count, e.g. gas price (wei) times gas used.
+     */
+    public ChainAmount times(long factor) {
+        if (bigUnits == null) {
+            long hi = Math.multiplyHigh(units, factor);
+            long lo = units * factor;
+            if ((hi == 0 && lo >= 0) || (hi == -1 && lo < 0)) {
+                return new ChainAmount(lo, null, decimals);
+            }
+        }
+        return of(toBigInteger().multiply(BigInteger.valueOf(factor)), decimals);
+    }
+
+    public ChainAmount abs() {
+        if (bigUnits == null) {
+            return units == Long.MIN_VALUE ? of(BigInteger.valueOf(units).negate(), decimals)
+                    : new ChainAmount(Math.abs(units), null, decimals);
+        }
+        return new ChainAmount(0L, bigUnits.abs(), decimals);
+    }
+
+    public int signum() {
+        return bigUnits == null ? Long.signum(units) : bigUnits.signum();
+    }
+
+    public int getDecimals() {
+        return decimals;
+    }
+
+    /**
+     * Amount in the chain's native unit (ETH, BTC, ...) at full precision.
+     */
+    public BigDecimal toBigDecimal() {
+        return bigUnits == null ? BigDecimal.valueOf(units, decimals) : new BigDecimal(bigUnits, decimals);
+    }
+
+    private BigInteger toBigInteger() {
+        return bigUnits == null ? BigInteger.valueOf(units) : bigUnits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChainAmount other)) return false;
+        return decimals == other.decimals && toBigInteger().equals(other.toBigInteger());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * toBigInteger().hashCode() + decimals;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
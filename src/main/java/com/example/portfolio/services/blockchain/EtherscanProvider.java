@@ -0,0 +1,285 @@
+package com.example.portfolio.services.blockchain;
+
+import com.example.portfolio.http.OutboundHttpClients;
+import com.example.portfolio.models.CryptoTransaction;
+import com.example.portfolio.models.CryptoWallet;
+import com.example.portfolio.models.TokenMetadata;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PreDestroy;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Provider for EVM chains served by an Etherscan-compatible API
+ * (Etherscan, Polygonscan, Arbiscan, Optimistic Etherscan).
+ * Native transactions come from txlist and ERC-20 transfers from tokentx; balances are
+ * looked up with balancemulti, up to 20 addresses per call.
+ */
+public class EtherscanProvider extends AbstractBlockchainProvider {
+
+    private static final Pattern EVM_ADDRESS_PATTERN = Pattern.compile("^0x[a-fA-F0-9]{40}$");
+
+    // Etherscan-style paging (page * offset may not exceed 10,000)
+    private static final int PAGE_SIZE = 100;
+
+    // balancemulti accepts at most 20 addresses per call
+    private static final int MAX_ADDRESSES_PER_BALANCE_CALL = 20;
+
+    private final String chain;
+    private final String nativeSymbol;
+    private final String apiBaseUrl;
+    private final String apiKey;
+    private final TokenMetadataCache tokenMetadataCache;
+    private final BalanceBatcher balanceBatcher;
+
+    public EtherscanProvider(String chain, String nativeSymbol, String apiBaseUrl, String apiKey,
+                             TokenMetadataCache tokenMetadataCache,
+                             OutboundHttpClients httpClients, ProviderSettings settings) {
+        super(httpClients, settings);
+        this.chain = chain;
+        this.nativeSymbol = nativeSymbol;
+        this.apiBaseUrl = apiBaseUrl;
+        this.apiKey = apiKey;
+        this.tokenMetadataCache = tokenMetadataCache;
+        this.balanceBatcher = new BalanceBatcher(chain, this::fetchBalances,
+                MAX_ADDRESSES_PER_BALANCE_CALL, settings.getBalanceBatchWindow().toMillis());
+    }
+
+    @Override
+    public String chain() {
+        return chain;
+    }
+
+    @Override
+    public String nativeSymbol() {
+        return nativeSymbol;
+    }
+
+    @Override
+    public boolean isValidAddress(String address) {
+        return EVM_ADDRESS_PATTERN.matcher(address).matches();
+    }
+
+    @Override
+    public String normalizeAddress(String address) {
+        return address.trim().toLowerCase();
+    }
+
+    /**
+     * Single lookups are queued and sent with any others arriving in the same short window
+     * as one balancemulti call
+     */
+    @Override
+    public BigDecimal getBalance(String address) throws Exception {
+        long waitMs = getSettings().getBalanceBatchWindow().toMillis() + 2 * getSettings().getReadTimeout().toMillis();
+        try {
+            return balanceBatcher.submit(address).get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * Balances of many addresses (e.g. a whole scheduler sweep), 20 per balancemulti call
+     */
+    @Override
+    public Map<String, BigDecimal> getBalances(Collection<String> addresses) throws Exception {
+        List<String> distinct = addresses.stream().map(this::normalizeAddress).distinct().toList();
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (int i = 0; i < distinct.size(); i += MAX_ADDRESSES_PER_BALANCE_CALL) {
+            balances.putAll(fetchBalances(
+                    distinct.subList(i, Math.min(i + MAX_ADDRESSES_PER_BALANCE_CALL, distinct.size()))));
+        }
+        return balances;
+    }
+
+    private Map<String, BigDecimal> fetchBalances(List<String> addresses) throws Exception {
+        String url = String.format(
+            "%s?module=account&action=balancemulti&address=%s&tag=latest&apikey=%s",
+            apiBaseUrl,
+            String.join(",", addresses),
+            apiKey
+        );
+
+        JsonNode json = call(() -> objectMapper.readTree(restTemplate.getForObject(url, String.class)));
+
+        if (!json.get("status").asText().equals("1")) {
+            throw new IllegalStateException(chain + " API error: " + json.path("result").asText());
+        }
+
+        // Balances are in Wei (1 ETH = 10^18 Wei)
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (JsonNode entry : json.get("result")) {
+            balances.put(entry.get("account").asText().toLowerCase(),
+                    ChainAmount.ofWei(entry.get("balance").asText()).toBigDecimal());
+        }
+        return balances;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        balanceBatcher.shutdown();
+    }
+
+    @Override
+    public boolean supportsBlockCheckpoint() {
+        return true;
+    }
+
+    @Override
+    public int pageSize() {
+        return PAGE_SIZE;
+    }
+
+    @Override
+    public List<CryptoTransaction> fetchTransactionPage(CryptoWallet wallet, long startBlock, int page) throws Exception {
+        String url = accountListUrl("txlist", wallet, startBlock, page);
+
+        List<CryptoTransaction> pageTxs = new ArrayList<>(PAGE_SIZE);
+        Map<String, String> envelope = call(() -> streamArray(url, "result", EtherscanTx.class,
+                tx -> pageTxs.add(toTransaction(wallet, tx))));
+        checkEnvelope(envelope);
+
+        return pageTxs;
+    }
+
+    @Override
+    public boolean supportsTokenTransfers() {
+        return true;
+    }
+
+    @Override
+    public List<CryptoTransaction> fetchTokenTransferPage(CryptoWallet wallet, long startBlock, int page) throws Exception {
+        String url = accountListUrl("tokentx", wallet, startBlock, page);
+
+        List<CryptoTransaction> pageTxs = new ArrayList<>(PAGE_SIZE);
+        Map<String, Integer> ordinals = new HashMap<>();
+        Map<String, String> envelope = call(() -> streamArray(url, "result", EtherscanTokenTx.class,
+                tx -> pageTxs.add(toTokenTransfer(wallet, tx, ordinals))));
+        checkEnvelope(envelope);
+
+        return pageTxs;
+    }
+
+    private String accountListUrl(String action, CryptoWallet wallet, long startBlock, int page) {
+        return String.format(
+            "%s?module=account&action=%s&address=%s&startblock=%d&endblock=99999999&page=%d&offset=%d&sort=asc&apikey=%s",
+            apiBaseUrl,
+            action,
+            wallet.getWalletAddress(),
+            startBlock,
+            page,
+            PAGE_SIZE,
+            apiKey
+        );
+    }
+
+    private static void checkEnvelope(Map<String, String> envelope) {
+        if (!"1".equals(envelope.get("status")) && envelope.containsKey("result")) {
+            // "No transactions found" comes back as status 0 with an empty result array;
+            // a scalar result is the error message
+            throw new IllegalStateException(envelope.get("result"));
+        }
+    }
+
+    private CryptoTransaction toTransaction(CryptoWallet wallet, EtherscanTx tx) {
+        LocalDateTime date = LocalDateTime.ofInstant(
+            Instant.ofEpochSecond(tx.timeStamp()),
+            ZoneId.systemDefault()
+        );
+
+        // Convert Wei to native units
+        BigDecimal amount = ChainAmount.ofWei(tx.value()).toBigDecimal();
+
+        // Determine transaction type
+        String type = tx.from().equalsIgnoreCase(wallet.getWalletAddress()) ? "send" : "receive";
+
+        // Gas fee (gas price in wei times gas used; stays on longs unless it overflows)
+        BigDecimal gasFee = ChainAmount.ofWei(tx.gasPrice()).times(tx.gasUsed()).toBigDecimal();
+
+        CryptoTransaction cryptoTx = new CryptoTransaction(
+            tx.hash(), wallet, date, tx.from(), tx.to(), amount, nativeSymbol, type
+        );
+        cryptoTx.setGasFee(gasFee);
+        cryptoTx.setBlockNumber(tx.blockNumber());
+        cryptoTx.setConfirmations(tx.confirmations());
+        return cryptoTx;
+    }
+
+    /**
+     * @param ordinals transfers seen so far on this page per transaction hash and contract,
+     *                 for rows that come without a logIndex
+     */
+    private CryptoTransaction toTokenTransfer(CryptoWallet wallet, EtherscanTokenTx tx, Map<String, Integer> ordinals) {
+        LocalDateTime date = LocalDateTime.ofInstant(
+            Instant.ofEpochSecond(tx.timeStamp()),
+            ZoneId.systemDefault()
+        );
+
+        // Decimals and symbol come from the metadata cache, so every transfer of a contract
+        // is scaled the same way regardless of what this row reports
+        int reportedDecimals = tx.tokenDecimal() != null && !tx.tokenDecimal().isEmpty()
+                ? Integer.parseInt(tx.tokenDecimal()) : 0;
+        TokenMetadata token = tokenMetadataCache.resolve(
+                chain, tx.contractAddress(), tx.tokenSymbol(), tx.tokenName(), reportedDecimals);
+        BigDecimal amount = ChainAmount.parse(tx.value(), token.getDecimals()).toBigDecimal();
+
+        String address = wallet.getWalletAddress();
+        String type;
+        if (tx.from().equalsIgnoreCase(address) && tx.to().equalsIgnoreCase(address)) {
+            type = "self";
+        } else {
+            type = tx.from().equalsIgnoreCase(address) ? "send" : "receive";
+        }
+
+        // Gas is already recorded on the native transaction with the same hash
+        CryptoTransaction cryptoTx = new CryptoTransaction(
+            tx.hash(), wallet, date, tx.from(), tx.to(), amount, token.getSymbol(), type
+        );
+        cryptoTx.setContractAddress(token.getContractAddress());
+        // (hash, contract, logIndex) identifies a transfer. Explorers that omit logIndex still
+        // list a transaction's transfers together and in log order, so their position within
+        // the transaction stands in for it; it is stored negative (from -2, as -1 marks native
+        // transfers) so it never collides with a real index
+        if (tx.logIndex() != null) {
+            cryptoTx.setLogIndex(tx.logIndex());
+        } else {
+            int ordinal = ordinals.merge(tx.hash() + ":" + token.getContractAddress(), 1, Integer::sum) - 1;
+            cryptoTx.setLogIndex(-2 - ordinal);
+        }
+        cryptoTx.setBlockNumber(tx.blockNumber());
+        cryptoTx.setConfirmations(tx.confirmations());
+        return cryptoTx;
+    }
+
+    /**
+     * One row of an Etherscan txlist result. Numeric fields arrive as JSON strings;
+     * wei amounts stay strings since they can exceed a long.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record EtherscanTx(String hash, long blockNumber, long timeStamp, String from, String to,
+                       String value, long gasUsed, String gasPrice, Integer confirmations) {
+    }
+
+    /**
+     * One row of an Etherscan tokentx (ERC-20 transfer event) result. value is in the
+     * token's smallest unit.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record EtherscanTokenTx(String hash, long blockNumber, long timeStamp, String from, String to,
+                            String value, String contractAddress, String tokenName, String tokenSymbol,
+                            String tokenDecimal, Integer logIndex, Integer confirmations) {
+    }
+}
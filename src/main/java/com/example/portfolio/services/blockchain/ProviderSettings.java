@@ -0,0 +1,59 @@
+package com.example.portfolio.services.blockchain;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Per-provider HTTP settings, read from crypto.providers.&lt;chain&gt;.* properties.
+ */
+public class ProviderSettings {
+
+    private final String name;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final int maxConcurrentRequests;
+    private final Duration balanceBatchWindow;
+
+    public ProviderSettings(String name, Duration connectTimeout, Duration readTimeout, int maxConcurrentRequests,
+                            Duration balanceBatchWindow) {
+        this.name = name;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.balanceBatchWindow = balanceBatchWindow;
+    }
+
+    public static ProviderSettings from(Environment env, String chain) {
+        String prefix = "crypto.providers." + chain + ".";
+        return new ProviderSettings(
+                chain,
+                Duration.ofMillis(env.getProperty(prefix + "connect-timeout-ms", Long.class, 3000L)),
+                Duration.ofMillis(env.getProperty(prefix + "read-timeout-ms", Long.class, 10000L)),
+                env.getProperty(prefix + "max-concurrent-requests", Integer.class, 4),
+                Duration.ofMillis(env.getProperty(prefix + "balance-batch-window-ms", Long.class, 50L)));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * How long single balance lookups wait to be combined into a multi-address call
+     */
+    public Duration getBalanceBatchWindow() {
+        return balanceBatchWindow;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.portfolio.services.blockchain;
+
+import com.example.portfolio.models.TokenMetadata;
+import com.example.portfolio.repositories.TokenMetadataRepository;
+import com.example.portfolio.services.TokenPriceCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Long-lived cache of ERC-20 token metadata keyed by chain and contract address.
+ * A contract is resolved once: the first transfer seen supplies decimals, symbol and name,
+ * CoinGecko is asked for its id, and the row is stored. Afterwards lookups are map reads,
+ * and the whole table is loaded back into memory on startup.
+ *
+ * A contract is stored without an id only when CoinGecko answers that it does not list it.
+ * If the lookup fails otherwise, the transfer gets unsaved metadata built from what it
+ * reported, and the lookup is retried for a later transfer once
+ * crypto.token-metadata.retry-seconds have passed.
+ */
+@Service
+public class TokenMetadataCache {
+
+    // CoinGecko asset platform ids for the EVM chains we track
+    private static final Map<String, String> COINGECKO_PLATFORMS = Map.of(
+            "ethereum", "ethereum",
+            "polygon", "polygon-pos",
+            "arbitrum", "arbitrum-one",
+            "optimism", "optimistic-ethereum");
+
+    // Matches crypto_transactions.token
+    private static final int MAX_SYMBOL_LENGTH = 50;
+
+    private final TokenMetadataRepository tokenMetadataRepository;
+    private final TokenPriceCache tokenPriceCache;
+    private final Map<String, TokenMetadata> byContract = new ConcurrentHashMap<>();
+    // Contract lookups in flight, so concurrent syncs resolve each contract once
+    private final Map<String, CompletableFuture<TokenMetadata>> loading = new ConcurrentHashMap<>();
+    // Contracts whose CoinGecko lookup failed, with when to try again
+    private final Map<String, Instant> retryAt = new ConcurrentHashMap<>();
+
+    @Value("${crypto.token-metadata.retry-seconds:300}")
+    private long retrySeconds;
+
+    public TokenMetadataCache(TokenMetadataRepository tokenMetadataRepository, TokenPriceCache tokenPriceCache) {
+        this.tokenMetadataRepository = tokenMetadataRepository;
+        this.tokenPriceCache = tokenPriceCache;
+    }
+
+    /**
+     * Metadata for a token contract. The symbol, name and decimals reported with a transfer
+     * are only used the first time the contract is seen.
+     */
+    public TokenMetadata resolve(String chain, String contractAddress, String symbol, String name, int decimals) {
+        String contract = contractAddress.toLowerCase();
+        String key = key(chain, contract);
+        TokenMetadata cached = byContract.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<TokenMetadata> created = new CompletableFuture<>();
+        CompletableFuture<TokenMetadata> inFlight = loading.putIfAbsent(key, created);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+        try {
+            TokenMetadata metadata = load(chain, contract, symbol, name, decimals);
+            created.complete(metadata);
+            return metadata;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, created);
+        }
+    }
+
+    /**
+     * CoinGecko id of a known contract; empty if CoinGecko does not list it or it has not
+     * been resolved (yet). Never calls CoinGecko.
+     */
+    public Optional<String> coinIdFor(String chain, String contractAddress) {
+        TokenMetadata cached = byContract.get(key(chain, contractAddress.toLowerCase()));
+        return cached != null ? Optional.ofNullable(cached.getCoingeckoId()) : Optional.empty();
+    }
+
+    private TokenMetadata load(String chain, String contract, String symbol, String name, int decimals) {
+        String key = key(chain, contract);
+        TokenMetadata cached = byContract.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<TokenMetadata> stored = tokenMetadataRepository.findByChainAndContractAddress(chain, contract);
+        if (stored.isPresent()) {
+            byContract.put(key, stored.get());
+            return stored.get();
+        }
+
+        String tokenSymbol = symbol != null && !symbol.isBlank() ? symbol.toUpperCase() : contract;
+        if (tokenSymbol.length() > MAX_SYMBOL_LENGTH) {
+            tokenSymbol = tokenSymbol.substring(0, MAX_SYMBOL_LENGTH);
+        }
+
+        Instant retry = retryAt.get(key);
+        if (retry != null && Instant.now().isBefore(retry)) {
+            return new TokenMetadata(chain, contract, tokenSymbol, name, decimals, null);
+        }
+
+        String coingeckoId;
+        try {
+            String platform = COINGECKO_PLATFORMS.getOrDefault(chain, chain);
+            coingeckoId = tokenPriceCache.lookupCoinIdByContract(platform, contract).orElse(null);
+        } catch (Exception e) {
+            System.err.println(e.getMessage() + "; retrying in " + retrySeconds + "s");
+            retryAt.put(key, Instant.now().plusSeconds(retrySeconds));
+            return new TokenMetadata(chain, contract, tokenSymbol, name, decimals, null);
+        }
+        retryAt.remove(key);
+
+        TokenMetadata metadata = tokenMetadataRepository.save(
+                new TokenMetadata(chain, contract, tokenSymbol, name, decimals, coingeckoId));
+        byContract.put(key, metadata);
+        return metadata;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            tokenMetadataRepository.findAll().forEach(metadata ->
+                    byContract.put(key(metadata.getChain(), metadata.getContractAddress()), metadata));
+        } catch (Exception e) {
+            System.err.println("Could not load token metadata: " + e.getMessage());
+        }
+    }
+
+    private static String key(String chain, String contract) {
+        return chain + ":" + contract;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.portfolio.services.events;
+
+import com.example.portfolio.services.jobs.SyncJobService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared Server-Sent Events hub. Each authenticated dashboard holds one /api/stream
+ * connection; services publish price ticks, wallet balance changes and sync job updates
+ * here instead of clients re-polling the REST endpoints.
+ *
+ * Writes happen on a dedicated thread so a slow client never blocks the publisher
+ * (a sync worker or the price refresh thread).
+ */
+@Service
+public class EventBroadcaster {
+
+    public static final String EVENT_PRICES = "prices";
+    public static final String EVENT_WALLET_BALANCE = "wallet-balance";
+    public static final String EVENT_JOB = "job";
+
+    private final Map<Integer, Set<SseEmitter>> emittersByUser = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "sse-broadcaster");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${events.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public EventBroadcaster(SyncJobService syncJobService) {
+        syncJobService.addListener(job -> sendToUser(job.getUserId(), EVENT_JOB, job.toMap()));
+    }
+
+    /**
+     * Open a stream for a user. The browser's EventSource reconnects on its own after a timeout.
+     */
+    public SseEmitter subscribe(Integer userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Set<SseEmitter> emitters = emittersByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+        emitters.add(emitter);
+
+        Runnable remove = () -> removeEmitter(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    public void sendToUser(Integer userId, String eventName, Object data) {
+        Set<SseEmitter> emitters = emittersByUser.get(userId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        sender.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                send(userId, emitter, SseEmitter.event().name(eventName).data(data));
+            }
+        });
+    }
+
+    public void broadcast(String eventName, Object data) {
+        if (emittersByUser.isEmpty()) {
+            return;
+        }
+        sender.execute(() -> emittersByUser.forEach((userId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(userId, emitter, SseEmitter.event().name(eventName).data(data));
+            }
+        }));
+    }
+
+    /**
+     * Comment line every 25s keeps idle connections open through proxies and detects dead clients
+     */
+    @Scheduled(fixedDelay = 25_000)
+    public void heartbeat() {
+        if (emittersByUser.isEmpty()) {
+            return;
+        }
+        sender.execute(() -> emittersByUser.forEach((userId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(userId, emitter, SseEmitter.event().comment("keepalive"));
+            }
+        }));
+    }
+
+    private void send(Integer userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away
+            removeEmitter(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void removeEmitter(Integer userId, SseEmitter emitter) {
+        emittersByUser.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        emittersByUser.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.portfolio.services.jobs;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory record of one background sync (crypto wallet, Plaid accounts or transactions).
+ * Workers update status and progress; clients read them through /api/jobs/{id}.
+ */
+public class SyncJob {
+
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_SUCCEEDED = "succeeded";
+    public static final String STATUS_FAILED = "failed";
+
+    private final String id = UUID.randomUUID().toString();
+    private final String type;
+    private final String key;
+    private final Integer userId;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile String status = STATUS_QUEUED;
+    private volatile String progress;
+    private volatile Map<String, Object> result;
+    private volatile String error;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    SyncJob(String type, String key, Integer userId) {
+        this.type = type;
+        this.key = key;
+        this.userId = userId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Coalescing key: submissions with the same key share one running job
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getProgress() {
+        return progress;
+    }
+
+    public Map<String, Object> getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isFinished() {
+        return STATUS_SUCCEEDED.equals(status) || STATUS_FAILED.equals(status);
+    }
+
+    void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = STATUS_RUNNING;
+    }
+
+    void markSucceeded(Map<String, Object> result) {
+        this.result = result;
+        this.finishedAt = LocalDateTime.now();
+        this.status = STATUS_SUCCEEDED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = STATUS_FAILED;
+    }
+
+    void setProgress(String progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * JSON-friendly view returned by the job endpoints
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("jobId", id);
+        data.put("type", type);
+        data.put("status", status);
+        data.put("createdAt", createdAt.toString());
+        if (startedAt != null) {
+            data.put("startedAt", startedAt.toString());
+        }
+        if (finishedAt != null) {
+            data.put("finishedAt", finishedAt.toString());
+        }
+        if (progress != null) {
+            data.put("progress", progress);
+        }
+        if (result != null) {
+            data.put("result", result);
+        }
+        if (error != null) {
+            data.put("error", error);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.portfolio.services.jobs;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs user-triggered syncs off the request thread on a bounded pool.
+ * Submitting returns immediately with a job; a second submission with the same key while
+ * the first is queued or running gets the existing job back instead of starting another.
+ * Finished jobs are kept for jobs.retention-minutes so clients can read the outcome.
+ */
+@Service
+public class SyncJobService {
+
+    /**
+     * Work performed by a job. Returns the job result (shown to the client on completion).
+     */
+    @FunctionalInterface
+    public interface JobTask {
+        Map<String, Object> run(ProgressReporter progress) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ProgressReporter {
+        void report(String message);
+    }
+
+    private final Map<String, SyncJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, SyncJob> activeByKey = new ConcurrentHashMap<>();
+    private final List<Consumer<SyncJob>> listeners = new CopyOnWriteArrayList<>();
+    private final ThreadPoolExecutor executor;
+
+    @Value("${jobs.retention-minutes:30}")
+    private long retentionMinutes;
+
+    public SyncJobService(@Value("${jobs.pool-size:4}") int poolSize,
+                          @Value("${jobs.queue-capacity:100}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "sync-job-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queue a job, or return the queued/running job already registered under the same key.
+     */
+    public SyncJob submit(String type, String key, Integer userId, JobTask task) {
+        SyncJob[] created = new SyncJob[1];
+        SyncJob job = activeByKey.computeIfAbsent(key, k -> {
+            created[0] = new SyncJob(type, k, userId);
+            return created[0];
+        });
+        if (job != created[0]) {
+            return job; // Coalesced into the running job
+        }
+
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            finish(job);
+            job.markFailed("Sync queue is full, try again shortly");
+            publish(job);
+        }
+        return job;
+    }
+
+    /**
+     * Look up a job; only its owner can see it.
+     */
+    public Optional<SyncJob> find(String jobId, Integer userId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getUserId().equals(userId));
+    }
+
+    /**
+     * Register a listener called on every job state or progress change (on the worker thread).
+     */
+    public void addListener(Consumer<SyncJob> listener) {
+        listeners.add(listener);
+    }
+
+    private void run(SyncJob job, JobTask task) {
+        job.markRunning();
+        publish(job);
+        try {
+            Map<String, Object> result = task.run(message -> {
+                job.setProgress(message);
+                publish(job);
+            });
+            finish(job);
+            job.markSucceeded(result);
+        } catch (Exception e) {
+            System.err.println("Sync job " + job.getType() + " " + job.getId() + " failed: " + e.getMessage());
+            finish(job);
+            job.markFailed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        publish(job);
+    }
+
+    // Release the key before the terminal status is visible, so a client that sees
+    // "succeeded" and resubmits starts a fresh job
+    private void finish(SyncJob job) {
+        activeByKey.remove(job.getKey(), job);
+    }
+
+    private void publish(SyncJob job) {
+        for (Consumer<SyncJob> listener : listeners) {
+            try {
+                listener.accept(job);
+            } catch (Exception e) {
+                System.err.println("Sync job listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.eviction-interval-ms:60000}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
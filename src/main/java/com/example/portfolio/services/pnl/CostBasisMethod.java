@@ -0,0 +1,32 @@
+package com.example.portfolio.services.pnl;
+
+import java.util.Optional;
+
+/**
+ * How disposals are matched against acquired lots.
+ */
+public enum CostBasisMethod {
+
+    FIFO("fifo"),          // Oldest lot first
+    LIFO("lifo"),          // Newest lot first
+    AVERAGE("average");    // All lots pooled at their weighted average cost
+
+    private final String code;
+
+    CostBasisMethod(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static Optional<CostBasisMethod> fromCode(String code) {
+        for (CostBasisMethod method : values()) {
+            if (method.code.equalsIgnoreCase(code)) {
+                return Optional.of(method);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.portfolio.services.pnl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Open lots and running totals for one token: a native coin, or one ERC-20 contract (tokens
+ * sharing a symbol get separate books). Memory is one (quantity, unit cost) pair per open lot;
+ * average cost keeps a single pooled lot. Not thread-safe (the engine serializes runs per wallet).
+ */
+final class LotBook {
+
+    private final CostBasisMethod method;
+    private final String symbol;
+    private final String contractAddress; // Null for native coins
+    private final Deque<Lot> lots = new ArrayDeque<>(); // Oldest first
+    private BigDecimal realizedPnl = BigDecimal.ZERO;
+    private BigDecimal feesUsd = BigDecimal.ZERO;
+    private int unpricedTransactions;
+
+    LotBook(CostBasisMethod method, String symbol, String contractAddress) {
+        this.method = method;
+        this.symbol = symbol;
+        this.contractAddress = contractAddress;
+    }
+
+    /**
+     * Add a lot bought or received at the given USD cost per unit
+     */
+    void acquire(BigDecimal quantity, BigDecimal unitCost) {
+        if (quantity.signum() <= 0) {
+            return;
+        }
+        if (method == CostBasisMethod.AVERAGE && !lots.isEmpty()) {
+            Lot pooled = lots.removeFirst();
+            BigDecimal total = pooled.quantity().add(quantity);
+            BigDecimal cost = pooled.cost().add(quantity.multiply(unitCost));
+            lots.addFirst(new Lot(total, cost.divide(total, MathContext.DECIMAL64)));
+        } else {
+            lots.addLast(new Lot(quantity, unitCost));
+        }
+    }
+
+    /**
+     * Remove a quantity sold or sent at the given USD proceeds per unit and book the gain.
+     * Quantity beyond the open lots (history starting mid-way) is treated as zero-cost.
+     */
+    void dispose(BigDecimal quantity, BigDecimal unitProceeds) {
+        if (quantity.signum() <= 0) {
+            return;
+        }
+        BigDecimal remaining = quantity;
+        BigDecimal basis = BigDecimal.ZERO;
+        while (remaining.signum() > 0 && !lots.isEmpty()) {
+            Lot lot = method == CostBasisMethod.LIFO ? lots.removeLast() : lots.removeFirst();
+            if (lot.quantity().compareTo(remaining) <= 0) {
+                basis = basis.add(lot.cost());
+                remaining = remaining.subtract(lot.quantity());
+            } else {
+                basis = basis.add(remaining.multiply(lot.unitCost()));
+                Lot rest = new Lot(lot.quantity().subtract(remaining), lot.unitCost());
+                if (method == CostBasisMethod.LIFO) {
+                    lots.addLast(rest);
+                } else {
+                    lots.addFirst(rest);
+                }
+                remaining = BigDecimal.ZERO;
+            }
+        }
+        realizedPnl = realizedPnl.add(quantity.multiply(unitProceeds).subtract(basis));
+    }
+
+    void addFee(BigDecimal feeUsd) {
+        feesUsd = feesUsd.add(feeUsd);
+    }
+
+    void markUnpriced() {
+        unpricedTransactions++;
+    }
+
+    BigDecimal quantity() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Lot lot : lots) {
+            total = total.add(lot.quantity());
+        }
+        return total;
+    }
+
+    BigDecimal costBasis() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Lot lot : lots) {
+            total = total.add(lot.cost());
+        }
+        return total;
+    }
+
+    BigDecimal realizedPnl() {
+        return realizedPnl;
+    }
+
+    BigDecimal feesUsd() {
+        return feesUsd;
+    }
+
+    int unpricedTransactions() {
+        return unpricedTransactions;
+    }
+
+    String symbol() {
+        return symbol;
+    }
+
+    String contractAddress() {
+        return contractAddress;
+    }
+
+    // ---------------------------
+    // Persistence (JSON)
+    // ---------------------------
+
+    void writeTo(ObjectNode node) {
+        node.put("symbol", symbol);
+        if (contractAddress != null) {
+            node.put("contract", contractAddress);
+        }
+        ArrayNode lotsNode = node.putArray("lots");
+        for (Lot lot : lots) {
+            lotsNode.addArray().add(lot.quantity().toPlainString()).add(lot.unitCost().toPlainString());
+        }
+        node.put("realized", realizedPnl.toPlainString());
+        node.put("fees", feesUsd.toPlainString());
+        node.put("unpriced", unpricedTransactions);
+    }
+
+    static LotBook readFrom(CostBasisMethod method, JsonNode node) {
+        LotBook book = new LotBook(method, node.path("symbol").asText(),
+                node.hasNonNull("contract") ? node.get("contract").asText() : null);
+        for (JsonNode lot : node.path("lots")) {
+            book.lots.addLast(new Lot(new BigDecimal(lot.get(0).asText()), new BigDecimal(lot.get(1).asText())));
+        }
+        book.realizedPnl = new BigDecimal(node.path("realized").asText("0"));
+        book.feesUsd = new BigDecimal(node.path("fees").asText("0"));
+        book.unpricedTransactions = node.path("unpriced").asInt();
+        return book;
+    }
+
+    private record Lot(BigDecimal quantity, BigDecimal unitCost) {
+        BigDecimal cost() {
+            return quantity.multiply(unitCost);
+        }
+    }
+}
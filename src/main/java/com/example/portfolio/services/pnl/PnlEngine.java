@@ -0,0 +1,316 @@
+package com.example.portfolio.services.pnl;
+
+import com.example.portfolio.dto.CryptoTransactionRow;
+import com.example.portfolio.models.CryptoWallet;
+import com.example.portfolio.models.PnlState;
+import com.example.portfolio.repositories.CryptoTransactionRepository;
+import com.example.portfolio.repositories.PnlStateRepository;
+import com.example.portfolio.services.CryptoService;
+import com.example.portfolio.services.TokenPriceCache;
+import com.example.portfolio.services.blockchain.TokenMetadataCache;
+import com.example.portfolio.services.prices.PriceHistoryStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cost-basis and PnL engine for crypto wallets.
+ *
+ * A wallet's transactions are read in (date, id) order in keyset pages of fixed size and
+ * folded into lot books (FIFO, LIFO or average cost) per native coin and per ERC-20
+ * contract, so look-alike tokens reusing a symbol stay apart, priced at the historical
+ * price of each transaction's day. The lot books and the position of the last applied
+ * transaction are persisted per wallet and method, so a run after a sync only reads the
+ * transactions added since. If an older transaction shows up behind the checkpoint, the
+ * wallet is replayed from the start.
+ *
+ * Receives open lots and sends close them; gas paid on a send is disposed of from the
+ * native token and counted as a fee. Realized PnL is reported net of fees.
+ */
+@Service
+public class PnlEngine {
+
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Length of price_bars.symbol
+    private static final int MAX_HISTORY_KEY_LENGTH = 50;
+
+    private final CryptoTransactionRepository cryptoTransactionRepository;
+    private final PnlStateRepository pnlStateRepository;
+    private final CryptoService cryptoService;
+    private final TokenPriceCache tokenPriceCache;
+    private final PriceHistoryStore priceHistoryStore;
+    private final TokenMetadataCache tokenMetadataCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // One run per wallet and method at a time
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    @Value("${pnl.page-size:500}")
+    private int pageSize;
+
+    public PnlEngine(CryptoTransactionRepository cryptoTransactionRepository,
+                     PnlStateRepository pnlStateRepository,
+                     CryptoService cryptoService,
+                     TokenPriceCache tokenPriceCache,
+                     PriceHistoryStore priceHistoryStore,
+                     TokenMetadataCache tokenMetadataCache) {
+        this.cryptoTransactionRepository = cryptoTransactionRepository;
+        this.pnlStateRepository = pnlStateRepository;
+        this.cryptoService = cryptoService;
+        this.tokenPriceCache = tokenPriceCache;
+        this.priceHistoryStore = priceHistoryStore;
+        this.tokenMetadataCache = tokenMetadataCache;
+    }
+
+    /**
+     * Apply any transactions stored since the last run and report PnL per coin and
+     * token contract at current prices
+     */
+    public PnlReport calculate(CryptoWallet wallet, CostBasisMethod method) throws Exception {
+        Object lock = locks.computeIfAbsent(wallet.getId() + ":" + method.getCode(), k -> new Object());
+        synchronized (lock) {
+            PnlState state = pnlStateRepository.findByWalletIdAndCostMethod(wallet.getId(), method.getCode())
+                    .orElseGet(() -> new PnlState(wallet.getId(), method.getCode()));
+
+            Map<String, LotBook> books = null;
+            if (state.getLastTxId() == null || !cryptoTransactionRepository.existsByWallet_IdAndIdGreaterThanAndDateLessThan(
+                    wallet.getId(), state.getLastTxId(), state.getLastTxDate())) {
+                books = readBooks(method, state.getState());
+            }
+            if (books == null) {
+                // A transaction was back-filled behind the checkpoint (lot order changed), or the
+                // state predates per-contract books: replay from the start
+                state.setLastTxDate(null);
+                state.setLastTxId(null);
+                books = new TreeMap<>();
+            }
+
+            int applied = applyNewTransactions(wallet, method, state, books);
+            return report(wallet, method, books, applied);
+        }
+    }
+
+    private int applyNewTransactions(CryptoWallet wallet, CostBasisMethod method, PnlState state,
+                                     Map<String, LotBook> books) throws Exception {
+        String chain = wallet.getBlockchain().toLowerCase();
+        String feeSymbol = cryptoService.getNativeSymbol(wallet.getBlockchain()).toUpperCase();
+        Map<String, Optional<BigDecimal>> dailyPrices = new HashMap<>(); // Per run, keyed by coin and day
+        int applied = 0;
+
+        while (true) {
+            LocalDateTime afterDate = state.getLastTxDate() != null ? state.getLastTxDate() : START;
+            Integer afterId = state.getLastTxId() != null ? state.getLastTxId() : 0;
+            List<CryptoTransactionRow> page = cryptoTransactionRepository.findRowsAfter(
+                    wallet.getId(), afterDate, afterId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            for (CryptoTransactionRow tx : page) {
+                apply(tx, chain, feeSymbol, method, books, dailyPrices);
+                state.setLastTxDate(tx.date());
+                state.setLastTxId(tx.id());
+            }
+            applied += page.size();
+
+            // Checkpoint after every page so an interrupted run resumes here
+            state.setState(writeBooks(books));
+            pnlStateRepository.save(state);
+
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        return applied;
+    }
+
+    private void apply(CryptoTransactionRow tx, String chain, String feeSymbol, CostBasisMethod method,
+                       Map<String, LotBook> books, Map<String, Optional<BigDecimal>> dailyPrices) {
+        if (tx.token() == null || tx.amount() == null) {
+            return;
+        }
+        String symbol = tx.token().toUpperCase();
+        String contract = tx.contractAddress() == null || tx.contractAddress().isEmpty()
+                ? null : tx.contractAddress().toLowerCase();
+        LotBook book = books.computeIfAbsent(bookKey(symbol, contract), k -> new LotBook(method, symbol, contract));
+        // ERC-20 transfers are priced by their contract's CoinGecko id (a look-alike symbol
+        // gets no price); tokens CoinGecko does not list stay unpriced without a lookup
+        String coinId = contract == null
+                ? TokenPriceCache.toCoinId(symbol)
+                : tokenMetadataCache.coinIdFor(chain, contract).orElse(null);
+        Optional<BigDecimal> price = coinId != null
+                ? priceOn(symbol, coinId, contract == null ? symbol : coinHistoryKey(coinId), tx.date(), dailyPrices)
+                : Optional.empty();
+        if (price.isEmpty()) {
+            book.markUnpriced();
+        }
+        BigDecimal unitPrice = price.orElse(BigDecimal.ZERO);
+
+        if ("receive".equals(tx.type())) {
+            book.acquire(tx.amount(), unitPrice);
+        } else if ("send".equals(tx.type())) {
+            book.dispose(tx.amount(), unitPrice);
+
+            if (tx.gasFee() != null && tx.gasFee().signum() > 0) {
+                LotBook feeBook = books.computeIfAbsent(bookKey(feeSymbol, null), k -> new LotBook(method, feeSymbol, null));
+                BigDecimal feePrice = feeBook == book ? unitPrice
+                        : priceOn(feeSymbol, TokenPriceCache.toCoinId(feeSymbol), feeSymbol, tx.date(), dailyPrices)
+                                .orElse(BigDecimal.ZERO);
+                feeBook.dispose(tx.gasFee(), feePrice);
+                feeBook.addFee(tx.gasFee().multiply(feePrice));
+            }
+        }
+    }
+
+    /**
+     * Historical USD price for the transaction's day: price history store first (under
+     * historyKey; null skips it), then CoinGecko (persisted as a daily bar under historyKey so
+     * the next run finds it locally).
+     * Empty only when no price exists; a failed fetch throws, which aborts the run before
+     * the current page is checkpointed, so its lots are not stored at a zero cost.
+     */
+    private Optional<BigDecimal> priceOn(String symbol, String coinId, String historyKey, LocalDateTime date,
+                                         Map<String, Optional<BigDecimal>> dailyPrices) {
+        long timestamp = date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        LocalDate day = date.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneId.of("UTC")).toLocalDate();
+
+        return dailyPrices.computeIfAbsent(coinId + ":" + day, key -> {
+            OptionalDouble stored = historyKey != null
+                    ? priceHistoryStore.historicalPrice(historyKey, timestamp) : OptionalDouble.empty();
+            if (stored.isPresent()) {
+                return Optional.of(BigDecimal.valueOf(stored.getAsDouble()));
+            }
+            if (!day.isBefore(LocalDate.now(ZoneId.of("UTC")))) {
+                // Today: current price (zero if unknown)
+                BigDecimal current = tokenPriceCache.getPricesByCoinId(Map.of(coinId, symbol)).get(coinId);
+                return current.signum() > 0 ? Optional.of(current) : Optional.empty();
+            }
+            Optional<BigDecimal> fetched = tokenPriceCache.fetchHistoricalPrice(coinId, day);
+            if (historyKey != null) {
+                fetched.ifPresent(price -> priceHistoryStore.recordDailyPrice(historyKey, timestamp, price.doubleValue()));
+            }
+            return fetched;
+        });
+    }
+
+    /**
+     * History key of an ERC-20 token's prices. Tokens sharing a symbol have different CoinGecko
+     * ids, so their daily prices are stored apart from the symbol-keyed history of native coins.
+     * Null (no history) for ids too long for the symbol column.
+     */
+    private static String coinHistoryKey(String coinId) {
+        String key = "CG:" + coinId;
+        return key.length() <= MAX_HISTORY_KEY_LENGTH ? key : null;
+    }
+
+    private PnlReport report(CryptoWallet wallet, CostBasisMethod method, Map<String, LotBook> books, int applied) {
+        Map<String, BigDecimal> prices = books.isEmpty() ? Map.of() : currentPrices(wallet, books);
+
+        List<PnlReport.TokenPnl> tokens = new ArrayList<>();
+        books.forEach((key, book) -> {
+            BigDecimal price = prices.getOrDefault(key, BigDecimal.ZERO);
+            BigDecimal quantity = book.quantity();
+            BigDecimal costBasis = book.costBasis();
+            BigDecimal marketValue = quantity.multiply(price);
+            tokens.add(new PnlReport.TokenPnl(
+                    book.symbol(),
+                    book.contractAddress(),
+                    quantity.stripTrailingZeros(),
+                    usd(costBasis),
+                    price,
+                    usd(marketValue),
+                    usd(book.realizedPnl().subtract(book.feesUsd())),
+                    usd(marketValue.subtract(costBasis)),
+                    usd(book.feesUsd()),
+                    book.unpricedTransactions()));
+        });
+        return new PnlReport(wallet.getId(), method, tokens, applied);
+    }
+
+    /**
+     * Current prices keyed like the books: native coins by symbol, ERC-20 books through their
+     * contract's CoinGecko id (zero when the contract is not listed)
+     */
+    private Map<String, BigDecimal> currentPrices(CryptoWallet wallet, Map<String, LotBook> books) {
+        String chain = wallet.getBlockchain().toLowerCase();
+
+        Set<String> nativeSymbols = new HashSet<>();
+        Map<String, String> coinIdsByKey = new HashMap<>();
+        Map<String, String> symbolsByCoinId = new HashMap<>();
+        books.forEach((key, book) -> {
+            if (book.contractAddress() == null) {
+                nativeSymbols.add(book.symbol());
+            } else {
+                tokenMetadataCache.coinIdFor(chain, book.contractAddress()).ifPresent(coinId -> {
+                    coinIdsByKey.put(key, coinId);
+                    symbolsByCoinId.putIfAbsent(coinId, book.symbol());
+                });
+            }
+        });
+
+        Map<String, BigDecimal> prices = new HashMap<>();
+        if (!nativeSymbols.isEmpty()) {
+            prices.putAll(cryptoService.getTokenPrices(nativeSymbols));
+        }
+        if (!symbolsByCoinId.isEmpty()) {
+            Map<String, BigDecimal> byCoinId = tokenPriceCache.getPricesByCoinId(symbolsByCoinId);
+            coinIdsByKey.forEach((key, coinId) -> prices.put(key, byCoinId.getOrDefault(coinId, BigDecimal.ZERO)));
+        }
+        return prices;
+    }
+
+    /**
+     * Native coins are booked by symbol, ERC-20 tokens by contract address
+     */
+    private static String bookKey(String symbol, String contractAddress) {
+        return contractAddress != null ? contractAddress : symbol;
+    }
+
+    /**
+     * Null when the stored state predates per-contract books (keyed by symbol only)
+     */
+    private Map<String, LotBook> readBooks(CostBasisMethod method, String json) throws Exception {
+        Map<String, LotBook> books = new TreeMap<>();
+        JsonNode root = objectMapper.readTree(json);
+        Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            if (!entry.getValue().has("symbol")) {
+                return null;
+            }
+            books.put(entry.getKey(), LotBook.readFrom(method, entry.getValue()));
+        }
+        return books;
+    }
+
+    private String writeBooks(Map<String, LotBook> books) throws Exception {
+        ObjectNode root = objectMapper.createObjectNode();
+        books.forEach((key, book) -> book.writeTo(root.putObject(key)));
+        return objectMapper.writeValueAsString(root);
+    }
+
+    private static BigDecimal usd(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.portfolio.services.pnl;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Cost basis and PnL of one wallet under one cost-basis method, per native coin and per
+ * token contract.
+ * Realized PnL is net of fees; unrealized PnL is market value minus the cost of open lots.
+ */
+public record PnlReport(Integer walletId, CostBasisMethod method, List<TokenPnl> tokens, int newTransactions) {
+
+    /**
+     * One native coin or one ERC-20 contract (contractAddress null for native coins)
+     */
+    public record TokenPnl(String symbol,
+                           String contractAddress,
+                           BigDecimal quantity,
+                           BigDecimal costBasis,
+                           BigDecimal currentPrice,
+                           BigDecimal marketValue,
+                           BigDecimal realizedPnl,
+                           BigDecimal unrealizedPnl,
+                           BigDecimal feesUsd,
+                           int unpricedTransactions) {
+    }
+}
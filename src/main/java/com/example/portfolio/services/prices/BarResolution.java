@@ -0,0 +1,51 @@
+package com.example.portfolio.services.prices;
+
+import java.util.Optional;
+
+/**
+ * OHLC bar sizes kept by the price history store, with how many bars of each stay in memory.
+ */
+public enum BarResolution {
+
+    MINUTE("1m", 60_000L, 1_440),          // 1 day
+    HOUR("1h", 3_600_000L, 720),           // 30 days
+    DAY("1d", 86_400_000L, 730);           // 2 years
+
+    private final String code;
+    private final long millis;
+    private final int capacity;
+
+    BarResolution(String code, long millis, int capacity) {
+        this.code = code;
+        this.millis = millis;
+        this.capacity = capacity;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Start of the bar containing the given epoch-millis timestamp (UTC-aligned)
+     */
+    public long bucketStart(long timestamp) {
+        return Math.floorDiv(timestamp, millis) * millis;
+    }
+
+    public static Optional<BarResolution> fromCode(String code) {
+        for (BarResolution resolution : values()) {
+            if (resolution.code.equalsIgnoreCase(code)) {
+                return Optional.of(resolution);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.portfolio.services.prices;
+
+/**
+ * One open/high/low/close price bar; bucketStart is epoch millis (UTC).
+ */
+public record OhlcBar(long bucketStart, double open, double high, double low, double close, int ticks) {
+}
@@ -0,0 +1,201 @@
+package com.example.portfolio.services.prices;
+
+import com.example.portfolio.models.PriceBar;
+import com.example.portfolio.repositories.PriceBarRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory price history. Every price the app sees is recorded as a tick in a per-symbol
+ * primitive ring buffer and rolled up into 1m/1h/1d OHLC bars. Chart and valuation queries
+ * over the in-memory window are answered without touching the database.
+ *
+ * Only bars are persisted: closed bars are queued and upserted in batches every flush
+ * interval. On startup recent bars are loaded back, so the window survives restarts.
+ */
+@Service
+public class PriceHistoryStore {
+
+    private final PriceBarRepository priceBarRepository;
+    private final Map<String, PriceSeries> series = new ConcurrentHashMap<>();
+    private final Queue<PriceBar> pendingBars = new ConcurrentLinkedQueue<>();
+    private final Queue<PriceBar> pendingDailyPrices = new ConcurrentLinkedQueue<>();
+
+    @Value("${prices.history.tick-capacity:2048}")
+    private int tickCapacity;
+
+    public PriceHistoryStore(PriceBarRepository priceBarRepository) {
+        this.priceBarRepository = priceBarRepository;
+    }
+
+    /**
+     * Record a price observation (epoch millis, USD)
+     */
+    public void record(String symbol, long timestamp, double price) {
+        String key = symbol.toUpperCase();
+        seriesFor(key).addTick(timestamp, price, (resolution, bar) -> pendingBars.add(toEntity(key, resolution, bar)));
+    }
+
+    /**
+     * Bars overlapping [from, to] (epoch millis), oldest first. The newest bar may still be open.
+     * Ranges reaching past the in-memory window are read from the database instead.
+     */
+    public List<OhlcBar> getBars(String symbol, BarResolution resolution, long from, long to) {
+        String key = symbol.toUpperCase();
+        long windowStart = resolution.bucketStart(System.currentTimeMillis())
+                - (long) (resolution.getCapacity() - 1) * resolution.getMillis();
+
+        PriceSeries prices = series.get(key);
+        if (from >= windowStart) {
+            return prices != null ? prices.getBars(resolution, from, to) : List.of();
+        }
+
+        List<OhlcBar> bars = new ArrayList<>();
+        for (PriceBar bar : priceBarRepository.findBySymbolAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+                key, resolution.getCode(), toDateTime(resolution.bucketStart(from)), toDateTime(to))) {
+            bars.add(toBar(bar));
+        }
+        // The open bar only exists in memory
+        if (prices != null) {
+            for (OhlcBar bar : prices.getBars(resolution, from, to)) {
+                if (bars.isEmpty() || bar.bucketStart() > bars.get(bars.size() - 1).bucketStart()) {
+                    bars.add(bar);
+                }
+            }
+        }
+        return bars;
+    }
+
+    /**
+     * Price in effect at a point in time, if the in-memory history reaches back that far
+     */
+    public OptionalDouble priceAt(String symbol, long timestamp) {
+        PriceSeries prices = series.get(symbol.toUpperCase());
+        return prices != null ? prices.priceAt(timestamp) : OptionalDouble.empty();
+    }
+
+    /**
+     * Price in effect at a point in time: from the in-memory history if it covers that time
+     * (an observation from long before it does not count), otherwise the close of the
+     * persisted daily bar for that day
+     */
+    public OptionalDouble historicalPrice(String symbol, long timestamp) {
+        OptionalDouble price = priceAt(symbol, timestamp);
+        if (price.isPresent()) {
+            return price;
+        }
+
+        LocalDateTime day = toDateTime(BarResolution.DAY.bucketStart(timestamp));
+        List<PriceBar> bars = priceBarRepository.findBySymbolAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+                symbol.toUpperCase(), BarResolution.DAY.getCode(), day, day);
+        return bars.isEmpty() ? OptionalDouble.empty() : OptionalDouble.of(bars.get(0).getClosePrice());
+    }
+
+    /**
+     * Store a past day's price obtained from an external source as a daily bar
+     * (written with the next flush, so later lookups find it in the database).
+     * A daily bar already built from real ticks is kept as it is.
+     */
+    public void recordDailyPrice(String symbol, long timestamp, double price) {
+        long dayStart = BarResolution.DAY.bucketStart(timestamp);
+        pendingDailyPrices.add(new PriceBar(symbol.toUpperCase(), BarResolution.DAY.getCode(), toDateTime(dayStart),
+                price, price, price, price, 0));
+    }
+
+    /**
+     * Write closed bars queued since the last flush
+     */
+    @Scheduled(fixedDelayString = "${prices.history.flush-interval-ms:60000}")
+    public void flush() {
+        List<PriceBar> batch = drain(pendingBars);
+        if (!batch.isEmpty()) {
+            try {
+                priceBarRepository.upsertAll(batch);
+            } catch (Exception e) {
+                System.err.println("Error persisting " + batch.size() + " price bars: " + e.getMessage());
+                pendingBars.addAll(batch); // Retry on the next flush
+            }
+        }
+
+        List<PriceBar> dailyPrices = drain(pendingDailyPrices);
+        if (!dailyPrices.isEmpty()) {
+            try {
+                priceBarRepository.insertMissing(dailyPrices);
+            } catch (Exception e) {
+                System.err.println("Error persisting " + dailyPrices.size() + " daily prices: " + e.getMessage());
+                pendingDailyPrices.addAll(dailyPrices);
+            }
+        }
+    }
+
+    private static List<PriceBar> drain(Queue<PriceBar> queue) {
+        List<PriceBar> batch = new ArrayList<>();
+        PriceBar bar;
+        while ((bar = queue.poll()) != null) {
+            batch.add(bar);
+        }
+        return batch;
+    }
+
+    /**
+     * Reload the in-memory window of every resolution from persisted bars
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long now = System.currentTimeMillis();
+        try {
+            for (BarResolution resolution : BarResolution.values()) {
+                long from = resolution.bucketStart(now) - (long) (resolution.getCapacity() - 1) * resolution.getMillis();
+                for (PriceBar bar : priceBarRepository.findByResolutionAndBucketStartGreaterThanEqualOrderByBucketStartAsc(
+                        resolution.getCode(), toDateTime(from))) {
+                    seriesFor(bar.getSymbol()).restoreBar(resolution, toBar(bar));
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Could not load price history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Persist open bars too, so their partial values survive a restart (warm-up reopens them)
+     */
+    @PreDestroy
+    public void shutdown() {
+        series.forEach((symbol, prices) ->
+                prices.forEachOpenBar((resolution, bar) -> pendingBars.add(toEntity(symbol, resolution, bar))));
+        flush();
+    }
+
+    private PriceSeries seriesFor(String symbol) {
+        return series.computeIfAbsent(symbol, s -> new PriceSeries(tickCapacity));
+    }
+
+    private static PriceBar toEntity(String symbol, BarResolution resolution, OhlcBar bar) {
+        return new PriceBar(symbol, resolution.getCode(), toDateTime(bar.bucketStart()),
+                bar.open(), bar.high(), bar.low(), bar.close(), bar.ticks());
+    }
+
+    private static OhlcBar toBar(PriceBar bar) {
+        return new OhlcBar(bar.getBucketStart().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                bar.getOpenPrice(), bar.getHighPrice(), bar.getLowPrice(), bar.getClosePrice(), bar.getTickCount());
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.portfolio.services.prices;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.function.BiConsumer;
+
+/**
+ * Price history for one symbol: a ring of raw ticks plus one ring of OHLC bars per
+ * resolution, all in primitive arrays (no boxing per tick). The newest bar of each
+ * resolution stays open and is updated in place until a tick lands in the next bucket.
+ *
+ * Guarded by its own monitor; every operation is a few array writes or a short scan.
+ */
+final class PriceSeries {
+
+    private final long[] tickTimes;
+    private final double[] tickPrices;
+    private int tickHead;   // Next write position
+    private int tickCount;
+
+    private final BarRing[] bars;
+
+    PriceSeries(int tickCapacity) {
+        this.tickTimes = new long[tickCapacity];
+        this.tickPrices = new double[tickCapacity];
+        BarResolution[] resolutions = BarResolution.values();
+        this.bars = new BarRing[resolutions.length];
+        for (BarResolution resolution : resolutions) {
+            bars[resolution.ordinal()] = new BarRing(resolution);
+        }
+    }
+
+    /**
+     * Record a tick. Bars closed by this tick are handed to onClosed (for persistence).
+     * Ticks older than the newest one are dropped.
+     */
+    synchronized void addTick(long timestamp, double price, BiConsumer<BarResolution, OhlcBar> onClosed) {
+        if (tickCount > 0 && timestamp < tickTimes[(tickHead - 1 + tickTimes.length) % tickTimes.length]) {
+            return;
+        }
+        tickTimes[tickHead] = timestamp;
+        tickPrices[tickHead] = price;
+        tickHead = (tickHead + 1) % tickTimes.length;
+        tickCount = Math.min(tickCount + 1, tickTimes.length);
+
+        for (BarRing ring : bars) {
+            OhlcBar closed = ring.update(timestamp, price);
+            if (closed != null) {
+                onClosed.accept(ring.resolution, closed);
+            }
+        }
+    }
+
+    /**
+     * Seed a bar loaded from the database (oldest first). A bar for the current bucket is
+     * reopened so new ticks extend it rather than replacing it.
+     */
+    synchronized void restoreBar(BarResolution resolution, OhlcBar bar) {
+        bars[resolution.ordinal()].restore(bar);
+    }
+
+    synchronized List<OhlcBar> getBars(BarResolution resolution, long from, long to) {
+        return bars[resolution.ordinal()].range(from, to);
+    }
+
+    /**
+     * Bars still open (current bucket per resolution), for flushing on shutdown
+     */
+    synchronized void forEachOpenBar(BiConsumer<BarResolution, OhlcBar> consumer) {
+        for (BarRing ring : bars) {
+            OhlcBar open = ring.openBar();
+            if (open != null) {
+                consumer.accept(ring.resolution, open);
+            }
+        }
+    }
+
+    /**
+     * Price in effect at a timestamp: the last tick at or before it if the tick ring reaches
+     * back that far and that tick is less than a minute older, otherwise from the finest bar
+     * ring that answers (see BarRing.priceAt). Ticks only arrive when a price is read, so an
+     * older observation is not taken as the price in effect; callers fall back to other sources.
+     */
+    synchronized OptionalDouble priceAt(long timestamp) {
+        if (tickCount > 0) {
+            int oldest = (tickHead - tickCount + tickTimes.length) % tickTimes.length;
+            if (timestamp >= tickTimes[oldest]) {
+                int lo = 0;
+                int hi = tickCount - 1;
+                while (lo < hi) {
+                    int mid = (lo + hi + 1) >>> 1;
+                    if (tickTimes[(oldest + mid) % tickTimes.length] <= timestamp) {
+                        lo = mid;
+                    } else {
+                        hi = mid - 1;
+                    }
+                }
+                int slot = (oldest + lo) % tickTimes.length;
+                if (timestamp - tickTimes[slot] < BarResolution.MINUTE.getMillis()) {
+                    return OptionalDouble.of(tickPrices[slot]);
+                }
+            }
+        }
+        for (BarRing ring : bars) {
+            OptionalDouble price = ring.priceAt(timestamp);
+            if (price.isPresent()) {
+                return price;
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    /**
+     * Fixed-capacity ring of bars for one resolution; the newest slot is the open bar.
+     */
+    private static final class BarRing {
+
+        private final BarResolution resolution;
+        private final long[] start;
+        private final double[] open;
+        private final double[] high;
+        private final double[] low;
+        private final double[] close;
+        private final int[] ticks;
+        private int head;   // Slot of the newest (open) bar
+        private int count;
+
+        BarRing(BarResolution resolution) {
+            int capacity = resolution.getCapacity();
+            this.resolution = resolution;
+            this.start = new long[capacity];
+            this.open = new double[capacity];
+            this.high = new double[capacity];
+            this.low = new double[capacity];
+            this.close = new double[capacity];
+            this.ticks = new int[capacity];
+        }
+
+        /**
+         * Apply a tick; returns the bar it closed, if it opened a new bucket
+         */
+        OhlcBar update(long timestamp, double price) {
+            long bucket = resolution.bucketStart(timestamp);
+            if (count > 0 && start[head] == bucket) {
+                high[head] = Math.max(high[head], price);
+                low[head] = Math.min(low[head], price);
+                close[head] = price;
+                ticks[head]++;
+                return null;
+            }
+            if (count > 0 && bucket < start[head]) {
+                return null; // Late tick for an already closed bucket
+            }
+
+            OhlcBar closed = count > 0 ? barAt(head) : null;
+            push(bucket, price, price, price, price, 1);
+            return closed;
+        }
+
+        void restore(OhlcBar bar) {
+            if (count > 0 && bar.bucketStart() <= start[head]) {
+                return;
+            }
+            push(bar.bucketStart(), bar.open(), bar.high(), bar.low(), bar.close(), bar.ticks());
+        }
+
+        OhlcBar openBar() {
+            return count > 0 ? barAt(head) : null;
+        }
+
+        List<OhlcBar> range(long from, long to) {
+            List<OhlcBar> result = new ArrayList<>();
+            for (int i = count - 1; i >= 0; i--) {
+                int slot = (head - i + start.length) % start.length;
+                if (start[slot] + resolution.getMillis() > from && start[slot] <= to) {
+                    result.add(barAt(slot));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Open of the bar containing the timestamp, or the close of the last bar before it
+         * when the timestamp falls in the bucket right after that bar. Empty if the ring does
+         * not reach back that far or the gap is longer.
+         */
+        OptionalDouble priceAt(long timestamp) {
+            if (count == 0) {
+                return OptionalDouble.empty();
+            }
+            int oldest = (head - count + 1 + start.length) % start.length;
+            if (timestamp < start[oldest]) {
+                return OptionalDouble.empty();
+            }
+            for (int i = 0; i < count; i++) {
+                int slot = (head - i + start.length) % start.length;
+                if (start[slot] <= timestamp) {
+                    long end = start[slot] + resolution.getMillis();
+                    if (timestamp < end) {
+                        return OptionalDouble.of(open[slot]);
+                    }
+                    return timestamp < end + resolution.getMillis() ? OptionalDouble.of(close[slot]) : OptionalDouble.empty();
+                }
+            }
+            return OptionalDouble.empty();
+        }
+
+        private void push(long bucket, double o, double h, double l, double c, int n) {
+            head = count == 0 ? 0 : (head + 1) % start.length;
+            start[head] = bucket;
+            open[head] = o;
+            high[head] = h;
+            low[head] = l;
+            close[head] = c;
+            ticks[head] = n;
+            count = Math.min(count + 1, start.length);
+        }
+
+        private OhlcBar barAt(int slot) {
+            return new OhlcBar(start[slot], open[slot], high[slot], low[slot], close[slot], ticks[slot]);
+        }
+    }
+}
@@ -270,6 +270,11 @@
         </div>
 
         <div class="cards-grid">
+            <div class="card">
+                <h3>Net Worth</h3>
+                <div class="card-value" id="net-worth">$0.00</div>
+                <div class="card-label" id="net-worth-breakdown">Bank, wallets and exchanges</div>
+            </div>
             <div class="card">
                 <h3>Total Accounts</h3>
                 <div class="card-value" id="total-accounts">0</div>
@@ -539,6 +544,23 @@
         }
 
         // Load transactions
+        function renderNetWorth(netWorth) {
+            document.getElementById('net-worth').textContent = `$\${parseFloat(netWorth.total).toFixed(2)}`;
+            document.getElementById('net-worth-breakdown').textContent =
+                `Bank $\${parseFloat(netWorth.bankTotal).toFixed(2)} • Crypto $\${parseFloat(netWorth.cryptoTotal).toFixed(2)} • Exchanges $\${parseFloat(netWorth.exchangeTotal).toFixed(2)}`;
+        }
+
+        async function loadNetWorth() {
+            try {
+                const response = await fetch('/api/networth', { credentials: 'include' });
+                if (response.ok) {
+                    renderNetWorth(await response.json());
+                }
+            } catch (error) {
+                console.error('Failed to load net worth:', error);
+            }
+        }
+
         async function loadTransactions() {
             const container = document.getElementById('transactions-container');
 
@@ -604,6 +626,79 @@
             }
         }
 
+        // Live updates over Server-Sent Events (prices, wallet balances, sync jobs)
+        let liveStream = null;
+        const jobWaiters = {};
+        let walletReloadTimer = null;
+
+        function isJobFinished(job) {
+            return job.status === 'succeeded' || job.status === 'failed';
+        }
+
+        // Coalesce bursts of balance events into one wallet reload (served from cache server-side)
+        function scheduleWalletReload() {
+            if (walletReloadTimer) return;
+            walletReloadTimer = setTimeout(() => {
+                walletReloadTimer = null;
+                loadCryptoWallets();
+            }, 500);
+        }
+
+        function connectLiveUpdates() {
+            if (!window.EventSource) return;
+            liveStream = new EventSource('/api/stream', { withCredentials: true });
+
+            liveStream.addEventListener('prices', event => applyPrices(JSON.parse(event.data).prices));
+            liveStream.addEventListener('net-worth', event => renderNetWorth(JSON.parse(event.data)));
+            liveStream.addEventListener('wallet-balance', event => {
+                scheduleWalletReload();
+                if (JSON.parse(event.data).newTransactions > 0) {
+                    loadCryptoTransactions();
+                }
+            });
+            liveStream.addEventListener('job', event => {
+                const job = JSON.parse(event.data);
+                if (isJobFinished(job) && jobWaiters[job.jobId]) {
+                    jobWaiters[job.jobId](job);
+                    delete jobWaiters[job.jobId];
+                }
+            });
+            // EventSource reconnects on its own after errors or server timeouts
+        }
+
+        // Sync endpoints answer 202 with a job; resolve when the stream reports it finished,
+        // falling back to polling /api/jobs/{id} (slowly while the stream is connected)
+        async function waitForJob(response) {
+            const job = await response.json();
+            if (isJobFinished(job)) {
+                return job;
+            }
+
+            return new Promise((resolve, reject) => {
+                jobWaiters[job.jobId] = resolve;
+
+                const poll = async () => {
+                    if (!jobWaiters[job.jobId]) return; // Already resolved by the stream
+                    const statusResponse = await fetch(`/api/jobs/\${job.jobId}`, { credentials: 'include' });
+                    if (!statusResponse.ok) {
+                        delete jobWaiters[job.jobId];
+                        reject(new Error('Lost track of sync job'));
+                        return;
+                    }
+                    const current = await statusResponse.json();
+                    if (isJobFinished(current)) {
+                        if (jobWaiters[job.jobId]) {
+                            delete jobWaiters[job.jobId];
+                            resolve(current);
+                        }
+                        return;
+                    }
+                    setTimeout(poll, liveStream && liveStream.readyState === EventSource.OPEN ? 5000 : 1000);
+                };
+                setTimeout(poll, liveStream && liveStream.readyState === EventSource.OPEN ? 5000 : 1000);
+            });
+        }
+
         async function syncAccounts(event) {
             const button = event.target;
             button.disabled = true;
@@ -622,8 +717,13 @@
                 });
 
                 if (response.ok) {
-                    alert('Accounts synced successfully!');
-                    loadAccounts();
+                    const job = await waitForJob(response);
+                    if (job.status === 'succeeded') {
+                        alert('Accounts synced successfully!');
+                        loadAccounts();
+                    } else {
+                        alert('Failed to sync accounts: ' + (job.error || 'unknown error'));
+                    }
                 } else {
                     alert('Failed to sync accounts');
                 }
@@ -657,8 +757,13 @@
                 });
 
                 if (response.ok) {
-                    alert('Transactions synced successfully!');
-                    loadTransactions();
+                    const job = await waitForJob(response);
+                    if (job.status === 'succeeded') {
+                        alert('Transactions synced successfully!');
+                        loadTransactions();
+                    } else {
+                        alert('Failed to sync transactions: ' + (job.error || 'unknown error'));
+                    }
                 } else {
                     alert('Failed to sync transactions');
                 }
@@ -786,6 +891,9 @@
             }
         }
 
+        // Wallets as last rendered, so price events can revalue them without a reload
+        let cryptoWallets = [];
+
         // Load Crypto Wallets
         async function loadCryptoWallets() {
             const container = document.getElementById('crypto-wallets-container');
@@ -799,38 +907,8 @@
                     throw new Error('Failed to load wallets');
                 }
 
-                const wallets = await response.json();
-
-                if (!wallets || wallets.length === 0) {
-                    container.innerHTML = `
-                        <div class="empty-state">
-                            <div class="empty-state-icon">💰</div>
-                            <p>No crypto wallets yet. Add your first wallet to track your crypto!</p>
-                        </div>
-                    `;
-                    return;
-                }
-
-                // Display wallets
-                container.innerHTML = wallets.map(wallet => `
-                    <div class="card" style="margin-bottom: 15px;">
-                        <div style="display: flex; justify-content: space-between; align-items: start;">
-                            <div>
-                                <h4 style="margin: 0 0 5px 0;">\${wallet.walletName || 'Crypto Wallet'}</h4>
-                                <p style="color: #666; font-size: 12px; margin: 0 0 10px 0; word-break: break-all;">\${wallet.walletAddress}</p>
-                                <p style="margin: 0; font-size: 14px;">
-                                    <span style="background: #e6f3ff; padding: 3px 8px; border-radius: 4px; font-size: 11px; text-transform: uppercase;">\${wallet.blockchain}</span>
-                                </p>
-                            </div>
-                            <div style="text-align: right;">
-                                <p style="font-size: 20px; font-weight: bold; margin: 0;">\${parseFloat(wallet.balance).toFixed(6)} \${wallet.token}</p>
-                                <p style="color: #666; font-size: 14px; margin: 5px 0;">$\${parseFloat(wallet.balanceUsd).toFixed(2)}</p>
-                                <button onclick="syncCryptoTransactions(\${wallet.id})" class="btn" style="font-size: 12px; padding: 5px 10px; margin-top: 10px;">Sync</button>
-                                <button onclick="deleteCryptoWallet(\${wallet.id})" style="font-size: 12px; padding: 5px 10px; background: #fed7d7; color: #c53030; border: none; border-radius: 5px; cursor: pointer; margin-top: 5px;">Delete</button>
-                            </div>
-                        </div>
-                    </div>
-                `).join('');
+                cryptoWallets = await response.json() || [];
+                renderCryptoWallets();
 
             } catch (error) {
                 console.error('Error loading wallets:', error);
@@ -843,6 +921,58 @@
             }
         }
 
+        // Revalue the displayed wallets from a prices event (symbol -> USD price)
+        function applyPrices(prices) {
+            let changed = false;
+            cryptoWallets.forEach(wallet => {
+                const price = prices[(wallet.token || '').toUpperCase()];
+                if (price !== undefined) {
+                    wallet.balanceUsd = parseFloat(wallet.balance) * parseFloat(price);
+                    changed = true;
+                }
+            });
+            if (changed) {
+                renderCryptoWallets();
+            }
+        }
+
+        function renderCryptoWallets() {
+            const container = document.getElementById('crypto-wallets-container');
+            const wallets = cryptoWallets;
+
+            if (wallets.length === 0) {
+                container.innerHTML = `
+                    <div class="empty-state">
+                        <div class="empty-state-icon">💰</div>
+                        <p>No crypto wallets yet. Add your first wallet to track your crypto!</p>
+                    </div>
+                `;
+                return;
+            }
+
+            // Display wallets
+            container.innerHTML = wallets.map(wallet => `
+                <div class="card" style="margin-bottom: 15px;">
+                    <div style="display: flex; justify-content: space-between; align-items: start;">
+                        <div>
+                            <h4 style="margin: 0 0 5px 0;">\${wallet.walletName || 'Crypto Wallet'}</h4>
+                            <p style="color: #666; font-size: 12px; margin: 0 0 10px 0; word-break: break-all;">\${wallet.walletAddress}</p>
+                            <p style="margin: 0; font-size: 14px;">
+                                <span style="background: #e6f3ff; padding: 3px 8px; border-radius: 4px; font-size: 11px; text-transform: uppercase;">\${wallet.blockchain}</span>
+                            </p>
+                        </div>
+                        <div style="text-align: right;">
+                            <p style="font-size: 20px; font-weight: bold; margin: 0;">\${parseFloat(wallet.balance).toFixed(6)} \${wallet.token}</p>
+                            <p style="color: #666; font-size: 14px; margin: 5px 0;">$\${parseFloat(wallet.balanceUsd).toFixed(2)}</p>
+                            \${wallet.balanceStatus && wallet.balanceStatus !== 'ok' ? `<p style="color: #c53030; font-size: 12px; margin: 0;">Balance unavailable</p>` : ''}
+                            <button onclick="syncCryptoTransactions(\${wallet.id})" class="btn" style="font-size: 12px; padding: 5px 10px; margin-top: 10px;">Sync</button>
+                            <button onclick="deleteCryptoWallet(\${wallet.id})" style="font-size: 12px; padding: 5px 10px; background: #fed7d7; color: #c53030; border: none; border-radius: 5px; cursor: pointer; margin-top: 5px;">Delete</button>
+                        </div>
+                    </div>
+                </div>
+            `).join('');
+        }
+
         // Sync Crypto Transactions
         async function syncCryptoTransactions(walletId) {
             try {
@@ -860,9 +990,13 @@
                 });
 
                 if (response.ok) {
-                    const result = await response.json();
-                    alert(result.message || 'Transactions synced successfully!');
-                    loadCryptoTransactions();
+                    const job = await waitForJob(response);
+                    if (job.status === 'succeeded') {
+                        alert(job.result.message || 'Transactions synced successfully!');
+                        loadCryptoTransactions();
+                    } else {
+                        alert('Failed to sync transactions: ' + (job.error || 'unknown error'));
+                    }
                 } else {
                     alert('Failed to sync transactions');
                 }
@@ -1115,11 +1249,13 @@
         async function initializeDashboard() {
             await initCsrf();  // Initialize CSRF token first
             loadUserInfo();
+            loadNetWorth();
             loadAccounts();
             loadTransactions();
             loadCryptoWallets();
             loadExchangeConnections();
             loadCryptoTransactions();
+            connectLiveUpdates();
         }
         initializeDashboard();
     </script>
@@ -0,0 +1,16 @@
+-- Rolled-up price history (OHLC bars) written by the in-memory price history store
+-- Raw ticks are kept in memory only; bars are upserted as they close
+
+CREATE TABLE IF NOT EXISTS price_bars (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    symbol VARCHAR(50) NOT NULL COMMENT 'ETH, BTC, MATIC, etc.',
+    resolution VARCHAR(5) NOT NULL COMMENT '1m, 1h or 1d',
+    bucket_start DATETIME NOT NULL COMMENT 'Bar start time (UTC)',
+    open_price DOUBLE NOT NULL,
+    high_price DOUBLE NOT NULL,
+    low_price DOUBLE NOT NULL,
+    close_price DOUBLE NOT NULL,
+    tick_count INT NOT NULL COMMENT 'Price samples rolled into this bar',
+    UNIQUE KEY unique_bar (symbol, resolution, bucket_start),
+    INDEX idx_resolution_bucket (resolution, bucket_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
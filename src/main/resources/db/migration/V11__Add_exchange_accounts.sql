@@ -0,0 +1,16 @@
+-- Persisted exchange account balances (Coinbase wallets per currency)
+-- Refreshed whenever accounts are fetched from the exchange; used for net worth valuation
+
+CREATE TABLE IF NOT EXISTS exchange_accounts (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    exchange_item_id INT NOT NULL,
+    external_id VARCHAR(255) NOT NULL COMMENT 'Account ID on the exchange',
+    name VARCHAR(255),
+    currency VARCHAR(50) COMMENT 'BTC, ETH, USD, etc.',
+    account_type VARCHAR(50) COMMENT 'wallet, fiat, vault, etc.',
+    balance DECIMAL(30, 18) COMMENT 'Balance in the account currency',
+    balance_usd DECIMAL(20, 2) COMMENT 'Balance valued in USD by the exchange',
+    updated_at DATETIME NOT NULL,
+    FOREIGN KEY (exchange_item_id) REFERENCES exchange_items(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_account_per_item (exchange_item_id, external_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
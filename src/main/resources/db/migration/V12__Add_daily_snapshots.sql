@@ -0,0 +1,27 @@
+-- Daily net worth and per-holding snapshots written by the nightly rollup job
+-- History endpoints read these with range queries instead of replaying transactions
+
+CREATE TABLE IF NOT EXISTS net_worth_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    snapshot_date DATE NOT NULL,
+    bank_total DECIMAL(20, 2) NOT NULL,
+    crypto_total DECIMAL(20, 2) NOT NULL,
+    exchange_total DECIMAL(20, 2) NOT NULL,
+    total DECIMAL(20, 2) NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_user_day (user_id, snapshot_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS holding_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    snapshot_date DATE NOT NULL,
+    holding_type VARCHAR(20) NOT NULL COMMENT 'account, wallet or exchange',
+    holding_id INT NOT NULL COMMENT 'ID in Accounts, crypto_wallets or exchange_accounts',
+    symbol VARCHAR(50) COMMENT 'Token or currency (NULL for bank accounts)',
+    quantity DECIMAL(30, 18) COMMENT 'Units held (NULL for bank accounts)',
+    value_usd DECIMAL(20, 2) NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_holding_day (user_id, holding_type, holding_id, snapshot_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,18 @@
+-- Incremental cost-basis state for the PnL engine
+-- One row per wallet and cost-basis method: open lots plus running totals per token, and the
+-- (date, id) of the last transaction applied so later runs only read newer transactions
+
+CREATE TABLE IF NOT EXISTS pnl_states (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    wallet_id INT NOT NULL,
+    cost_method VARCHAR(10) NOT NULL COMMENT 'fifo, lifo or average',
+    last_tx_date DATETIME COMMENT 'Date of the last applied transaction (NULL = none yet)',
+    last_tx_id INT COMMENT 'ID of the last applied transaction',
+    state MEDIUMTEXT NOT NULL COMMENT 'Open lots and realized totals per token (JSON)',
+    updated_at DATETIME NOT NULL,
+    FOREIGN KEY (wallet_id) REFERENCES crypto_wallets(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_wallet_method (wallet_id, cost_method)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Keyset pagination over a wallet's transactions in date order
+CREATE INDEX idx_wallet_date_id ON crypto_transactions (wallet_id, date, id);
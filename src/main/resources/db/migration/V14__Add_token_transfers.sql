@@ -0,0 +1,28 @@
+-- ERC-20 token transfer tracking
+-- Token transfers share their transaction hash with the native transaction (and with each
+-- other), so rows are now unique per wallet, hash, token contract and event log index.
+-- Two users tracking the same address also each get their own rows.
+
+ALTER TABLE crypto_transactions
+    ADD COLUMN contract_address VARCHAR(64) NOT NULL DEFAULT '' COMMENT 'Token contract (empty for native transfers)',
+    ADD COLUMN log_index INT NOT NULL DEFAULT -1 COMMENT 'Transfer event log index (-1 for native transfers)',
+    MODIFY COLUMN amount DECIMAL(40, 18) COMMENT 'Transaction amount (token supplies can exceed 10^12 units)',
+    DROP INDEX tx_hash,
+    ADD UNIQUE KEY unique_wallet_transfer (wallet_id, tx_hash, contract_address, log_index);
+
+-- Token transfers are synced with their own block checkpoint (tokentx is a separate listing)
+ALTER TABLE crypto_wallets
+    ADD COLUMN last_synced_token_block BIGINT COMMENT 'Highest block synced from the token transfer API';
+
+-- Token metadata, looked up once per contract and kept for the lifetime of the token
+CREATE TABLE IF NOT EXISTS token_metadata (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    chain VARCHAR(50) NOT NULL COMMENT 'ethereum, polygon, arbitrum, optimism',
+    contract_address VARCHAR(64) NOT NULL COMMENT 'Lower-case contract address',
+    symbol VARCHAR(50) NOT NULL,
+    name VARCHAR(255),
+    decimals INT NOT NULL,
+    coingecko_id VARCHAR(100) COMMENT 'NULL when CoinGecko does not list the contract',
+    created_at DATETIME NOT NULL,
+    UNIQUE KEY unique_chain_contract (chain, contract_address)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
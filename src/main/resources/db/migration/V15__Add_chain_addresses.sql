@@ -0,0 +1,33 @@
+-- Address-level chain data shared by every wallet tracking the same address
+-- Balances and sync checkpoints live here, so a popular address is fetched once per
+-- refresh interval no matter how many users follow it; new transactions are copied to
+-- each follower's crypto_transactions rows.
+
+CREATE TABLE IF NOT EXISTS chain_addresses (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    chain VARCHAR(50) NOT NULL COMMENT 'ethereum, polygon, bitcoin, etc.',
+    address VARCHAR(255) NOT NULL COMMENT 'Normalized address (lower case on EVM chains)',
+    balance DECIMAL(30, 18) COMMENT 'Last native balance fetched',
+    balance_updated_at DATETIME,
+    last_synced_block BIGINT COMMENT 'Highest block synced (native transactions)',
+    last_synced_token_block BIGINT COMMENT 'Highest block synced (token transfers)',
+    transactions_synced_at DATETIME COMMENT 'When the last transaction sync finished',
+    created_at DATETIME NOT NULL,
+    UNIQUE KEY unique_chain_address (chain, address)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Seed from existing wallets. Followers of one address may be at different checkpoints;
+-- start from the lowest (NULL if any follower never synced). Re-fetched rows are
+-- de-duplicated per wallet on ingest.
+INSERT INTO chain_addresses (chain, address, last_synced_block, last_synced_token_block, created_at)
+SELECT
+    LOWER(blockchain),
+    CASE WHEN LOWER(blockchain) IN ('ethereum', 'polygon', 'arbitrum', 'optimism')
+         THEN LOWER(wallet_address) ELSE wallet_address END,
+    CASE WHEN COUNT(*) = COUNT(last_synced_block) THEN MIN(last_synced_block) END,
+    CASE WHEN COUNT(*) = COUNT(last_synced_token_block) THEN MIN(last_synced_token_block) END,
+    NOW()
+FROM crypto_wallets
+GROUP BY 1, 2;
+
+CREATE INDEX idx_blockchain_address ON crypto_wallets (blockchain, wallet_address);
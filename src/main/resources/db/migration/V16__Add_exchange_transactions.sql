@@ -0,0 +1,26 @@
+-- Persisted exchange transactions, filled incrementally by the background exchange sync
+-- so the exchange read endpoints no longer call Coinbase on every page view
+
+ALTER TABLE exchange_items
+    ADD COLUMN last_synced_at DATETIME NULL COMMENT 'Last account and transaction sync run (failed runs included, so retries wait an interval)';
+
+ALTER TABLE exchange_accounts
+    ADD COLUMN transactions_cursor VARCHAR(255) NULL COMMENT 'Exchange ID of the newest settled transaction stored (starting_after cursor)',
+    ADD COLUMN transactions_synced_at DATETIME NULL;
+
+CREATE TABLE IF NOT EXISTS exchange_transactions (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    exchange_account_id INT NOT NULL,
+    external_id VARCHAR(255) NOT NULL COMMENT 'Transaction ID on the exchange',
+    type VARCHAR(50) COMMENT 'buy, sell, send, trade, etc.',
+    status VARCHAR(50) COMMENT 'pending, completed, canceled, etc.',
+    amount DECIMAL(30, 18) COMMENT 'Signed amount in the account currency',
+    currency VARCHAR(50),
+    amount_usd DECIMAL(20, 2) COMMENT 'Amount valued in USD by the exchange',
+    description VARCHAR(500),
+    created_at DATETIME NOT NULL COMMENT 'When the transaction happened on the exchange',
+    updated_at DATETIME NOT NULL,
+    FOREIGN KEY (exchange_account_id) REFERENCES exchange_accounts(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_transaction_per_account (exchange_account_id, external_id),
+    INDEX idx_exchange_transactions_account_date (exchange_account_id, created_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,8 @@
+-- Add incremental sync checkpoint to crypto wallets
+-- Stores the highest block already synced so later syncs only request newer blocks
+
+ALTER TABLE crypto_wallets
+    ADD COLUMN last_synced_block BIGINT COMMENT 'Highest block synced from the blockchain API';
+
+-- Note: NULL means "never synced" - the first sync pages forward from block 0
+-- Existing wallets re-scan their history once, then become incremental
@@ -0,0 +1,11 @@
+-- Background wallet sync: cached balance plus per-wallet adaptive polling schedule
+-- The scheduler keeps these current so dashboard reads do not wait on blockchain APIs
+
+ALTER TABLE crypto_wallets
+    ADD COLUMN cached_balance DECIMAL(30, 18) COMMENT 'Last balance fetched by the background sync',
+    ADD COLUMN balance_updated_at DATETIME COMMENT 'When cached_balance was fetched',
+    ADD COLUMN next_sync_at DATETIME COMMENT 'When the scheduler should sync this wallet next',
+    ADD COLUMN sync_interval_seconds INT COMMENT 'Current adaptive polling interval',
+    ADD INDEX idx_next_sync_at (next_sync_at);
+
+-- Note: NULL next_sync_at means "due now" - existing and new wallets are picked up on the next tick
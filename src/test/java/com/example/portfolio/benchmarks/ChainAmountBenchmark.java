@@ -0,0 +1,75 @@
+package com.example.portfolio.benchmarks;
+
+import com.example.portfolio.services.blockchain.ChainAmount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-transaction wei conversion done by EtherscanProvider before and after
+ * ChainAmount: value plus gas fee (gasUsed * gasPrice), both converted to ETH.
+ *
+ * Run from the IDE (main method) or with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test.cp
+ *   java -cp "target/test-classes:target/classes:$(cat target/test.cp)" \
+ *       com.example.portfolio.benchmarks.ChainAmountBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChainAmountBenchmark {
+
+    // Typical transfer (fits in a long) and a whale-sized value (needs BigInteger)
+    @Param({"1500000000000000000", "250000000000000000000000"})
+    public String value;
+
+    public long gasUsed;
+    public String gasUsedText;
+    public String gasPrice;
+
+    @Setup
+    public void setup() {
+        gasUsed = 21000L;
+        gasUsedText = "21000";
+        gasPrice = "32000000000";
+    }
+
+    @Benchmark
+    public void bigDecimalDivide(Blackhole bh) {
+        BigDecimal amount = new BigDecimal(value).divide(new BigDecimal("1000000000000000000"), 18, RoundingMode.HALF_UP);
+        BigDecimal gasFeeWei = new BigDecimal(gasUsedText).multiply(new BigDecimal(gasPrice));
+        BigDecimal gasFee = gasFeeWei.divide(new BigDecimal("1000000000000000000"), 18, RoundingMode.HALF_UP);
+        bh.consume(amount);
+        bh.consume(gasFee);
+    }
+
+    @Benchmark
+    public void chainAmount(Blackhole bh) {
+        bh.consume(ChainAmount.ofWei(value).toBigDecimal());
+        bh.consume(ChainAmount.ofWei(gasPrice).times(gasUsed).toBigDecimal());
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ChainAmountBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
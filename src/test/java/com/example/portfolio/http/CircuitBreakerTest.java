@@ -0,0 +1,82 @@
+package com.example.portfolio.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    @Test
+    void staysClosedBelowThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, Duration.ofMinutes(1));
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, Duration.ofMinutes(1));
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensAtThresholdAndRejectsWhileOpen() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void halfOpenAllowsSingleTrialAfterOpenDuration() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ZERO);
+        breaker.recordFailure();
+
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void successfulTrialCloses() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ZERO);
+        breaker.recordFailure();
+        breaker.allowRequest();
+
+        breaker.recordSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    void failedTrialReopens() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 5, Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            breaker.recordFailure();
+        }
+        assertThat(breaker.allowRequest()).isTrue();
+
+        breaker.recordFailure(); // One failure in half-open reopens, whatever the threshold
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
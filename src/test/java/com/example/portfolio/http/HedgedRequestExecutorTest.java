@@ -0,0 +1,131 @@
+package com.example.portfolio.http;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedRequestExecutorTest {
+
+    private final HedgedRequestExecutor executor = new HedgedRequestExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void fastPrimaryDoesNotFireBackup() throws Exception {
+        AtomicInteger backupCalls = new AtomicInteger();
+
+        String result = executor.execute(
+                endpoint("primary", Duration.ofSeconds(5)), () -> "primary",
+                endpoint("backup", Duration.ofSeconds(5)), () -> {
+                    backupCalls.incrementAndGet();
+                    return "backup";
+                },
+                Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(backupCalls).hasValue(0);
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAfterDelay() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            String result = executor.execute(
+                    endpoint("primary", Duration.ofMillis(20)), () -> {
+                        release.await(5, TimeUnit.SECONDS);
+                        return "primary";
+                    },
+                    endpoint("backup", Duration.ofSeconds(5)), () -> "backup",
+                    Duration.ofSeconds(5));
+
+            assertThat(result).isEqualTo("backup");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void failingPrimaryHedgesImmediately() throws Exception {
+        long start = System.nanoTime();
+
+        String result = executor.execute(
+                endpoint("primary", Duration.ofSeconds(10)), () -> {
+                    throw new IOException("primary down");
+                },
+                endpoint("backup", Duration.ofSeconds(10)), () -> "backup",
+                Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("backup");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void bothFailingRethrowsLastError() {
+        assertThatThrownBy(() -> executor.execute(
+                endpoint("primary", Duration.ofMillis(10)), () -> {
+                    throw new IOException("primary down");
+                },
+                endpoint("backup", Duration.ofMillis(10)), () -> {
+                    throw new IOException("backup down");
+                },
+                Duration.ofSeconds(5)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void openPrimaryCircuitGoesStraightToBackup() throws Exception {
+        HedgedEndpoint primary = endpoint("primary", Duration.ofSeconds(5));
+        for (int i = 0; i < 5; i++) {
+            primary.recordFailure();
+        }
+        AtomicInteger primaryCalls = new AtomicInteger();
+
+        String result = executor.execute(
+                primary, () -> {
+                    primaryCalls.incrementAndGet();
+                    return "primary";
+                },
+                endpoint("backup", Duration.ofSeconds(5)), () -> "backup",
+                Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("backup");
+        assertThat(primaryCalls).hasValue(0);
+    }
+
+    @Test
+    void timesOutWhenNoAnswerArrives() {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertThatThrownBy(() -> executor.execute(
+                    endpoint("primary", Duration.ofMillis(10)), () -> {
+                        release.await(5, TimeUnit.SECONDS);
+                        return "primary";
+                    },
+                    endpoint("backup", Duration.ofMillis(10)), () -> {
+                        release.await(5, TimeUnit.SECONDS);
+                        return "backup";
+                    },
+                    Duration.ofMillis(100)))
+                    .isInstanceOf(TimeoutException.class)
+                    .hasMessageContaining("primary");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static HedgedEndpoint endpoint(String name, Duration hedgeDelay) {
+        return new HedgedEndpoint(name, 0.95, hedgeDelay, hedgeDelay, hedgeDelay);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.portfolio.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonStreamReaderTest {
+
+    record Item(String id, int value) {
+    }
+
+    private final JsonStreamReader reader = new JsonStreamReader(new ObjectMapper());
+
+    @Test
+    void streamsArrayElementsAndReturnsTopLevelScalars() throws IOException {
+        List<Item> items = new ArrayList<>();
+
+        Map<String, String> scalars = reader.readArray(
+                json("{\"status\":\"1\",\"message\":\"OK\",\"result\":[{\"id\":\"a\",\"value\":1},{\"id\":\"b\",\"value\":2}]}"),
+                "result", Item.class, items::add);
+
+        assertThat(items).containsExactly(new Item("a", 1), new Item("b", 2));
+        assertThat(scalars).containsEntry("status", "1").containsEntry("message", "OK");
+    }
+
+    @Test
+    void returnsNonArrayFieldAsScalar() throws IOException {
+        List<Item> items = new ArrayList<>();
+
+        Map<String, String> scalars = reader.readArray(
+                json("{\"status\":\"0\",\"result\":\"Max rate limit reached\"}"),
+                "result", Item.class, items::add);
+
+        assertThat(items).isEmpty();
+        assertThat(scalars).containsEntry("result", "Max rate limit reached");
+    }
+
+    @Test
+    void skipsNestedValuesAndKeepsNulls() throws IOException {
+        Map<String, String> scalars = reader.readArray(
+                json("{\"meta\":{\"a\":1},\"other\":[1,2],\"note\":null,\"result\":[]}"),
+                "result", Item.class, item -> { });
+
+        assertThat(scalars).containsOnlyKeys("note");
+        assertThat(scalars.get("note")).isNull();
+    }
+
+    @Test
+    void flattensNamedObjectMembers() throws IOException {
+        List<Item> items = new ArrayList<>();
+
+        Map<String, String> scalars = reader.readArray(
+                json("{\"pagination\":{\"next_uri\":\"/v2/accounts?starting_after=b\",\"limit\":2,\"extra\":{\"x\":1}},"
+                        + "\"data\":[{\"id\":\"a\",\"value\":1}]}"),
+                "data", Item.class, items::add, Set.of("pagination"));
+
+        assertThat(items).containsExactly(new Item("a", 1));
+        assertThat(scalars)
+                .containsEntry("pagination.next_uri", "/v2/accounts?starting_after=b")
+                .containsEntry("pagination.limit", "2")
+                .doesNotContainKey("pagination.extra");
+    }
+
+    @Test
+    void rejectsNonObjectBody() {
+        assertThatThrownBy(() -> reader.readArray(json("[1,2]"), "result", Item.class, item -> { }))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.portfolio.services;
+
+import com.example.portfolio.models.ChainAddress;
+import com.example.portfolio.models.CryptoTransaction;
+import com.example.portfolio.models.CryptoWallet;
+import com.example.portfolio.repositories.ChainAddressRepository;
+import com.example.portfolio.services.blockchain.BlockchainProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChainAddressCacheTest {
+
+    private static final String LEGACY_ADDRESS = "1BvBMSEYstWetqTFn5Au4m4GFg7xJaNVN2";
+
+    private ChainAddressRepository repository;
+    private ChainAddressCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ChainAddressRepository.class);
+        when(repository.findByChainAndAddressIn(eq("bitcoin"), any())).thenReturn(List.of());
+        when(repository.save(any(ChainAddress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        cache = new ChainAddressCache(repository);
+    }
+
+    @Test
+    void batchedBalanceOfMixedCaseBitcoinAddressIsFound() throws Exception {
+        BlockchainProvider provider = new CaseSensitiveProvider(new BigDecimal("0.5"));
+        String address = provider.normalizeAddress(" " + LEGACY_ADDRESS + " ");
+
+        Map<String, BigDecimal> balances = cache.getBalances("bitcoin", List.of(address), provider::getBalances);
+
+        assertThat(balances).containsOnlyKeys(LEGACY_ADDRESS);
+        assertThat(balances.get(LEGACY_ADDRESS)).isEqualByComparingTo("0.5");
+        verify(repository).updateBalance(any(), eq(new BigDecimal("0.5")), any());
+    }
+
+    @Test
+    void defaultMultiLookupKeysByNormalizedAddress() throws Exception {
+        BlockchainProvider provider = new CaseSensitiveProvider(BigDecimal.ONE);
+
+        assertThat(provider.getBalances(List.of(" " + LEGACY_ADDRESS))).containsOnlyKeys(LEGACY_ADDRESS);
+    }
+
+    /**
+     * Provider with the default (case-preserving) address normalization, like Bitcoin
+     */
+    private record CaseSensitiveProvider(BigDecimal balance) implements BlockchainProvider {
+
+        @Override
+        public String chain() {
+            return "bitcoin";
+        }
+
+        @Override
+        public String nativeSymbol() {
+            return "BTC";
+        }
+
+        @Override
+        public boolean isValidAddress(String address) {
+            return true;
+        }
+
+        @Override
+        public BigDecimal getBalance(String address) {
+            return balance;
+        }
+
+        @Override
+        public boolean supportsBlockCheckpoint() {
+            return false;
+        }
+
+        @Override
+        public int pageSize() {
+            return 50;
+        }
+
+        @Override
+        public List<CryptoTransaction> fetchTransactionPage(CryptoWallet wallet, long startBlock, int page) {
+            return List.of();
+        }
+    }
+}
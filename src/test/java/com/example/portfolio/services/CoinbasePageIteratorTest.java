@@ -0,0 +1,94 @@
+package com.example.portfolio.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoinbasePageIteratorTest {
+
+    private static final String BASE = CoinbasePageIterator.API_BASE;
+
+    private final List<String> requested = new ArrayList<>();
+
+    @Test
+    void followsNextUriUntilLastPage() {
+        CoinbasePageIterator<String> pages = iterator(null, Map.of(
+                BASE + "/v2/accounts?limit=2&order=asc", page("/v2/accounts?starting_after=b", "a", "b"),
+                BASE + "/v2/accounts?starting_after=b", page(null, "c")));
+
+        List<List<String>> read = new ArrayList<>();
+        pages.forEachRemaining(read::add);
+
+        assertThat(read).containsExactly(List.of("a", "b"), List.of("c"));
+        assertThat(pages.cursor()).isEqualTo("c");
+        assertThat(requested).hasSize(2);
+    }
+
+    @Test
+    void fetchesLazily() {
+        CoinbasePageIterator<String> pages = iterator(null, Map.of(
+                BASE + "/v2/accounts?limit=2&order=asc", page("/v2/accounts?starting_after=b", "a", "b")));
+
+        assertThat(requested).isEmpty();
+        assertThat(pages.hasNext()).isTrue();
+        assertThat(pages.hasNext()).isTrue(); // The buffered page is not fetched again
+        assertThat(requested).hasSize(1);
+
+        pages.next();
+        assertThat(requested).hasSize(1);
+    }
+
+    @Test
+    void resumesFromStartingCursor() {
+        CoinbasePageIterator<String> pages = iterator("x", Map.of(
+                BASE + "/v2/accounts?limit=2&order=asc&starting_after=x", page(null)));
+
+        assertThat(pages.cursor()).isEqualTo("x");
+        assertThat(pages.hasNext()).isFalse();
+        assertThat(pages.cursor()).isEqualTo("x"); // Nothing new: the cursor stays put
+    }
+
+    @Test
+    void emptyPageEndsWalkEvenWithNextUri() {
+        CoinbasePageIterator<String> pages = iterator(null, Map.of(
+                BASE + "/v2/accounts?limit=2&order=asc", page("/v2/accounts?starting_after=z")));
+
+        assertThat(pages.hasNext()).isFalse();
+        assertThat(pages.hasNext()).isFalse();
+        assertThat(requested).hasSize(1);
+        assertThatThrownBy(pages::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void blankNextUriIsLastPage() {
+        CoinbasePageIterator<String> pages = iterator(null, Map.of(
+                BASE + "/v2/accounts?limit=2&order=asc", page("", "a")));
+
+        assertThat(pages.next()).containsExactly("a");
+        assertThat(pages.hasNext()).isFalse();
+        assertThat(requested).hasSize(1);
+    }
+
+    private static CoinbasePageIterator.Page<String> page(String nextUri, String... items) {
+        return new CoinbasePageIterator.Page<>(List.of(items), nextUri);
+    }
+
+    private CoinbasePageIterator<String> iterator(String startingAfter,
+                                                  Map<String, CoinbasePageIterator.Page<String>> responses) {
+        return new CoinbasePageIterator<>("/v2/accounts", 2, "asc", startingAfter, url -> {
+            requested.add(url);
+            CoinbasePageIterator.Page<String> page = responses.get(url);
+            if (page == null) {
+                throw new IllegalStateException("Unexpected request " + url);
+            }
+            return page;
+        }, Function.identity());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.portfolio.services.blockchain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BalanceBatcherTest {
+
+    private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+    private BalanceBatcher batcher;
+
+    @AfterEach
+    void shutdown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    void coalescesLookupsWithinWindow() throws Exception {
+        batcher = new BalanceBatcher("test", this::balancesByLength, 20, 50);
+
+        CompletableFuture<BigDecimal> first = batcher.submit("0xAA");
+        CompletableFuture<BigDecimal> second = batcher.submit("0xbbb");
+
+        assertThat(first.get(2, TimeUnit.SECONDS)).isEqualByComparingTo("4");
+        assertThat(second.get(2, TimeUnit.SECONDS)).isEqualByComparingTo("5");
+        assertThat(calls).containsExactly(List.of("0xaa", "0xbbb"));
+    }
+
+    @Test
+    void sendsFullBatchWithoutWaitingForWindow() throws Exception {
+        batcher = new BalanceBatcher("test", this::balancesByLength, 2, 60_000);
+
+        CompletableFuture<BigDecimal> first = batcher.submit("0xa");
+        CompletableFuture<BigDecimal> second = batcher.submit("0xbb");
+
+        assertThat(first.get(2, TimeUnit.SECONDS)).isEqualByComparingTo("3");
+        assertThat(second.get(2, TimeUnit.SECONDS)).isEqualByComparingTo("4");
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void deduplicatesAddressesInBatch() throws Exception {
+        batcher = new BalanceBatcher("test", this::balancesByLength, 20, 50);
+
+        CompletableFuture<BigDecimal> first = batcher.submit("0xAB");
+        CompletableFuture<BigDecimal> second = batcher.submit("0xab");
+
+        assertThat(first.get(2, TimeUnit.SECONDS)).isEqualByComparingTo(second.get(2, TimeUnit.SECONDS));
+        assertThat(calls).containsExactly(List.of("0xab"));
+    }
+
+    @Test
+    void failsAddressMissingFromResponse() {
+        batcher = new BalanceBatcher("test", addresses -> {
+            calls.add(addresses);
+            return Map.of("0xa", BigDecimal.ONE);
+        }, 20, 50);
+
+        CompletableFuture<BigDecimal> known = batcher.submit("0xa");
+        CompletableFuture<BigDecimal> unknown = batcher.submit("0xb");
+
+        assertThat(known.join()).isEqualByComparingTo("1");
+        assertThatThrownBy(() -> unknown.get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void failedCallFailsWholeBatch() {
+        IOException failure = new IOException("rate limited");
+        batcher = new BalanceBatcher("test", addresses -> {
+            throw failure;
+        }, 20, 50);
+
+        CompletableFuture<BigDecimal> first = batcher.submit("0xa");
+        CompletableFuture<BigDecimal> second = batcher.submit("0xb");
+
+        assertThatThrownBy(() -> first.get(2, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> second.get(2, TimeUnit.SECONDS)).hasCause(failure);
+    }
+
+    @Test
+    void shutdownFailsQueuedLookups() throws Exception {
+        CountDownLatch fetched = new CountDownLatch(1);
+        batcher = new BalanceBatcher("test", addresses -> {
+            fetched.countDown();
+            return balancesByLength(addresses);
+        }, 20, 60_000);
+
+        CompletableFuture<BigDecimal> queued = batcher.submit("0xa");
+        batcher.shutdown();
+
+        assertThatThrownBy(() -> queued.get(2, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(fetched.await(100, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    private Map<String, BigDecimal> balancesByLength(List<String> addresses) {
+        calls.add(addresses);
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (String address : addresses) {
+            balances.put(address, BigDecimal.valueOf(address.length()));
+        }
+        return balances;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.portfolio.services.blockchain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChainAmountTest {
+
+    @Test
+    void parsesWeiOnLongPath() {
+        ChainAmount amount = ChainAmount.ofWei("1500000000000000000");
+
+        assertThat(amount.toBigDecimal()).isEqualByComparingTo("1.5");
+        assertThat(amount.toBigDecimal().scale()).isEqualTo(ChainAmount.WEI_DECIMALS);
+    }
+
+    @Test
+    void parsesWeiOnBigIntegerPath() {
+        ChainAmount amount = ChainAmount.ofWei("250000000000000000000000");
+
+        assertThat(amount.toBigDecimal()).isEqualByComparingTo("250000");
+        assertThat(amount.toString()).isEqualTo("250000.000000000000000000");
+    }
+
+    @Test
+    void digitCountBoundaryBetweenPaths() {
+        String eighteenDigits = "999999999999999999";
+        String nineteenDigits = "1000000000000000000";
+        String beyondLong = "9223372036854775808"; // Long.MAX_VALUE + 1
+
+        assertThat(ChainAmount.ofWei(eighteenDigits).toBigDecimal())
+                .isEqualByComparingTo(new BigDecimal(eighteenDigits).movePointLeft(18));
+        assertThat(ChainAmount.ofWei(nineteenDigits).toBigDecimal()).isEqualByComparingTo("1");
+        assertThat(ChainAmount.ofWei(String.valueOf(Long.MAX_VALUE)).toBigDecimal())
+                .isEqualByComparingTo(new BigDecimal(Long.MAX_VALUE).movePointLeft(18));
+        assertThat(ChainAmount.ofWei(beyondLong).toBigDecimal())
+                .isEqualByComparingTo(new BigDecimal(beyondLong).movePointLeft(18));
+    }
+
+    @Test
+    void equalAcrossPaths() {
+        ChainAmount parsed = ChainAmount.parse("1000000000000000000000", 18);
+        ChainAmount multiplied = ChainAmount.ofUnits(1_000_000_000_000L, 18).times(1_000_000_000L);
+
+        assertThat(multiplied).isEqualTo(parsed);
+        assertThat(multiplied.hashCode()).isEqualTo(parsed.hashCode());
+        assertThat(ChainAmount.parse("42", 18)).isNotEqualTo(ChainAmount.parse("42", 8));
+    }
+
+    @Test
+    void handlesSignsAndWhitespace() {
+        assertThat(ChainAmount.parse(" -1500000000000000000 ", 18).toBigDecimal()).isEqualByComparingTo("-1.5");
+        assertThat(ChainAmount.parse("+25", 1).toBigDecimal()).isEqualByComparingTo("2.5");
+        assertThat(ChainAmount.parse("-250000000000000000000000", 18).signum()).isEqualTo(-1);
+        assertThat(ChainAmount.parse("0", 18).signum()).isZero();
+    }
+
+    @Test
+    void satoshisUseEightDecimals() {
+        assertThat(ChainAmount.ofSatoshis(150_000_000L).toBigDecimal()).isEqualByComparingTo("1.5");
+        assertThat(ChainAmount.ofSatoshis(1L).toBigDecimal().scale()).isEqualTo(ChainAmount.SATOSHI_DECIMALS);
+    }
+
+    @Test
+    void timesStaysExactOnOverflow() {
+        // Typical fee: 21000 gas at 30 gwei fits in a long
+        assertThat(ChainAmount.ofUnits(30_000_000_000L, 18).times(21_000L).toBigDecimal())
+                .isEqualByComparingTo("0.00063");
+
+        ChainAmount overflowing = ChainAmount.ofUnits(Long.MAX_VALUE, 18).times(3L);
+        assertThat(overflowing.toBigDecimal())
+                .isEqualByComparingTo(new BigDecimal(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(3)), 18));
+
+        ChainAmount negative = ChainAmount.ofUnits(Long.MIN_VALUE, 18).times(2L);
+        assertThat(negative.signum()).isEqualTo(-1);
+        assertThat(negative.toBigDecimal())
+                .isEqualByComparingTo(new BigDecimal(BigInteger.valueOf(Long.MIN_VALUE).shiftLeft(1), 18));
+    }
+
+    @Test
+    void absHandlesLongMinValue() {
+        ChainAmount abs = ChainAmount.ofUnits(Long.MIN_VALUE, 0).abs();
+
+        assertThat(abs.signum()).isEqualTo(1);
+        assertThat(abs.toBigDecimal()).isEqualByComparingTo(BigInteger.valueOf(Long.MIN_VALUE).negate().toString());
+        assertThat(ChainAmount.parse("-250000000000000000000000", 18).abs().toBigDecimal())
+                .isEqualByComparingTo("250000");
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        assertThatThrownBy(() -> ChainAmount.ofWei("12.5")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> ChainAmount.ofWei("")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> ChainAmount.ofWei("0x1f")).isInstanceOf(NumberFormatException.class);
+    }
+}
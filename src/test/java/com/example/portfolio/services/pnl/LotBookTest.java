@@ -0,0 +1,118 @@
+package com.example.portfolio.services.pnl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LotBookTest {
+
+    @Test
+    void fifoDisposesOldestLotsFirst() {
+        LotBook book = twoLots(CostBasisMethod.FIFO);
+
+        book.dispose(bd("1.5"), bd("300"));
+
+        // Basis: 1 @ 100 + 0.5 @ 200 = 200; proceeds 450
+        assertThat(book.realizedPnl()).isEqualByComparingTo("250");
+        assertThat(book.quantity()).isEqualByComparingTo("0.5");
+        assertThat(book.costBasis()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    void lifoDisposesNewestLotsFirst() {
+        LotBook book = twoLots(CostBasisMethod.LIFO);
+
+        book.dispose(bd("1.5"), bd("300"));
+
+        // Basis: 1 @ 200 + 0.5 @ 100 = 250; proceeds 450
+        assertThat(book.realizedPnl()).isEqualByComparingTo("200");
+        assertThat(book.quantity()).isEqualByComparingTo("0.5");
+        assertThat(book.costBasis()).isEqualByComparingTo("50");
+    }
+
+    @Test
+    void averagePoolsLotsAtWeightedCost() {
+        LotBook book = new LotBook(CostBasisMethod.AVERAGE, "ETH", null);
+        book.acquire(bd("1"), bd("100"));
+        book.acquire(bd("3"), bd("200"));
+
+        book.dispose(bd("2"), bd("250"));
+
+        // Average cost 175; basis 350, proceeds 500
+        assertThat(book.realizedPnl()).isEqualByComparingTo("150");
+        assertThat(book.quantity()).isEqualByComparingTo("2");
+        assertThat(book.costBasis()).isEqualByComparingTo("350");
+    }
+
+    @Test
+    void disposingBeyondOpenLotsIsZeroCost() {
+        LotBook book = new LotBook(CostBasisMethod.FIFO, "ETH", null);
+        book.acquire(bd("1"), bd("100"));
+
+        book.dispose(bd("3"), bd("10"));
+
+        assertThat(book.realizedPnl()).isEqualByComparingTo("-70");
+        assertThat(book.quantity()).isEqualByComparingTo("0");
+        assertThat(book.costBasis()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void ignoresNonPositiveQuantities() {
+        LotBook book = new LotBook(CostBasisMethod.FIFO, "ETH", null);
+        book.acquire(BigDecimal.ZERO, bd("100"));
+        book.acquire(bd("-1"), bd("100"));
+        book.dispose(BigDecimal.ZERO, bd("100"));
+
+        assertThat(book.quantity()).isEqualByComparingTo("0");
+        assertThat(book.realizedPnl()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void roundTripsThroughJson() {
+        LotBook book = twoLots(CostBasisMethod.LIFO);
+        book.dispose(bd("0.5"), bd("300"));
+        book.addFee(bd("1.25"));
+        book.markUnpriced();
+        ObjectNode node = new ObjectMapper().createObjectNode();
+
+        book.writeTo(node);
+        LotBook restored = LotBook.readFrom(CostBasisMethod.LIFO, node);
+
+        assertThat(restored.quantity()).isEqualByComparingTo(book.quantity());
+        assertThat(restored.costBasis()).isEqualByComparingTo(book.costBasis());
+        assertThat(restored.realizedPnl()).isEqualByComparingTo(book.realizedPnl());
+        assertThat(restored.feesUsd()).isEqualByComparingTo("1.25");
+        assertThat(restored.unpricedTransactions()).isEqualTo(1);
+
+        // Lot order survives: the next LIFO disposal still takes the newest lot
+        restored.dispose(bd("0.5"), bd("200"));
+        assertThat(restored.costBasis()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    void roundTripsTokenIdentityThroughJson() {
+        LotBook book = new LotBook(CostBasisMethod.FIFO, "USDC", "0xa0b86991c6218b36c1d19d4a2e9eb0ce3606eb48");
+        ObjectNode node = new ObjectMapper().createObjectNode();
+
+        book.writeTo(node);
+        LotBook restored = LotBook.readFrom(CostBasisMethod.FIFO, node);
+
+        assertThat(restored.symbol()).isEqualTo("USDC");
+        assertThat(restored.contractAddress()).isEqualTo("0xa0b86991c6218b36c1d19d4a2e9eb0ce3606eb48");
+    }
+
+    private static LotBook twoLots(CostBasisMethod method) {
+        LotBook book = new LotBook(method, "ETH", null);
+        book.acquire(bd("1"), bd("100"));
+        book.acquire(bd("1"), bd("200"));
+        return book;
+    }
+
+    private static BigDecimal bd(String value) {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.portfolio.services.prices;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceSeriesTest {
+
+    private static final long MINUTE = BarResolution.MINUTE.getMillis();
+    private static final long HOUR = BarResolution.HOUR.getMillis();
+    private static final long T0 = 1_700_000_000_000L - 1_700_000_000_000L % BarResolution.DAY.getMillis();
+
+    private final PriceSeries series = new PriceSeries(16);
+    private final List<OhlcBar> closedMinutes = new ArrayList<>();
+
+    @Test
+    void rollsTicksIntoOpenBar() {
+        tick(T0, 100);
+        tick(T0 + 10_000, 105);
+        tick(T0 + 20_000, 95);
+        tick(T0 + 30_000, 101);
+
+        assertThat(series.getBars(BarResolution.MINUTE, T0, T0))
+                .containsExactly(new OhlcBar(T0, 100, 105, 95, 101, 4));
+        assertThat(series.getBars(BarResolution.HOUR, T0, T0))
+                .containsExactly(new OhlcBar(T0, 100, 105, 95, 101, 4));
+        assertThat(closedMinutes).isEmpty();
+    }
+
+    @Test
+    void closesBarWhenTickOpensNextBucket() {
+        tick(T0, 100);
+        tick(T0 + 30_000, 110);
+        tick(T0 + MINUTE + 5_000, 120);
+
+        assertThat(closedMinutes).containsExactly(new OhlcBar(T0, 100, 110, 100, 110, 2));
+        assertThat(series.getBars(BarResolution.MINUTE, T0, T0 + MINUTE))
+                .extracting(OhlcBar::bucketStart)
+                .containsExactly(T0, T0 + MINUTE);
+        assertThat(series.getBars(BarResolution.HOUR, T0, T0).get(0).ticks()).isEqualTo(3);
+    }
+
+    @Test
+    void dropsOutOfOrderTicks() {
+        tick(T0 + MINUTE, 100);
+        tick(T0, 50);
+
+        assertThat(series.getBars(BarResolution.MINUTE, T0, T0 + MINUTE))
+                .containsExactly(new OhlcBar(T0 + MINUTE, 100, 100, 100, 100, 1));
+    }
+
+    @Test
+    void priceAtUsesLastTickAtOrBefore() {
+        tick(T0, 100);
+        tick(T0 + 1_000, 101);
+        tick(T0 + 2_000, 102);
+
+        assertThat(series.priceAt(T0 + 1_500)).hasValue(101);
+        assertThat(series.priceAt(T0 + 5_000)).hasValue(102);
+        assertThat(series.priceAt(T0 - 1)).isEmpty();
+    }
+
+    @Test
+    void priceAtFallsBackToBarsBeyondTickWindow() {
+        PriceSeries small = new PriceSeries(2);
+        small.addTick(T0, 100, (resolution, bar) -> { });
+        small.addTick(T0 + 30_000, 110, (resolution, bar) -> { });
+        small.addTick(T0 + 2 * MINUTE, 120, (resolution, bar) -> { });
+        small.addTick(T0 + 3 * MINUTE, 130, (resolution, bar) -> { });
+
+        // Ticks at T0 were overwritten; the minute bar's open answers inside its bucket
+        assertThat(small.priceAt(T0 + 40_000)).hasValue(100);
+        // In the gap after a bar, its close is in effect
+        assertThat(small.priceAt(T0 + MINUTE + 1)).hasValue(110);
+    }
+
+    @Test
+    void priceAtIgnoresObservationsOlderThanOneBucket() {
+        tick(T0 + 5_000, 100);
+
+        // Not the minute after: the enclosing hour and day bars answer with their open
+        assertThat(series.priceAt(T0 + 3 * MINUTE)).hasValue(100);
+        // Days later nothing in memory covers the timestamp
+        assertThat(series.priceAt(T0 + 3 * BarResolution.DAY.getMillis())).isEmpty();
+    }
+
+    @Test
+    void restoredBarIsReopenedByNewTicks() {
+        series.restoreBar(BarResolution.HOUR, new OhlcBar(T0, 100, 120, 90, 110, 7));
+
+        series.addTick(T0 + 10 * MINUTE, 130, (resolution, bar) -> { });
+
+        assertThat(series.getBars(BarResolution.HOUR, T0, T0))
+                .containsExactly(new OhlcBar(T0, 100, 130, 90, 130, 8));
+    }
+
+    @Test
+    void restoreIgnoresBarsNotNewerThanCurrent() {
+        series.restoreBar(BarResolution.HOUR, new OhlcBar(T0 + HOUR, 1, 1, 1, 1, 1));
+        series.restoreBar(BarResolution.HOUR, new OhlcBar(T0, 2, 2, 2, 2, 1));
+
+        assertThat(series.getBars(BarResolution.HOUR, T0, T0 + HOUR))
+                .containsExactly(new OhlcBar(T0 + HOUR, 1, 1, 1, 1, 1));
+    }
+
+    @Test
+    void forEachOpenBarReportsEveryResolution() {
+        tick(T0 + 5_000, 100);
+        List<BarResolution> open = new ArrayList<>();
+
+        series.forEachOpenBar((resolution, bar) -> open.add(resolution));
+
+        assertThat(open).containsExactlyInAnyOrder(BarResolution.values());
+    }
+
+    private void tick(long timestamp, double price) {
+        series.addTick(timestamp, price, (resolution, bar) -> {
+            if (resolution == BarResolution.MINUTE) {
+                closedMinutes.add(bar);
+            }
+        });
+    }
+}